@@ -0,0 +1,7 @@
+# Classes exercised by :microbenchmark, which runs in the app process against the
+# minified benchmarkRelease build.
+-keep class com.example.fixmyarea.models.Post { *; }
+-keep class com.example.fixmyarea.firebase.PostMapper { *; }
+-keep class com.example.fixmyarea.firebase.FirebaseConstants { *; }
+-keep class com.example.fixmyarea.utils.PostFilter { *; }
+-keep class com.example.fixmyarea.adapters.PostAdapter$RowState { *; }
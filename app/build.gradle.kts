@@ -1,10 +1,12 @@
 import java.util.Properties
 import java.io.FileInputStream
+import com.android.build.api.variant.BuildConfigField
 
 plugins {
     alias(libs.plugins.android.application)
     //id("com.android.application")
     id("com.google.gms.google-services")
+    alias(libs.plugins.baselineprofile)
 }
 
 android {
@@ -38,6 +40,14 @@ android {
             "CLOUDINARY_UPLOAD_PRESET",
             "\"${properties.getProperty("cloudinary.upload.preset", "")}\""
         )
+
+        // Firebase emulator, only used by the benchmark variants (see androidComponents below)
+        buildConfigField("boolean", "USE_FIREBASE_EMULATOR", "false")
+        buildConfigField(
+            "String",
+            "FIREBASE_EMULATOR_HOST",
+            "\"${properties.getProperty("firebase.emulator.host", "10.0.2.2")}\""
+        )
     }
 
     buildTypes {
@@ -64,14 +74,52 @@ android {
     }
 }
 
+baselineProfile {
+    // :app:generateBaselineProfile writes the profile to src/main/generated/baselineProfiles;
+    // commit that file to ship it. None is checked in yet, so builds ship without one.
+    saveInSrc = true
+    mergeIntoMain = true
+    automaticGenerationDuringBuild = false
+}
+
+androidComponents {
+    // benchmarkRelease and nonMinifiedRelease are added by the baseline profile plugin.
+    // They run against the local Firebase emulator (firebase.json) so benchmarks need no
+    // network, and get the data seeding activity from src/benchmark.
+    onVariants { variant ->
+        if (variant.buildType == "benchmarkRelease" || variant.buildType == "nonMinifiedRelease") {
+            variant.buildConfigFields?.put(
+                "USE_FIREBASE_EMULATOR",
+                BuildConfigField("boolean", "true", null)
+            )
+            variant.sources.java?.addStaticSourceDirectory("src/benchmark/java")
+            variant.sources.manifests.addStaticManifestFile("src/benchmark/AndroidManifest.xml")
+        }
+        // :microbenchmark calls into app classes directly, so keep them through R8
+        if (variant.buildType == "benchmarkRelease") {
+            variant.proguardFiles.add(layout.projectDirectory.file("benchmark-rules.pro"))
+        }
+    }
+}
+
 dependencies {
+    // Models and list/stats/geo logic (plain Java, see core/)
+    implementation(project(":core"))
+
     implementation(libs.appcompat)
     implementation(libs.material)
     implementation(libs.activity)
     implementation(libs.constraintlayout)
     testImplementation(libs.junit)
+    // Local JVM tests: real SharedPreferences/org.json, and a fake Cloudinary endpoint
+    testImplementation(libs.robolectric)
+    testImplementation(libs.mockwebserver)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
+
+    // Installs the shipped baseline profile on devices without Play profile support
+    implementation(libs.profileinstaller)
+    baselineProfile(project(":baselineprofile"))
     
     // Firebase BoM - manages all Firebase dependency versions
     implementation(platform("com.google.firebase:firebase-bom:34.7.0"))
@@ -89,12 +137,21 @@ dependencies {
     // Image loading and caching
     implementation("com.github.bumptech.glide:glide:4.16.0")
     
+    // EXIF orientation for image preprocessing before upload
+    implementation("androidx.exifinterface:exifinterface:1.3.7")
+    
     // Image picker
     implementation("com.github.dhaval2404:imagepicker:2.1")
     
     // HTTP client for Cloudinary uploads
     implementation("com.squareup.okhttp3:okhttp:4.12.0")
     
+    // WorkManager for durable background report submission
+    implementation("androidx.work:work-runtime:2.9.1")
+
+    // App Startup for ordered, deferred SDK initialization
+    implementation("androidx.startup:startup-runtime:1.2.0")
+    
     // DataStore for session management
     implementation("androidx.datastore:datastore-preferences:1.0.0")
     implementation("androidx.datastore:datastore-preferences-rxjava3:1.0.0")
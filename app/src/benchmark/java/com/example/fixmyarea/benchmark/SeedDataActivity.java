@@ -0,0 +1,131 @@
+package com.example.fixmyarea.benchmark;
+
+import android.os.Bundle;
+import android.util.Log;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.fixmyarea.firebase.FirebaseConstants;
+import com.example.fixmyarea.firebase.FirebaseManager;
+import com.example.fixmyarea.utils.SessionManager;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prepares the Firebase emulator for benchmark runs
+ * Signs in a fixed benchmark user, fills the issues collection with a
+ * deterministic feed and saves the session, then shows {@link #DONE_TEXT}
+ * so the benchmark can wait for it. Only compiled into benchmark variants.
+ */
+public class SeedDataActivity extends AppCompatActivity {
+
+    private static final String TAG = "SeedDataActivity";
+
+    public static final String DONE_TEXT = "Benchmark data ready";
+
+    private static final String EMAIL = "benchmark@fixmyarea.test";
+    private static final String PASSWORD = "benchmark-password";
+    private static final int ISSUE_COUNT = 300;
+    private static final int BATCH_SIZE = 500;
+
+    private static final String[] CATEGORIES = {
+            FirebaseConstants.CATEGORY_ROAD,
+            FirebaseConstants.CATEGORY_WATER,
+            FirebaseConstants.CATEGORY_ELECTRICITY,
+            FirebaseConstants.CATEGORY_SANITATION,
+            FirebaseConstants.CATEGORY_OTHER
+    };
+    private static final String[] STATUSES = {
+            FirebaseConstants.STATUS_PENDING,
+            FirebaseConstants.STATUS_APPROVED,
+            FirebaseConstants.STATUS_IN_PROGRESS,
+            FirebaseConstants.STATUS_RESOLVED
+    };
+
+    private TextView statusText;
+    private FirebaseManager firebaseManager;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        statusText = new TextView(this);
+        statusText.setText("Seeding...");
+        setContentView(statusText);
+
+        firebaseManager = FirebaseManager.getInstance();
+        firebaseManager.signInWithEmail(EMAIL, PASSWORD)
+                .continueWithTask(task -> task.isSuccessful()
+                        ? task
+                        : firebaseManager.signUpWithEmail(EMAIL, PASSWORD))
+                .onSuccessTask(result -> seed(result.getUser()))
+                .addOnSuccessListener(aVoid -> {
+                    SessionManager.getInstance(this).saveSession(
+                            firebaseManager.getCurrentUser().getUid(), EMAIL, FirebaseConstants.ROLE_USER);
+                    statusText.setText(DONE_TEXT);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Seeding failed", e);
+                    statusText.setText("Seeding failed: " + e.getMessage());
+                });
+    }
+
+    private Task<Void> seed(FirebaseUser user) {
+        String userId = user.getUid();
+        Task<Void> profile = firebaseManager.createUserProfile(userId, "Benchmark User", EMAIL,
+                "", "Dhaka", "", null);
+
+        FirebaseFirestore firestore = firebaseManager.getFirestore();
+        Task<Void> issues = firestore.collection(FirebaseConstants.COLLECTION_ISSUES).limit(1).get()
+                .onSuccessTask(snapshot -> {
+                    if (!snapshot.isEmpty()) {
+                        return Tasks.<Void>forResult(null);
+                    }
+                    return writeIssues(firestore, userId);
+                });
+        return Tasks.whenAll(profile, issues);
+    }
+
+    private static Task<Void> writeIssues(FirebaseFirestore firestore, String userId) {
+        // Fixed base time keeps ordering and "time ago" labels identical across runs
+        long baseTime = 1_700_000_000_000L;
+        List<Task<Void>> commits = new ArrayList<>();
+        WriteBatch batch = firestore.batch();
+        int inBatch = 0;
+
+        for (int i = 0; i < ISSUE_COUNT; i++) {
+            Map<String, Object> issue = new HashMap<>();
+            issue.put(FirebaseConstants.FIELD_ISSUE_TITLE, "Benchmark issue " + i);
+            issue.put(FirebaseConstants.FIELD_ISSUE_DESCRIPTION,
+                    "Seeded issue " + i + " used for startup, search and scroll benchmarks.");
+            issue.put(FirebaseConstants.FIELD_ISSUE_CATEGORY, CATEGORIES[i % CATEGORIES.length]);
+            issue.put(FirebaseConstants.FIELD_ISSUE_STATUS, STATUSES[i % STATUSES.length]);
+            issue.put(FirebaseConstants.FIELD_ISSUE_LOCATION, "Road " + (i % 40) + ", Dhaka");
+            issue.put(FirebaseConstants.FIELD_ISSUE_LATITUDE, 23.70 + (i % 50) * 0.002);
+            issue.put(FirebaseConstants.FIELD_ISSUE_LONGITUDE, 90.35 + (i / 50) * 0.01);
+            issue.put(FirebaseConstants.FIELD_ISSUE_IMAGE_URL, new ArrayList<String>());
+            issue.put(FirebaseConstants.FIELD_ISSUE_REPORTER_ID, userId);
+            issue.put(FirebaseConstants.FIELD_ISSUE_TIMESTAMP, baseTime - i * 60_000L);
+            issue.put(FirebaseConstants.FIELD_ISSUE_UPVOTES, i % 7);
+
+            batch.set(firestore.collection(FirebaseConstants.COLLECTION_ISSUES).document("bench_" + i), issue);
+            if (++inBatch == BATCH_SIZE) {
+                commits.add(batch.commit());
+                batch = firestore.batch();
+                inBatch = 0;
+            }
+        }
+        if (inBatch > 0) {
+            commits.add(batch.commit());
+        }
+        return Tasks.whenAll(commits);
+    }
+}
@@ -1,18 +1,33 @@
 package com.example.fixmyarea;
 
 import android.app.Application;
-import com.google.firebase.FirebaseApp;
+
+import androidx.annotation.NonNull;
+import androidx.work.Configuration;
+
+import com.example.fixmyarea.startup.DeferredSdkInit;
 
 /**
- * Application class for initializing Firebase and other app-wide configurations
+ * Application class for app-wide configuration
+ * Firebase and the startup warm-up run from AndroidX App Startup initializers
+ * (see the startup package); SDKs not needed for the first screen are started
+ * after it has drawn.
  */
-public class MyApplication extends Application {
+public class MyApplication extends Application implements Configuration.Provider {
 
     @Override
     public void onCreate() {
         super.onCreate();
 
-        // Initialize Firebase
-        FirebaseApp.initializeApp(this);
+        DeferredSdkInit.scheduleAfterFirstFrame(this);
+    }
+
+    /**
+     * WorkManager is initialized on first use instead of at process start
+     */
+    @NonNull
+    @Override
+    public Configuration getWorkManagerConfiguration() {
+        return new Configuration.Builder().build();
     }
 }
@@ -14,16 +14,23 @@ import com.bumptech.glide.Glide;
 import com.example.fixmyarea.R;
 import com.example.fixmyarea.firebase.FirebaseConstants;
 import com.example.fixmyarea.models.Post;
+import com.example.fixmyarea.utils.ImagePlaceholders;
+import com.google.android.material.card.MaterialCardView;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Adapter for displaying issues in admin view
  */
 public class AdminIssueAdapter extends RecyclerView.Adapter<AdminIssueAdapter.IssueViewHolder> {
 
-    private final List<Post> issueList;
+    private List<Post> issueList;
     private final IssueActionListener listener;
+    // Selected issue ids; while any are selected, taps toggle selection
+    private final Set<String> selectedIds = new HashSet<>();
 
     public interface IssueActionListener {
         void onApproveIssue(Post issue);
@@ -33,6 +40,8 @@ public class AdminIssueAdapter extends RecyclerView.Adapter<AdminIssueAdapter.Is
         void onMarkAsDone(Post issue);
 
         void onIssueClick(Post issue);
+
+        void onSelectionChanged(int selectedCount);
     }
 
     public AdminIssueAdapter(List<Post> issueList, IssueActionListener listener) {
@@ -40,6 +49,43 @@ public class AdminIssueAdapter extends RecyclerView.Adapter<AdminIssueAdapter.Is
         this.listener = listener;
     }
 
+    /**
+     * Show a different list, e.g. another status filter
+     */
+    public void setIssues(List<Post> issueList) {
+        this.issueList = issueList;
+        notifyDataSetChanged();
+    }
+
+    /**
+     * @return Ids of the selected issues
+     */
+    public Set<String> getSelectedIds() {
+        return new HashSet<>(selectedIds);
+    }
+
+    /**
+     * Replace the selection, e.g. to keep only issues that failed to update
+     */
+    public void setSelectedIds(Collection<String> ids) {
+        selectedIds.clear();
+        selectedIds.addAll(ids);
+        notifyDataSetChanged();
+        listener.onSelectionChanged(selectedIds.size());
+    }
+
+    public void clearSelection() {
+        setSelectedIds(new HashSet<>());
+    }
+
+    private void toggleSelection(Post issue, int position) {
+        if (!selectedIds.remove(issue.getPostId())) {
+            selectedIds.add(issue.getPostId());
+        }
+        notifyItemChanged(position);
+        listener.onSelectionChanged(selectedIds.size());
+    }
+
     @NonNull
     @Override
     public IssueViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -51,7 +97,20 @@ public class AdminIssueAdapter extends RecyclerView.Adapter<AdminIssueAdapter.Is
     @Override
     public void onBindViewHolder(@NonNull IssueViewHolder holder, int position) {
         Post issue = issueList.get(position);
-        holder.bind(issue, listener);
+        holder.bind(issue, listener, selectedIds.contains(issue.getPostId()));
+
+        // Long press starts a selection for bulk actions
+        holder.itemView.setOnClickListener(v -> {
+            if (selectedIds.isEmpty()) {
+                listener.onIssueClick(issue);
+            } else {
+                toggleSelection(issue, holder.getAdapterPosition());
+            }
+        });
+        holder.itemView.setOnLongClickListener(v -> {
+            toggleSelection(issue, holder.getAdapterPosition());
+            return true;
+        });
     }
 
     @Override
@@ -81,7 +140,9 @@ public class AdminIssueAdapter extends RecyclerView.Adapter<AdminIssueAdapter.Is
             btnDone = itemView.findViewById(R.id.btnDone);
         }
 
-        public void bind(Post issue, IssueActionListener listener) {
+        public void bind(Post issue, IssueActionListener listener, boolean selected) {
+            ((MaterialCardView) itemView).setChecked(selected);
+
             issueTitle.setText(issue.getTitle());
             issueDescription.setText(issue.getDescription());
             issueStatus.setText(issue.getStatus().toUpperCase());
@@ -92,7 +153,8 @@ public class AdminIssueAdapter extends RecyclerView.Adapter<AdminIssueAdapter.Is
             if (imageUrl != null && !imageUrl.isEmpty()) {
                 Glide.with(itemView.getContext())
                         .load(imageUrl)
-                        .placeholder(R.drawable.ic_launcher_foreground)
+                        .placeholder(ImagePlaceholders.get(itemView.getContext(),
+                                issue.getFirstImagePlaceholder(), R.drawable.ic_launcher_foreground))
                         .error(R.drawable.ic_launcher_foreground)
                         .centerCrop()
                         .into(issueImage);
@@ -120,9 +182,6 @@ public class AdminIssueAdapter extends RecyclerView.Adapter<AdminIssueAdapter.Is
             btnApprove.setOnClickListener(v -> listener.onApproveIssue(issue));
             btnReject.setOnClickListener(v -> listener.onRejectIssue(issue));
             btnDone.setOnClickListener(v -> listener.onMarkAsDone(issue));
-
-            // Set click listener for the entire card
-            itemView.setOnClickListener(v -> listener.onIssueClick(issue));
         }
     }
 }
@@ -1,6 +1,7 @@
 package com.example.fixmyarea.adapters;
 
 import android.view.LayoutInflater;
+import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.ViewGroup;
@@ -15,6 +16,8 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
 import com.example.fixmyarea.R;
 import com.example.fixmyarea.models.Post;
+import com.example.fixmyarea.utils.ImagePlaceholders;
+import com.example.fixmyarea.utils.PostPrefetcher;
 import com.google.android.material.chip.Chip;
 
 import java.util.ArrayList;
@@ -29,6 +32,10 @@ public class PostAdapter extends RecyclerView.Adapter<PostAdapter.PostViewHolder
     private String currentUserId;
     private PostActionCallback listener;
 
+    private static final int INACTIVE_COLOR = 0xFF666666;
+    // A row this long on screen is likely being read, not scrolled past
+    private static final long DWELL_MS = 1500;
+
     public interface PostActionCallback {
         void onPostClick(Post post);
         void onLikeClick(Post post);
@@ -65,6 +72,18 @@ public class PostAdapter extends RecyclerView.Adapter<PostAdapter.PostViewHolder
         return posts.size();
     }
 
+    @Override
+    public void onViewAttachedToWindow(@NonNull PostViewHolder holder) {
+        super.onViewAttachedToWindow(holder);
+        holder.itemView.postDelayed(holder.dwell, DWELL_MS);
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(@NonNull PostViewHolder holder) {
+        super.onViewDetachedFromWindow(holder);
+        holder.itemView.removeCallbacks(holder.dwell);
+    }
+
     class PostViewHolder extends RecyclerView.ViewHolder {
         private ImageView postImage;
         private TextView postTitle;
@@ -80,6 +99,15 @@ public class PostAdapter extends RecyclerView.Adapter<PostAdapter.PostViewHolder
         private TextView tvDislikeCount;
         private ImageView icLike;
         private ImageView icDislike;
+        private LinearLayout reporterRow;
+        private ImageView reporterAvatar;
+        private TextView reporterName;
+        private final Runnable dwell = () -> {
+            Post post = getBoundPost();
+            if (post != null) {
+                PostPrefetcher.getInstance(itemView.getContext()).onDwell(post);
+            }
+        };
 
         public PostViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -97,6 +125,20 @@ public class PostAdapter extends RecyclerView.Adapter<PostAdapter.PostViewHolder
             tvDislikeCount = itemView.findViewById(R.id.tvDislikeCount);
             icLike = itemView.findViewById(R.id.icLike);
             icDislike = itemView.findViewById(R.id.icDislike);
+            reporterRow = itemView.findViewById(R.id.reporterRow);
+            reporterAvatar = itemView.findViewById(R.id.reporterAvatar);
+            reporterName = itemView.findViewById(R.id.reporterName);
+
+            // Start loading the detail screen's content before the tap completes
+            itemView.setOnTouchListener((v, event) -> {
+                if (event.getActionMasked() == MotionEvent.ACTION_DOWN) {
+                    Post post = getBoundPost();
+                    if (post != null) {
+                        PostPrefetcher.getInstance(v.getContext()).onTouchDown(post);
+                    }
+                }
+                return false;
+            });
 
             itemView.setOnClickListener(v -> {
                 int position = getAdapterPosition();
@@ -127,31 +169,51 @@ public class PostAdapter extends RecyclerView.Adapter<PostAdapter.PostViewHolder
             });
         }
 
+        private Post getBoundPost() {
+            int position = getAdapterPosition();
+            return position != RecyclerView.NO_POSITION && position < posts.size() ? posts.get(position) : null;
+        }
+
         public void bind(Post post) {
+            RowState state = RowState.prepare(post, currentUserId, System.currentTimeMillis());
+
             // Set title
             postTitle.setText(post.getTitle());
 
             // Set category
-            String category = post.getCategory();
-            if (category != null) {
-                categoryChip.setText(capitalizeFirst(category));
-                categoryChip.setChipBackgroundColorResource(getCategoryColor(category));
+            if (state.categoryLabel != null) {
+                categoryChip.setText(state.categoryLabel);
+                categoryChip.setChipBackgroundColorResource(state.categoryColor);
             }
 
             // Set description
             postDescription.setText(post.getDescription());
 
+            // Set reporter (filled in by UserDirectory, may not be known yet)
+            if (post.getReporterName() != null) {
+                reporterRow.setVisibility(View.VISIBLE);
+                reporterName.setText(post.getReporterName());
+                Glide.with(itemView.getContext())
+                        .load(post.getReporterImageUrl())
+                        .placeholder(R.drawable.ic_profile_placeholder)
+                        .error(R.drawable.ic_profile_placeholder)
+                        .fallback(R.drawable.ic_profile_placeholder)
+                        .circleCrop()
+                        .into(reporterAvatar);
+            } else {
+                reporterRow.setVisibility(View.GONE);
+            }
+
             // Set location
             postLocation.setText(post.getLocation());
 
             // Set time
-            postTime.setText(post.getTimeAgo());
+            postTime.setText(state.timeAgo);
 
             // Set status
-            String status = post.getStatus();
-            if (status != null) {
-                postStatus.setText(capitalizeFirst(status.replace("_", " ")));
-                postStatus.setTextColor(itemView.getContext().getColor(getStatusColor(status)));
+            if (state.statusLabel != null) {
+                postStatus.setText(state.statusLabel);
+                postStatus.setTextColor(itemView.getContext().getColor(state.statusColor));
             }
 
             // Load first image
@@ -159,7 +221,8 @@ public class PostAdapter extends RecyclerView.Adapter<PostAdapter.PostViewHolder
             if (imageUrl != null && !imageUrl.isEmpty()) {
                 Glide.with(itemView.getContext())
                         .load(imageUrl)
-                        .placeholder(R.drawable.ic_launcher_foreground)
+                        .placeholder(ImagePlaceholders.get(itemView.getContext(),
+                                post.getFirstImagePlaceholder(), R.drawable.ic_launcher_foreground))
                         .error(R.drawable.ic_launcher_foreground)
                         .centerCrop()
                         .into(postImage);
@@ -168,74 +231,104 @@ public class PostAdapter extends RecyclerView.Adapter<PostAdapter.PostViewHolder
             }
 
             // Show/hide delete button
-            if (currentUserId != null && currentUserId.equals(post.getReporterId())) {
-                btnDelete.setVisibility(View.VISIBLE);
-            } else {
-                btnDelete.setVisibility(View.GONE);
-            }
+            btnDelete.setVisibility(state.canDelete ? View.VISIBLE : View.GONE);
 
             // Setup Like/Dislike counts and states
-            int likeCount = post.getLikedBy() != null ? post.getLikedBy().size() : 0;
-            int dislikeCount = post.getDislikedBy() != null ? post.getDislikedBy().size() : 0;
-            
-            tvLikeCount.setText(String.valueOf(likeCount));
-            tvDislikeCount.setText(String.valueOf(dislikeCount));
-
-            boolean isLiked = post.getLikedBy() != null && post.getLikedBy().contains(currentUserId);
-            boolean isDisliked = post.getDislikedBy() != null && post.getDislikedBy().contains(currentUserId);
-
-            if (isLiked) {
-                icLike.setColorFilter(itemView.getContext().getColor(R.color.black)); // Or blue
-                tvLikeCount.setTextColor(itemView.getContext().getColor(R.color.black));
-            } else {
-                icLike.setColorFilter(android.graphics.Color.parseColor("#666666"));
-                tvLikeCount.setTextColor(android.graphics.Color.parseColor("#666666"));
-            }
+            tvLikeCount.setText(String.valueOf(state.likeCount));
+            tvDislikeCount.setText(String.valueOf(state.dislikeCount));
 
-            if (isDisliked) {
-                icDislike.setColorFilter(itemView.getContext().getColor(R.color.black));
-                tvDislikeCount.setTextColor(itemView.getContext().getColor(R.color.black));
-            } else {
-                icDislike.setColorFilter(android.graphics.Color.parseColor("#666666"));
-                tvDislikeCount.setTextColor(android.graphics.Color.parseColor("#666666"));
-            }
+            int activeColor = itemView.getContext().getColor(R.color.black);
+            int likeColor = state.liked ? activeColor : INACTIVE_COLOR;
+            icLike.setColorFilter(likeColor);
+            tvLikeCount.setTextColor(likeColor);
+
+            int dislikeColor = state.disliked ? activeColor : INACTIVE_COLOR;
+            icDislike.setColorFilter(dislikeColor);
+            tvDislikeCount.setTextColor(dislikeColor);
         }
+    }
 
-        private String capitalizeFirst(String text) {
-            if (text == null || text.isEmpty()) {
-                return text;
-            }
-            return text.substring(0, 1).toUpperCase() + text.substring(1).toLowerCase();
+    /**
+     * Display values for one row, computed without touching views
+     * Kept separate from bind so the per-row work can be benchmarked.
+     */
+    public static final class RowState {
+        public final String categoryLabel;
+        public final int categoryColor;
+        public final String statusLabel;
+        public final int statusColor;
+        public final String timeAgo;
+        public final int likeCount;
+        public final int dislikeCount;
+        public final boolean liked;
+        public final boolean disliked;
+        public final boolean canDelete;
+
+        private RowState(Post post, String currentUserId, long now) {
+            String category = post.getCategory();
+            categoryLabel = category != null ? capitalizeFirst(category) : null;
+            categoryColor = category != null ? getCategoryColor(category) : 0;
+
+            String status = post.getStatus();
+            statusLabel = status != null ? capitalizeFirst(status.replace("_", " ")) : null;
+            statusColor = status != null ? getStatusColor(status) : 0;
+
+            timeAgo = post.getTimeAgo(now);
+
+            List<String> likedBy = post.getLikedBy();
+            List<String> dislikedBy = post.getDislikedBy();
+            likeCount = likedBy != null ? likedBy.size() : 0;
+            dislikeCount = dislikedBy != null ? dislikedBy.size() : 0;
+            liked = likedBy != null && likedBy.contains(currentUserId);
+            disliked = dislikedBy != null && dislikedBy.contains(currentUserId);
+
+            canDelete = currentUserId != null && currentUserId.equals(post.getReporterId());
         }
 
-        private int getCategoryColor(String category) {
-            switch (category.toLowerCase()) {
-                case "road":
-                    return android.R.color.holo_orange_dark;
-                case "water":
-                    return android.R.color.holo_blue_dark;
-                case "electricity":
-                    return android.R.color.holo_orange_light;
-                case "sanitation":
-                    return android.R.color.holo_green_dark;
-                default:
-                    return android.R.color.darker_gray;
-            }
+        /**
+         * @param post          Post to show
+         * @param currentUserId Signed-in user, may be null
+         * @param now           Reference time for the "time ago" label
+         */
+        public static RowState prepare(Post post, String currentUserId, long now) {
+            return new RowState(post, currentUserId, now);
         }
+    }
 
-        private int getStatusColor(String status) {
-            switch (status.toLowerCase()) {
-                case "pending":
-                    return android.R.color.holo_orange_dark;
-                case "in_progress":
-                    return android.R.color.holo_blue_dark;
-                case "resolved":
-                    return android.R.color.holo_green_dark;
-                case "rejected":
-                    return android.R.color.holo_red_dark;
-                default:
-                    return android.R.color.darker_gray;
-            }
+    private static String capitalizeFirst(String text) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        return text.substring(0, 1).toUpperCase() + text.substring(1).toLowerCase();
+    }
+
+    private static int getCategoryColor(String category) {
+        switch (category.toLowerCase()) {
+            case "road":
+                return android.R.color.holo_orange_dark;
+            case "water":
+                return android.R.color.holo_blue_dark;
+            case "electricity":
+                return android.R.color.holo_orange_light;
+            case "sanitation":
+                return android.R.color.holo_green_dark;
+            default:
+                return android.R.color.darker_gray;
+        }
+    }
+
+    private static int getStatusColor(String status) {
+        switch (status.toLowerCase()) {
+            case "pending":
+                return android.R.color.holo_orange_dark;
+            case "in_progress":
+                return android.R.color.holo_blue_dark;
+            case "resolved":
+                return android.R.color.holo_green_dark;
+            case "rejected":
+                return android.R.color.holo_red_dark;
+            default:
+                return android.R.color.darker_gray;
         }
     }
 }
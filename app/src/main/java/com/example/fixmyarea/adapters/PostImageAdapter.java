@@ -10,6 +10,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.example.fixmyarea.R;
+import com.example.fixmyarea.utils.ImagePlaceholders;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -20,6 +21,7 @@ import java.util.List;
 public class PostImageAdapter extends RecyclerView.Adapter<PostImageAdapter.ImageViewHolder> {
 
     private List<String> imageUrls = new ArrayList<>();
+    private List<String> imagePlaceholders = new ArrayList<>();
     private OnImageClickListener clickListener;
 
     public interface OnImageClickListener {
@@ -30,6 +32,14 @@ public class PostImageAdapter extends RecyclerView.Adapter<PostImageAdapter.Imag
         this.clickListener = listener;
     }
 
+    /**
+     * Set BlurHash placeholders, same order as the image URLs
+     * Call before setImageUrls so the first bind already has them.
+     */
+    public void setImagePlaceholders(List<String> imagePlaceholders) {
+        this.imagePlaceholders = imagePlaceholders != null ? imagePlaceholders : new ArrayList<>();
+    }
+
     public void setImageUrls(List<String> imageUrls) {
         this.imageUrls = imageUrls != null ? imageUrls : new ArrayList<>();
         notifyDataSetChanged();
@@ -49,9 +59,11 @@ public class PostImageAdapter extends RecyclerView.Adapter<PostImageAdapter.Imag
     @Override
     public void onBindViewHolder(@NonNull ImageViewHolder holder, int position) {
         String imageUrl = imageUrls.get(position);
+        String placeholder = position < imagePlaceholders.size() ? imagePlaceholders.get(position) : null;
         Glide.with(holder.imageView.getContext())
                 .load(imageUrl)
-                .placeholder(R.drawable.ic_launcher_foreground)
+                .placeholder(ImagePlaceholders.get(holder.imageView.getContext(), placeholder,
+                        R.drawable.ic_launcher_foreground))
                 .error(R.drawable.ic_launcher_foreground)
                 .fitCenter()
                 .into(holder.imageView);
@@ -16,6 +16,7 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.example.fixmyarea.R;
 import com.example.fixmyarea.ui.DashboardActivity;
 import com.example.fixmyarea.firebase.FirebaseManager;
+import com.example.fixmyarea.utils.RoleManager;
 import com.example.fixmyarea.utils.SessionManager;
 
 /**
@@ -77,28 +78,19 @@ public class LoginActivity extends AppCompatActivity {
                     if (task.isSuccessful()) {
                         String userId = firebaseManager.getCurrentUser().getUid();
 
-                        // Fetch user role from Firestore
-                        firebaseManager.getUserRole(userId).addOnCompleteListener(roleTask -> {
+                        // Resolve role (cached per user, fetched from Firestore when unknown or stale)
+                        RoleManager.getInstance(this).getUserRole(userId, role -> {
                             showProgress(false);
 
-                            if (roleTask.isSuccessful()) {
-                                String role = roleTask.getResult();
+                            // Save session with role
+                            sessionManager.saveSession(userId, email, role);
 
-                                // Save session with role
-                                sessionManager.saveSession(userId, email, role);
+                            Toast.makeText(this, "Welcome back!", Toast.LENGTH_SHORT).show();
 
-                                Toast.makeText(this, "Welcome back!", Toast.LENGTH_SHORT).show();
-
-                                // Route based on role
-                                if ("admin".equalsIgnoreCase(role)) {
-                                    navigateToAdminDashboard();
-                                } else {
-                                    navigateToMain();
-                                }
+                            // Route based on role
+                            if ("admin".equalsIgnoreCase(role)) {
+                                navigateToAdminDashboard();
                             } else {
-                                // If role fetch fails, default to user role
-                                sessionManager.saveSession(userId, email, "user");
-                                Toast.makeText(this, "Welcome back!", Toast.LENGTH_SHORT).show();
                                 navigateToMain();
                             }
                         });
@@ -0,0 +1,116 @@
+package com.example.fixmyarea.firebase;
+
+import android.util.Log;
+
+import com.example.fixmyarea.models.Post;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves many issues to a new status at once
+ * Each issue's status update and its reporter notification go into the same
+ * WriteBatch, so an issue is never updated without its notification or the other
+ * way round. Batches hold up to 500 writes (the Firestore limit) and are all
+ * committed together; a failed batch fails only its own issues.
+ */
+public class BulkIssueUpdater {
+
+    private static final String TAG = "BulkIssueUpdater";
+
+    // Firestore limit on writes per batch
+    private static final int MAX_BATCH_WRITES = 500;
+
+    private final FirebaseFirestore firestore;
+
+    /**
+     * Notification text for one issue, or null to not notify its reporter
+     */
+    public interface MessageBuilder {
+        String buildMessage(Post issue);
+    }
+
+    /**
+     * Progress and outcome, on the main thread
+     */
+    public interface UpdateCallback {
+        void onProgress(int done, int total);
+
+        void onComplete(List<Post> updated, List<Post> failed);
+    }
+
+    public BulkIssueUpdater() {
+        firestore = FirebaseManager.getInstance().getFirestore();
+    }
+
+    /**
+     * Update the status of every issue and notify their reporters
+     *
+     * @param issues    Issues to update
+     * @param newStatus Status to set
+     * @param messages  Builds each reporter notification
+     * @param callback  Progress per committed batch, then the result
+     */
+    public void updateStatus(List<Post> issues, String newStatus, MessageBuilder messages,
+                             UpdateCallback callback) {
+        List<List<Post>> groups = new ArrayList<>();
+        List<WriteBatch> batches = new ArrayList<>();
+        List<Post> group = new ArrayList<>();
+        WriteBatch batch = firestore.batch();
+        int writes = 0;
+
+        for (Post issue : issues) {
+            String message = issue.getReporterId() != null && !issue.getReporterId().isEmpty()
+                    ? messages.buildMessage(issue) : null;
+            int needed = message != null ? 2 : 1;
+            if (writes + needed > MAX_BATCH_WRITES) {
+                groups.add(group);
+                batches.add(batch);
+                group = new ArrayList<>();
+                batch = firestore.batch();
+                writes = 0;
+            }
+
+            batch.update(firestore.collection(FirebaseConstants.COLLECTION_ISSUES).document(issue.getPostId()),
+                    FirebaseManager.buildStatusUpdate(newStatus));
+            if (message != null) {
+                batch.set(firestore.collection(FirebaseConstants.COLLECTION_NOTIFICATIONS).document(),
+                        FirebaseManager.buildNotification(issue.getReporterId(), issue.getPostId(), message,
+                                FirebaseConstants.NOTIFICATION_TYPE_STATUS));
+            }
+            group.add(issue);
+            writes += needed;
+        }
+        if (!group.isEmpty()) {
+            groups.add(group);
+            batches.add(batch);
+        }
+
+        int total = issues.size();
+        if (batches.isEmpty()) {
+            callback.onComplete(new ArrayList<>(), new ArrayList<>());
+            return;
+        }
+
+        List<Post> updated = new ArrayList<>();
+        List<Post> failed = new ArrayList<>();
+        int[] pendingBatches = {batches.size()};
+        for (int i = 0; i < batches.size(); i++) {
+            List<Post> members = groups.get(i);
+            batches.get(i).commit().addOnCompleteListener(task -> {
+                if (task.isSuccessful()) {
+                    updated.addAll(members);
+                } else {
+                    Log.w(TAG, "Batch of " + members.size() + " issues failed", task.getException());
+                    failed.addAll(members);
+                }
+                callback.onProgress(updated.size() + failed.size(), total);
+                if (--pendingBatches[0] == 0) {
+                    callback.onComplete(updated, failed);
+                }
+            });
+        }
+    }
+}
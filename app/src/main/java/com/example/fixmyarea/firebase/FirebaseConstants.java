@@ -11,10 +11,16 @@ public class FirebaseConstants {
     public static final String COLLECTION_COMMENTS = "comments";
     public static final String COLLECTION_AREAS = "areas";
     public static final String COLLECTION_NOTIFICATIONS = "notifications";
+    // Name and photo of each user, readable by everyone signed in (see functions/)
+    public static final String COLLECTION_PUBLIC_PROFILES = "publicProfiles";
+    // Issue activity per UTC day / ISO week, maintained by functions/ (see RollupPeriods)
+    public static final String COLLECTION_STATS_DAILY = "stats_daily";
+    public static final String COLLECTION_STATS_WEEKLY = "stats_weekly";
 
     // Firestore Field Names - Users
     public static final String FIELD_USER_ID = "userId";
     public static final String FIELD_USER_NAME = "userName";
+    public static final String FIELD_USER_NAME_LOWER = "userNameLower"; // Normalized name for ordering and search
     public static final String FIELD_USER_EMAIL = "email";
     public static final String FIELD_USER_PHONE = "phone";
     public static final String FIELD_USER_ADDRESS = "address";
@@ -27,6 +33,9 @@ public class FirebaseConstants {
     public static final String ROLE_ADMIN = "admin";
     public static final String ROLE_USER = "user";
 
+    // ID token custom claims (set by functions/ from the user document)
+    public static final String CLAIM_ROLE = "role";
+
     // Firestore Field Names - Issues
     public static final String FIELD_ISSUE_ID = "issueId";
     public static final String FIELD_ISSUE_TITLE = "title";
@@ -37,9 +46,12 @@ public class FirebaseConstants {
     public static final String FIELD_ISSUE_LATITUDE = "latitude";
     public static final String FIELD_ISSUE_LONGITUDE = "longitude";
     public static final String FIELD_ISSUE_IMAGE_URL = "imageUrl";
+    public static final String FIELD_ISSUE_IMAGE_PLACEHOLDERS = "imagePlaceholders";
     public static final String FIELD_ISSUE_REPORTER_ID = "reporterId";
     public static final String FIELD_ISSUE_TIMESTAMP = "timestamp";
     public static final String FIELD_ISSUE_UPVOTES = "upvotes";
+    public static final String FIELD_ISSUE_LIKED_BY = "likedBy";
+    public static final String FIELD_ISSUE_DISLIKED_BY = "dislikedBy";
 
     // Firestore Field Names - Notifications
     public static final String FIELD_NOTIFICATION_USER_ID = "userId";
@@ -47,6 +59,21 @@ public class FirebaseConstants {
     public static final String FIELD_NOTIFICATION_POST_ID = "postId";
     public static final String FIELD_NOTIFICATION_TIMESTAMP = "timestamp";
     public static final String FIELD_NOTIFICATION_IS_READ = "isRead";
+    public static final String FIELD_NOTIFICATION_TYPE = "type";
+
+    // Notification Types (security rules only let admins create status notifications)
+    public static final String NOTIFICATION_TYPE_REACTION = "reaction";
+    public static final String NOTIFICATION_TYPE_STATUS = "status";
+
+    // Firestore Field Names - Rollups
+    public static final String FIELD_ROLLUP_PERIOD_START = "periodStart";
+    public static final String FIELD_ROLLUP_CREATED = "created";
+    public static final String FIELD_ROLLUP_RESOLVED = "resolved";
+    public static final String FIELD_ROLLUP_REJECTED = "rejected";
+    public static final String FIELD_ROLLUP_CREATED_BY_CATEGORY = "createdByCategory";
+    public static final String FIELD_ROLLUP_CREATED_BY_AREA = "createdByArea";
+    public static final String FIELD_ROLLUP_TIME_TO_APPROVE = "timeToApprove";
+    public static final String FIELD_ROLLUP_TIME_TO_RESOLVE = "timeToResolve";
 
     // Storage Paths
     public static final String STORAGE_ISSUE_IMAGES = "issue_images/";
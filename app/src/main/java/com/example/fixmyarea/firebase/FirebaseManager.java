@@ -3,19 +3,31 @@ package com.example.fixmyarea.firebase;
 import android.net.Uri;
 import androidx.annotation.NonNull;
 
+import com.example.fixmyarea.models.IssueRollup;
+import com.example.fixmyarea.utils.RollupPeriods;
+import com.example.fixmyarea.utils.SearchKeys;
 import com.google.android.gms.tasks.OnCompleteListener;
 import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.auth.AuthResult;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.AggregateQuerySnapshot;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.CollectionReference;
 import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QuerySnapshot;
 import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
 import com.google.firebase.storage.UploadTask;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -186,6 +198,7 @@ public class FirebaseManager {
         Map<String, Object> userProfile = new HashMap<>();
         userProfile.put(FirebaseConstants.FIELD_USER_ID, userId);
         userProfile.put(FirebaseConstants.FIELD_USER_NAME, name);
+        userProfile.put(FirebaseConstants.FIELD_USER_NAME_LOWER, SearchKeys.normalizeName(name));
         userProfile.put(FirebaseConstants.FIELD_USER_EMAIL, email);
         userProfile.put(FirebaseConstants.FIELD_USER_PHONE, phone);
         userProfile.put(FirebaseConstants.FIELD_USER_ADDRESS, address);
@@ -224,17 +237,27 @@ public class FirebaseManager {
 
     /**
      * Create a notification for a user.
+     *
+     * @param type FirebaseConstants.NOTIFICATION_TYPE_REACTION or NOTIFICATION_TYPE_STATUS
      */
     public Task<com.google.firebase.firestore.DocumentReference> createNotification(
-            String userId, String postId, String message) {
+            String userId, String postId, String message, String type) {
+        return addDocumentAutoId(FirebaseConstants.COLLECTION_NOTIFICATIONS,
+                buildNotification(userId, postId, message, type));
+    }
+
+    /**
+     * Fields of a new, unread notification
+     */
+    static Map<String, Object> buildNotification(String userId, String postId, String message, String type) {
         Map<String, Object> notification = new HashMap<>();
         notification.put(FirebaseConstants.FIELD_NOTIFICATION_USER_ID, userId);
         notification.put(FirebaseConstants.FIELD_NOTIFICATION_MESSAGE, message);
         notification.put(FirebaseConstants.FIELD_NOTIFICATION_POST_ID, postId);
         notification.put(FirebaseConstants.FIELD_NOTIFICATION_TIMESTAMP, System.currentTimeMillis());
         notification.put(FirebaseConstants.FIELD_NOTIFICATION_IS_READ, false);
-
-        return addDocumentAutoId(FirebaseConstants.COLLECTION_NOTIFICATIONS, notification);
+        notification.put(FirebaseConstants.FIELD_NOTIFICATION_TYPE, type);
+        return notification;
     }
 
     /**
@@ -251,12 +274,56 @@ public class FirebaseManager {
         return queryDocuments(FirebaseConstants.COLLECTION_ISSUES, FirebaseConstants.FIELD_ISSUE_CATEGORY, category);
     }
 
+    /**
+     * One page of all issues in document id order, for reading every issue
+     * without holding one huge query result
+     *
+     * @param after Last document of the previous page, or null for the first page
+     */
+    public Task<QuerySnapshot> getIssuesPage(DocumentSnapshot after, int pageSize) {
+        Query query = firestore.collection(FirebaseConstants.COLLECTION_ISSUES)
+                .orderBy(FieldPath.documentId());
+        if (after != null) {
+            query = query.startAfter(after);
+        }
+        return query.limit(pageSize).get();
+    }
+
     // ==================== ADMIN METHODS ====================
 
     /**
-     * Get user role from Firestore
+     * Get user role
+     * For the signed-in user the role comes from the ID token's custom claim, so no
+     * document is read; the user document is the fallback for other users and for
+     * accounts whose token has no role claim yet.
      */
     public Task<String> getUserRole(String userId) {
+        return getUserRole(userId, false);
+    }
+
+    /**
+     * Get user role
+     *
+     * @param userId            User to look up
+     * @param forceTokenRefresh Fetch a fresh ID token so recent role changes are seen
+     */
+    public Task<String> getUserRole(String userId, boolean forceTokenRefresh) {
+        FirebaseUser user = auth.getCurrentUser();
+        if (user == null || !user.getUid().equals(userId)) {
+            return getUserRoleFromProfile(userId);
+        }
+        return user.getIdToken(forceTokenRefresh).continueWithTask(task -> {
+            if (task.isSuccessful() && task.getResult() != null) {
+                Object role = task.getResult().getClaims().get(FirebaseConstants.CLAIM_ROLE);
+                if (role instanceof String) {
+                    return Tasks.forResult((String) role);
+                }
+            }
+            return getUserRoleFromProfile(userId);
+        });
+    }
+
+    private Task<String> getUserRoleFromProfile(String userId) {
         return getDocument(FirebaseConstants.COLLECTION_USERS, userId)
                 .continueWith(task -> {
                     if (task.isSuccessful() && task.getResult() != null && task.getResult().exists()) {
@@ -274,6 +341,33 @@ public class FirebaseManager {
         return getAllDocuments(FirebaseConstants.COLLECTION_USERS);
     }
 
+    /**
+     * Get one page of users ordered by name (Admin only)
+     * Name search is a prefix range on the normalized name, so it runs on the server;
+     * a role filter uses the (role, userNameLower) index in firestore.indexes.json.
+     *
+     * @param role       Role to filter by, or null for all users
+     * @param namePrefix Name prefix as typed, or null/empty for no search
+     * @param after      Last document of the previous page, or null for the first page
+     * @param pageSize   Maximum number of users to return
+     */
+    public Task<QuerySnapshot> getUsersPage(String role, String namePrefix, DocumentSnapshot after, int pageSize) {
+        Query query = firestore.collection(FirebaseConstants.COLLECTION_USERS);
+        if (role != null) {
+            query = query.whereEqualTo(FirebaseConstants.FIELD_USER_ROLE, role);
+        }
+        query = query.orderBy(FirebaseConstants.FIELD_USER_NAME_LOWER);
+
+        String prefix = SearchKeys.normalizeName(namePrefix);
+        if (!prefix.isEmpty()) {
+            query = query.startAt(prefix).endAt(prefix + SearchKeys.PREFIX_END);
+        }
+        if (after != null) {
+            query = query.startAfter(after);
+        }
+        return query.limit(pageSize).get();
+    }
+
     /**
      * Create a new user account by admin
      */
@@ -282,6 +376,7 @@ public class FirebaseManager {
         Map<String, Object> userProfile = new HashMap<>();
         userProfile.put(FirebaseConstants.FIELD_USER_ID, userId);
         userProfile.put(FirebaseConstants.FIELD_USER_NAME, name);
+        userProfile.put(FirebaseConstants.FIELD_USER_NAME_LOWER, SearchKeys.normalizeName(name));
         userProfile.put(FirebaseConstants.FIELD_USER_EMAIL, email);
         userProfile.put(FirebaseConstants.FIELD_USER_PHONE, phone);
         userProfile.put(FirebaseConstants.FIELD_USER_NID, nid);
@@ -311,96 +406,83 @@ public class FirebaseManager {
      * Update issue status (Admin - for approve/reject)
      */
     public Task<Void> updateIssueStatus(String issueId, String newStatus) {
+        return updateDocument(FirebaseConstants.COLLECTION_ISSUES, issueId, buildStatusUpdate(newStatus));
+    }
+
+    /**
+     * Fields changed when an issue moves to a new status
+     */
+    static Map<String, Object> buildStatusUpdate(String newStatus) {
         Map<String, Object> updates = new HashMap<>();
         updates.put(FirebaseConstants.FIELD_ISSUE_STATUS, newStatus);
         updates.put("lastUpdated", System.currentTimeMillis());
-        return updateDocument(FirebaseConstants.COLLECTION_ISSUES, issueId, updates);
+        return updates;
     }
 
     /**
-     * Get system statistics (Admin only)
-     * Returns a map with counts of users, issues, and status breakdowns
+     * Get issue rollups for a time range (Admin only)
+     * Reads one small document per day or week in the range, however many issues
+     * there are; periods without activity have no document.
+     *
+     * @param granularity RollupPeriods.DAY or RollupPeriods.WEEK
+     * @param from        Range start, UTC millis
+     * @param to          Range end, UTC millis
      */
-    public Task<Map<String, Object>> getSystemStatistics() {
-        Map<String, Object> stats = new HashMap<>();
-
-        // Get all users count
-        Task<QuerySnapshot> usersTask = getAllUsers();
-        // Get all issues
-        Task<QuerySnapshot> issuesTask = getAllDocuments(FirebaseConstants.COLLECTION_ISSUES);
-
-        return com.google.android.gms.tasks.Tasks.whenAllSuccess(usersTask, issuesTask)
+    public Task<List<IssueRollup>> getRollups(String granularity, long from, long to) {
+        String collection = RollupPeriods.WEEK.equals(granularity)
+                ? FirebaseConstants.COLLECTION_STATS_WEEKLY : FirebaseConstants.COLLECTION_STATS_DAILY;
+        return firestore.collection(collection)
+                .whereGreaterThanOrEqualTo(FirebaseConstants.FIELD_ROLLUP_PERIOD_START,
+                        RollupPeriods.periodStart(from, granularity))
+                .whereLessThanOrEqualTo(FirebaseConstants.FIELD_ROLLUP_PERIOD_START,
+                        RollupPeriods.periodStart(to, granularity))
+                .orderBy(FirebaseConstants.FIELD_ROLLUP_PERIOD_START)
+                .get()
                 .continueWith(task -> {
-                    if (task.isSuccessful()) {
-                        QuerySnapshot usersSnapshot = (QuerySnapshot) task.getResult().get(0);
-                        QuerySnapshot issuesSnapshot = (QuerySnapshot) task.getResult().get(1);
-
-                        stats.put("totalUsers", usersSnapshot.size());
-                        stats.put("totalIssues", issuesSnapshot.size());
-
-                        // Count issues by status
-                        int pending = 0, approved = 0, inProgress = 0, resolved = 0, rejected = 0;
-                        for (com.google.firebase.firestore.DocumentSnapshot doc : issuesSnapshot.getDocuments()) {
-                            String status = doc.getString(FirebaseConstants.FIELD_ISSUE_STATUS);
-                            if (status != null) {
-                                switch (status) {
-                                    case FirebaseConstants.STATUS_PENDING:
-                                        pending++;
-                                        break;
-                                    case FirebaseConstants.STATUS_APPROVED:
-                                        approved++;
-                                        break;
-                                    case FirebaseConstants.STATUS_IN_PROGRESS:
-                                        inProgress++;
-                                        break;
-                                    case FirebaseConstants.STATUS_RESOLVED:
-                                        resolved++;
-                                        break;
-                                    case FirebaseConstants.STATUS_REJECTED:
-                                        rejected++;
-                                        break;
-                                }
-                            }
-                        }
-
-                        stats.put("pendingIssues", pending);
-                        stats.put("approvedIssues", approved);
-                        stats.put("inProgressIssues", inProgress);
-                        stats.put("resolvedIssues", resolved);
-                        stats.put("rejectedIssues", rejected);
-
-                        // Count by category
-                        int road = 0, water = 0, electricity = 0, sanitation = 0, other = 0;
-                        for (com.google.firebase.firestore.DocumentSnapshot doc : issuesSnapshot.getDocuments()) {
-                            String category = doc.getString(FirebaseConstants.FIELD_ISSUE_CATEGORY);
-                            if (category != null) {
-                                switch (category) {
-                                    case FirebaseConstants.CATEGORY_ROAD:
-                                        road++;
-                                        break;
-                                    case FirebaseConstants.CATEGORY_WATER:
-                                        water++;
-                                        break;
-                                    case FirebaseConstants.CATEGORY_ELECTRICITY:
-                                        electricity++;
-                                        break;
-                                    case FirebaseConstants.CATEGORY_SANITATION:
-                                        sanitation++;
-                                        break;
-                                    case FirebaseConstants.CATEGORY_OTHER:
-                                        other++;
-                                        break;
-                                }
-                            }
-                        }
-
-                        stats.put("roadIssues", road);
-                        stats.put("waterIssues", water);
-                        stats.put("electricityIssues", electricity);
-                        stats.put("sanitationIssues", sanitation);
-                        stats.put("otherIssues", other);
+                    List<IssueRollup> rollups = new ArrayList<>();
+                    for (DocumentSnapshot document : task.getResult().getDocuments()) {
+                        rollups.add(RollupMapper.fromSnapshot(document));
                     }
-                    return stats;
+                    return rollups;
                 });
     }
+
+    /**
+     * Get system statistics (Admin only)
+     * Returns a map with counts of users, issues, and status breakdowns. Each count is
+     * a server-side aggregation, so no documents are downloaded.
+     */
+    public Task<Map<String, Object>> getSystemStatistics() {
+        CollectionReference issues = firestore.collection(FirebaseConstants.COLLECTION_ISSUES);
+        Map<String, Query> queries = new LinkedHashMap<>();
+        queries.put("totalUsers", firestore.collection(FirebaseConstants.COLLECTION_USERS));
+        queries.put("totalIssues", issues);
+
+        queries.put("pendingIssues", issues.whereEqualTo(FirebaseConstants.FIELD_ISSUE_STATUS, FirebaseConstants.STATUS_PENDING));
+        queries.put("approvedIssues", issues.whereEqualTo(FirebaseConstants.FIELD_ISSUE_STATUS, FirebaseConstants.STATUS_APPROVED));
+        queries.put("inProgressIssues", issues.whereEqualTo(FirebaseConstants.FIELD_ISSUE_STATUS, FirebaseConstants.STATUS_IN_PROGRESS));
+        queries.put("resolvedIssues", issues.whereEqualTo(FirebaseConstants.FIELD_ISSUE_STATUS, FirebaseConstants.STATUS_RESOLVED));
+        queries.put("rejectedIssues", issues.whereEqualTo(FirebaseConstants.FIELD_ISSUE_STATUS, FirebaseConstants.STATUS_REJECTED));
+
+        queries.put("roadIssues", issues.whereEqualTo(FirebaseConstants.FIELD_ISSUE_CATEGORY, FirebaseConstants.CATEGORY_ROAD));
+        queries.put("waterIssues", issues.whereEqualTo(FirebaseConstants.FIELD_ISSUE_CATEGORY, FirebaseConstants.CATEGORY_WATER));
+        queries.put("electricityIssues", issues.whereEqualTo(FirebaseConstants.FIELD_ISSUE_CATEGORY, FirebaseConstants.CATEGORY_ELECTRICITY));
+        queries.put("sanitationIssues", issues.whereEqualTo(FirebaseConstants.FIELD_ISSUE_CATEGORY, FirebaseConstants.CATEGORY_SANITATION));
+        queries.put("otherIssues", issues.whereEqualTo(FirebaseConstants.FIELD_ISSUE_CATEGORY, FirebaseConstants.CATEGORY_OTHER));
+
+        List<String> keys = new ArrayList<>(queries.keySet());
+        List<Task<AggregateQuerySnapshot>> counts = new ArrayList<>();
+        for (Query query : queries.values()) {
+            counts.add(query.count().get(AggregateSource.SERVER));
+        }
+
+        return Tasks.whenAllSuccess(counts).continueWith(task -> {
+            Map<String, Object> stats = new HashMap<>();
+            List<Object> results = task.getResult();
+            for (int i = 0; i < keys.size(); i++) {
+                stats.put(keys.get(i), ((AggregateQuerySnapshot) results.get(i)).getCount());
+            }
+            return stats;
+        });
+    }
 }
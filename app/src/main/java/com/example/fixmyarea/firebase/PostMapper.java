@@ -0,0 +1,107 @@
+package com.example.fixmyarea.firebase;
+
+import com.example.fixmyarea.models.Post;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps issue documents to {@link Post}
+ * Works on the raw field map, so the mapping can also be run on synthetic data
+ * (see the microbenchmark module).
+ */
+public final class PostMapper {
+
+    private PostMapper() {
+    }
+
+    /**
+     * Map an issue document
+     *
+     * @param document Issue document snapshot
+     * @return Post, or null if the document does not exist
+     */
+    public static Post fromSnapshot(DocumentSnapshot document) {
+        Map<String, Object> data = document.getData();
+        if (data == null) {
+            return null;
+        }
+        return fromData(document.getId(), data);
+    }
+
+    /**
+     * Map issue fields
+     *
+     * @param postId Document ID
+     * @param data   Document fields as returned by Firestore
+     * @return Post
+     */
+    public static Post fromData(String postId, Map<String, Object> data) {
+        Post post = new Post();
+        post.setPostId(postId);
+        post.setTitle(asString(data.get(FirebaseConstants.FIELD_ISSUE_TITLE)));
+        post.setDescription(asString(data.get(FirebaseConstants.FIELD_ISSUE_DESCRIPTION)));
+        post.setCategory(asString(data.get(FirebaseConstants.FIELD_ISSUE_CATEGORY)));
+        post.setStatus(asString(data.get(FirebaseConstants.FIELD_ISSUE_STATUS)));
+        post.setLocation(asString(data.get(FirebaseConstants.FIELD_ISSUE_LOCATION)));
+
+        // Coordinates are only present for locations picked on the map
+        Object latitude = data.get(FirebaseConstants.FIELD_ISSUE_LATITUDE);
+        if (latitude instanceof Number) {
+            post.setLatitude(((Number) latitude).doubleValue());
+        }
+        Object longitude = data.get(FirebaseConstants.FIELD_ISSUE_LONGITUDE);
+        if (longitude instanceof Number) {
+            post.setLongitude(((Number) longitude).doubleValue());
+        }
+
+        // Older issues store a single URL instead of a list
+        Object imageUrl = data.get(FirebaseConstants.FIELD_ISSUE_IMAGE_URL);
+        if (imageUrl instanceof List) {
+            post.setImageUrls(asStringList(imageUrl));
+        } else if (imageUrl instanceof String) {
+            List<String> images = new ArrayList<>(1);
+            images.add((String) imageUrl);
+            post.setImageUrls(images);
+        }
+
+        Object placeholders = data.get(FirebaseConstants.FIELD_ISSUE_IMAGE_PLACEHOLDERS);
+        if (placeholders instanceof List) {
+            post.setImagePlaceholders(asStringList(placeholders));
+        }
+
+        post.setReporterId(asString(data.get(FirebaseConstants.FIELD_ISSUE_REPORTER_ID)));
+
+        Object timestamp = data.get(FirebaseConstants.FIELD_ISSUE_TIMESTAMP);
+        if (timestamp instanceof Number) {
+            post.setTimestamp(((Number) timestamp).longValue());
+        }
+
+        Object upvotes = data.get(FirebaseConstants.FIELD_ISSUE_UPVOTES);
+        if (upvotes instanceof Number) {
+            post.setUpvotes(((Number) upvotes).intValue());
+        }
+
+        Object likedBy = data.get(FirebaseConstants.FIELD_ISSUE_LIKED_BY);
+        if (likedBy instanceof List) {
+            post.setLikedBy(asStringList(likedBy));
+        }
+        Object dislikedBy = data.get(FirebaseConstants.FIELD_ISSUE_DISLIKED_BY);
+        if (dislikedBy instanceof List) {
+            post.setDislikedBy(asStringList(dislikedBy));
+        }
+
+        return post;
+    }
+
+    private static String asString(Object value) {
+        return value instanceof String ? (String) value : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> asStringList(Object value) {
+        return (List<String>) value;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.fixmyarea.firebase;
+
+import com.example.fixmyarea.models.IssueRollup;
+import com.example.fixmyarea.utils.LogHistogram;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps stats_daily / stats_weekly documents to {@link IssueRollup}
+ */
+public final class RollupMapper {
+
+    private RollupMapper() {
+    }
+
+    public static IssueRollup fromSnapshot(DocumentSnapshot document) {
+        IssueRollup rollup = new IssueRollup();
+        rollup.setPeriodStart(asLong(document.get(FirebaseConstants.FIELD_ROLLUP_PERIOD_START)));
+        rollup.setCreated(asLong(document.get(FirebaseConstants.FIELD_ROLLUP_CREATED)));
+        rollup.setResolved(asLong(document.get(FirebaseConstants.FIELD_ROLLUP_RESOLVED)));
+        rollup.setRejected(asLong(document.get(FirebaseConstants.FIELD_ROLLUP_REJECTED)));
+        rollup.setCreatedByCategory(asCounts(document.get(FirebaseConstants.FIELD_ROLLUP_CREATED_BY_CATEGORY)));
+        rollup.setCreatedByArea(asCounts(document.get(FirebaseConstants.FIELD_ROLLUP_CREATED_BY_AREA)));
+        rollup.setTimeToApproveByCategory(asHistograms(document.get(FirebaseConstants.FIELD_ROLLUP_TIME_TO_APPROVE)));
+        rollup.setTimeToResolveByCategory(asHistograms(document.get(FirebaseConstants.FIELD_ROLLUP_TIME_TO_RESOLVE)));
+        return rollup;
+    }
+
+    private static long asLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    private static Map<String, Long> asCounts(Object value) {
+        Map<String, Long> counts = new HashMap<>();
+        if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                counts.put(String.valueOf(entry.getKey()), asLong(entry.getValue()));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Category to histogram, from category to {bucket index: count} maps
+     */
+    private static Map<String, LogHistogram> asHistograms(Object value) {
+        Map<String, LogHistogram> histograms = new HashMap<>();
+        if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                Map<Integer, Long> buckets = new HashMap<>();
+                for (Map.Entry<String, Long> bucket : asCounts(entry.getValue()).entrySet()) {
+                    try {
+                        buckets.put(Integer.parseInt(bucket.getKey()), bucket.getValue());
+                    } catch (NumberFormatException ignored) {
+                        // Not a bucket written by functions/resolutionTimes.js
+                    }
+                }
+                histograms.put(String.valueOf(entry.getKey()), LogHistogram.fromSparse(buckets));
+            }
+        }
+        return histograms;
+    }
+}
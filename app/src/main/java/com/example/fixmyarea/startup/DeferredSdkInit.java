@@ -0,0 +1,95 @@
+package com.example.fixmyarea.startup;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.fixmyarea.ui.MainActivity;
+import com.google.firebase.analytics.FirebaseAnalytics;
+import com.google.firebase.messaging.FirebaseMessaging;
+
+/**
+ * Starts SDKs that are not needed for the first screen once it has drawn
+ * Analytics collection and FCM auto-init are switched off in the manifest; here
+ * collection is enabled and FCM registers, so their setup does not compete with
+ * the first frame.
+ */
+public final class DeferredSdkInit {
+
+    private static final String TAG = "DeferredSdkInit";
+
+    private DeferredSdkInit() {
+    }
+
+    /**
+     * Run deferred initialization after the first activity draws its first frame
+     */
+    public static void scheduleAfterFirstFrame(Application application) {
+        application.registerActivityLifecycleCallbacks(new Application.ActivityLifecycleCallbacks() {
+            @Override
+            public void onActivityResumed(@NonNull Activity activity) {
+                // MainActivity only routes, and finishes after an async session read, so it
+                // is still resumed without drawing content; skip it and any finishing activity
+                if (activity instanceof MainActivity || activity.isFinishing()) {
+                    return;
+                }
+                application.unregisterActivityLifecycleCallbacks(this);
+                // Posted from the decor view it runs after the first traversal, i.e. the first frame
+                activity.getWindow().getDecorView().post(() -> {
+                    StartupTracer.markFirstFrame();
+                    new Handler(Looper.getMainLooper()).post(() -> start(application));
+                });
+            }
+
+            @Override
+            public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {
+            }
+
+            @Override
+            public void onActivityStarted(@NonNull Activity activity) {
+            }
+
+            @Override
+            public void onActivityPaused(@NonNull Activity activity) {
+            }
+
+            @Override
+            public void onActivityStopped(@NonNull Activity activity) {
+            }
+
+            @Override
+            public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+            }
+
+            @Override
+            public void onActivityDestroyed(@NonNull Activity activity) {
+            }
+        });
+    }
+
+    private static void start(Context context) {
+        new Thread(() -> {
+            StartupTracer.begin("DeferredSdkInit");
+            try {
+                // Saved by Analytics; FirebaseInitializer turns it off again on the next launch
+                FirebaseAnalytics.getInstance(context).setAnalyticsCollectionEnabled(true);
+                // Registers for FCM like auto-init would. Enabling auto-init would be saved and
+                // override the manifest on later launches; false also replaces a saved true
+                FirebaseMessaging messaging = FirebaseMessaging.getInstance();
+                messaging.setAutoInitEnabled(false);
+                messaging.getToken();
+            } catch (RuntimeException e) {
+                Log.w(TAG, "Deferred init failed", e);
+            } finally {
+                StartupTracer.end();
+            }
+        }, "deferred-sdk-init").start();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.fixmyarea.startup;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.startup.Initializer;
+
+import com.example.fixmyarea.BuildConfig;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.analytics.FirebaseAnalytics;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Initializes the default FirebaseApp
+ * Replaces Firebase's own content provider so startup order is explicit.
+ * Analytics collection is switched off here for DeferredSdkInit to switch on again.
+ * Benchmark builds are pointed at the local Firebase emulator here, before any
+ * other code touches Auth or Firestore.
+ */
+public class FirebaseInitializer implements Initializer<FirebaseApp> {
+
+    private static final int AUTH_EMULATOR_PORT = 9099;
+    private static final int FIRESTORE_EMULATOR_PORT = 8080;
+
+    @NonNull
+    @Override
+    public FirebaseApp create(@NonNull Context context) {
+        StartupTracer.begin("FirebaseInit");
+        try {
+            // DeferredSdkInit enables collection after the first frame, and Analytics saves that
+            // over the manifest flag; switch it off again before FirebaseApp starts the SDK so
+            // every launch defers it, not just the first
+            FirebaseAnalytics.getInstance(context).setAnalyticsCollectionEnabled(false);
+            FirebaseApp app = FirebaseApp.initializeApp(context);
+            if (BuildConfig.USE_FIREBASE_EMULATOR) {
+                FirebaseAuth.getInstance().useEmulator(BuildConfig.FIREBASE_EMULATOR_HOST, AUTH_EMULATOR_PORT);
+                FirebaseFirestore.getInstance().useEmulator(BuildConfig.FIREBASE_EMULATOR_HOST,
+                        FIRESTORE_EMULATOR_PORT);
+            }
+            return app;
+        } finally {
+            StartupTracer.end();
+        }
+    }
+
+    @NonNull
+    @Override
+    public List<Class<? extends Initializer<?>>> dependencies() {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.fixmyarea.startup;
+
+import android.app.Activity;
+import android.os.Process;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
+
+/**
+ * Named trace sections and timing marks for app startup
+ * Sections show up in Perfetto/systrace captures; the marks are also logged so
+ * time to first frame and time to full display can be read from logcat.
+ */
+public final class StartupTracer {
+
+    private static final String TAG = "StartupTracer";
+    private static final String PREFIX = "FixMyArea.";
+
+    private static volatile boolean firstFrameReported;
+    private static volatile boolean fullyDrawnReported;
+
+    private StartupTracer() {
+    }
+
+    /**
+     * Begin a trace section; must be ended on the same thread
+     */
+    public static void begin(String section) {
+        Trace.beginSection(PREFIX + section);
+    }
+
+    public static void end() {
+        Trace.endSection();
+    }
+
+    /**
+     * Log the first frame after process start
+     */
+    public static void markFirstFrame() {
+        if (firstFrameReported) {
+            return;
+        }
+        firstFrameReported = true;
+        Log.i(TAG, "First frame after " + sinceProcessStart() + " ms");
+    }
+
+    /**
+     * Report that the first screen shows real content
+     * Only the first call per process counts, later screens are not cold starts.
+     */
+    public static void reportFullyDrawn(Activity activity) {
+        if (fullyDrawnReported) {
+            return;
+        }
+        fullyDrawnReported = true;
+        activity.reportFullyDrawn();
+        Log.i(TAG, "Fully drawn after " + sinceProcessStart() + " ms");
+    }
+
+    private static long sinceProcessStart() {
+        return SystemClock.elapsedRealtime() - Process.getStartElapsedRealtime();
+    }
+}
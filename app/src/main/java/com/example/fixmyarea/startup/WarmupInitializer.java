@@ -0,0 +1,61 @@
+package com.example.fixmyarea.startup;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.startup.Initializer;
+
+import com.example.fixmyarea.utils.RoleManager;
+import com.example.fixmyarea.utils.SessionManager;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Warms up Auth, Firestore, the session store and the cached role off the main thread
+ * By the time MainActivity routes, the persisted user and session are usually
+ * already loaded and Firestore's local cache is open.
+ */
+public class WarmupInitializer implements Initializer<Void> {
+
+    private static final String TAG = "WarmupInitializer";
+
+    @Override
+    public Void create(@NonNull Context context) {
+        Context appContext = context.getApplicationContext();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        executor.execute(() -> warm("WarmAuth", () -> FirebaseAuth.getInstance().getCurrentUser()));
+        executor.execute(() -> warm("WarmFirestore", FirebaseFirestore::getInstance));
+        executor.execute(() -> {
+            warm("WarmSession", () -> SessionManager.getInstance(appContext));
+            warm("WarmRole", () -> RoleManager.getInstance(appContext));
+        });
+
+        // Threads exit once the tasks are done
+        executor.shutdown();
+        return null;
+    }
+
+    private static void warm(String section, Runnable task) {
+        StartupTracer.begin(section);
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            Log.w(TAG, section + " failed", e);
+        } finally {
+            StartupTracer.end();
+        }
+    }
+
+    @NonNull
+    @Override
+    public List<Class<? extends Initializer<?>>> dependencies() {
+        return Collections.singletonList(FirebaseInitializer.class);
+    }
+}
@@ -1,14 +1,23 @@
 package com.example.fixmyarea.ui;
 
+import android.Manifest;
 import android.content.Intent;
+import android.content.pm.PackageManager;
 import android.net.Uri;
+import android.os.Build;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
 import android.text.TextUtils;
+import android.text.TextWatcher;
 import android.util.Log;
+import android.view.LayoutInflater;
 import android.view.View;
 import android.widget.ArrayAdapter;
 import android.widget.AutoCompleteTextView;
 import android.widget.ImageButton;
+import android.widget.LinearLayout;
 import android.widget.ProgressBar;
 import android.widget.RadioGroup;
 import android.widget.TextView;
@@ -16,16 +25,22 @@ import android.widget.Toast;
 
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
+import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.fixmyarea.R;
 import com.example.fixmyarea.firebase.FirebaseConstants;
 import com.example.fixmyarea.firebase.FirebaseManager;
+import com.example.fixmyarea.models.Post;
 import com.example.fixmyarea.utils.BottomNavHelper;
 import com.example.fixmyarea.utils.CloudinaryUploader;
+import com.example.fixmyarea.utils.DuplicateDetector;
+import com.example.fixmyarea.utils.PostStore;
+import com.example.fixmyarea.work.ReportUploadQueue;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.TextInputEditText;
@@ -33,10 +48,11 @@ import com.google.android.material.textfield.TextInputLayout;
 import com.google.firebase.auth.FirebaseUser;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Activity for creating a new issue post
@@ -46,6 +62,10 @@ public class CreatePostActivity extends AppCompatActivity {
     private static final String TAG = "CreatePostActivity";
     private static final int MAX_IMAGES = 5;
     private static final int LOCATION_PICKER_REQUEST = 100;
+    private static final int MAX_SIMILAR_REPORTS = 3;
+    private static final long DUPLICATE_CHECK_DELAY_MS = 400;
+    private static final String PREFS_NAME = "create_post";
+    private static final String KEY_NOTIFICATION_PERMISSION_DENIED = "notification_permission_denied";
 
     // UI Components
     private RecyclerView imagesRecyclerView;
@@ -61,6 +81,9 @@ public class CreatePostActivity extends AppCompatActivity {
     private MaterialButton pickLocationButton;
     private TextView selectedLocationText;
 
+    private View similarReportsCard;
+    private LinearLayout similarReportsContainer;
+
     private android.widget.Button submitButton;
     private ProgressBar progressBar;
 
@@ -74,12 +97,26 @@ public class CreatePostActivity extends AppCompatActivity {
     // Image Picker
     private ActivityResultLauncher<String> imagePickerLauncher;
 
+    // Notification permission, asked for on the first submit
+    private ActivityResultLauncher<String> notificationPermissionLauncher;
+    private Runnable afterNotificationPermission;
+
     // Location data
     private boolean isManualLocationMode = true;
     private double selectedLatitude = 0.0;
     private double selectedLongitude = 0.0;
     private String selectedAddress = "";
 
+    // Duplicate detection over the cached posts; the detector is only touched on its thread
+    private final ExecutorService duplicateExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable duplicateCheckRunnable = this::checkForDuplicates;
+    private DuplicateDetector duplicateDetector;
+    private List<DuplicateDetector.Match> similarReports = Collections.emptyList();
+    // Bumped per check so a slow older result does not replace a newer one
+    private int duplicateCheckGeneration;
+    private boolean duplicateWarningShown;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -98,6 +135,12 @@ public class CreatePostActivity extends AppCompatActivity {
         // Initialize Firebase
         firebaseManager = FirebaseManager.getInstance();
 
+        // Open the Cloudinary connection while the user fills in the form
+        CloudinaryUploader.preconnect();
+
+        // Asked for on the first submit, see submitPost
+        setupNotificationPermission();
+
         // Initialize views
         initializeViews();
 
@@ -112,6 +155,38 @@ public class CreatePostActivity extends AppCompatActivity {
 
         // Setup listeners
         setupListeners();
+
+        // Index the cached posts for duplicate suggestions
+        buildDuplicateDetector();
+    }
+
+    private void setupNotificationPermission() {
+        notificationPermissionLauncher = registerForActivityResult(
+                new ActivityResultContracts.RequestPermission(), granted -> {
+                    if (!granted) {
+                        getSharedPreferences(PREFS_NAME, MODE_PRIVATE).edit()
+                                .putBoolean(KEY_NOTIFICATION_PERMISSION_DENIED, true)
+                                .apply();
+                    }
+                    // The report is queued either way; without the permission it uploads silently
+                    Runnable next = afterNotificationPermission;
+                    afterNotificationPermission = null;
+                    if (next != null) {
+                        next.run();
+                    }
+                });
+    }
+
+    /**
+     * Upload progress is shown as a notification, so ask before the first report is
+     * queued, but not again once the user has said no
+     */
+    private boolean shouldRequestNotificationPermission() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU
+                && ContextCompat.checkSelfPermission(this, Manifest.permission.POST_NOTIFICATIONS)
+                        != PackageManager.PERMISSION_GRANTED
+                && !getSharedPreferences(PREFS_NAME, MODE_PRIVATE)
+                        .getBoolean(KEY_NOTIFICATION_PERMISSION_DENIED, false);
     }
 
     private void initializeViews() {
@@ -128,6 +203,9 @@ public class CreatePostActivity extends AppCompatActivity {
         pickLocationButton = findViewById(R.id.pickLocationButton);
         selectedLocationText = findViewById(R.id.selectedLocationText);
 
+        similarReportsCard = findViewById(R.id.similarReportsCard);
+        similarReportsContainer = findViewById(R.id.similarReportsContainer);
+
         submitButton = findViewById(R.id.submitButton);
         progressBar = findViewById(R.id.progressBar);
     }
@@ -215,6 +293,106 @@ public class CreatePostActivity extends AppCompatActivity {
         });
 
         submitButton.setOnClickListener(v -> validateAndSubmit());
+
+        // Look for similar reports as the user types
+        TextWatcher duplicateWatcher = new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                scheduleDuplicateCheck();
+            }
+        };
+        titleInput.addTextChangedListener(duplicateWatcher);
+        descriptionInput.addTextChangedListener(duplicateWatcher);
+    }
+
+    private void buildDuplicateDetector() {
+        List<Post> posts = new ArrayList<>();
+        for (Post post : PostStore.getInstance().snapshot()) {
+            if (!FirebaseConstants.STATUS_REJECTED.equals(post.getStatus())) {
+                posts.add(post);
+            }
+        }
+        duplicateExecutor.execute(() -> {
+            DuplicateDetector detector = new DuplicateDetector();
+            detector.addAll(posts);
+            duplicateDetector = detector;
+        });
+    }
+
+    private void scheduleDuplicateCheck() {
+        mainHandler.removeCallbacks(duplicateCheckRunnable);
+        mainHandler.postDelayed(duplicateCheckRunnable, DUPLICATE_CHECK_DELAY_MS);
+    }
+
+    private void checkForDuplicates() {
+        String title = titleInput.getText() != null ? titleInput.getText().toString() : "";
+        String description = descriptionInput.getText() != null ? descriptionInput.getText().toString() : "";
+        // An unpicked location is 0, 0; the detector treats that as no location
+        Double queryLatitude = isManualLocationMode ? null : selectedLatitude;
+        Double queryLongitude = isManualLocationMode ? null : selectedLongitude;
+
+        int generation = ++duplicateCheckGeneration;
+        // Runs after the detector is built, since the executor has a single thread
+        duplicateExecutor.execute(() -> {
+            List<DuplicateDetector.Match> matches = duplicateDetector.findDuplicates(
+                    title, description, queryLatitude, queryLongitude, MAX_SIMILAR_REPORTS);
+            mainHandler.post(() -> {
+                if (!isDestroyed() && generation == duplicateCheckGeneration) {
+                    showSimilarReports(matches);
+                }
+            });
+        });
+    }
+
+    private void showSimilarReports(List<DuplicateDetector.Match> matches) {
+        similarReports = matches;
+        similarReportsContainer.removeAllViews();
+        similarReportsCard.setVisibility(matches.isEmpty() ? View.GONE : View.VISIBLE);
+
+        LayoutInflater inflater = LayoutInflater.from(this);
+        for (DuplicateDetector.Match match : matches) {
+            Post post = match.getPost();
+            View row = inflater.inflate(R.layout.item_similar_report, similarReportsContainer, false);
+            ((TextView) row.findViewById(R.id.similarTitle)).setText(post.getTitle());
+            ((TextView) row.findViewById(R.id.similarDetails)).setText(formatMatchDetails(match));
+            row.setOnClickListener(v -> {
+                Intent intent = new Intent(this, PostDetailActivity.class);
+                intent.putExtra(PostDetailActivity.EXTRA_POST_ID, post.getPostId());
+                startActivity(intent);
+            });
+            similarReportsContainer.addView(row);
+        }
+    }
+
+    private String formatMatchDetails(DuplicateDetector.Match match) {
+        StringBuilder details = new StringBuilder(formatStatusLabel(match.getPost().getStatus()));
+        if (!Double.isNaN(match.getDistanceMeters())) {
+            details.append(" · ").append(Math.round(match.getDistanceMeters())).append(" m away");
+        }
+        details.append(" · ").append(String.format(Locale.getDefault(), "%d%% similar",
+                Math.round(match.getSimilarity() * 100)));
+        return details.toString();
+    }
+
+    private String formatStatusLabel(String status) {
+        if (FirebaseConstants.STATUS_APPROVED.equals(status)) {
+            return "Approved";
+        }
+        if (FirebaseConstants.STATUS_RESOLVED.equals(status)) {
+            return "Resolved";
+        }
+        if (FirebaseConstants.STATUS_IN_PROGRESS.equals(status)) {
+            return "In Progress";
+        }
+        return "Pending";
     }
 
     private void updateAddImageButton() {
@@ -238,6 +416,7 @@ public class CreatePostActivity extends AppCompatActivity {
             selectedLatitude = 0.0;
             selectedLongitude = 0.0;
             selectedAddress = "";
+            scheduleDuplicateCheck();
         } else {
             // Show map button, hide manual input
             locationInputLayout.setVisibility(View.GONE);
@@ -304,12 +483,33 @@ public class CreatePostActivity extends AppCompatActivity {
             location = selectedAddress;
         }
 
-        // All validation passed, submit the post
+        // All validation passed; point out likely duplicates once before submitting
+        String finalLocation = location;
+        if (!similarReports.isEmpty() && !duplicateWarningShown) {
+            duplicateWarningShown = true;
+            new AlertDialog.Builder(this)
+                    .setTitle("Already reported?")
+                    .setMessage("We found " + similarReports.size() + " existing report"
+                            + (similarReports.size() == 1 ? "" : "s")
+                            + " that look the same. Check them above the Submit button so the issue"
+                            + " isn't reported twice.")
+                    .setPositiveButton("Submit Anyway", (dialog, which) ->
+                            submitPost(title, description, category, finalLocation))
+                    .setNegativeButton("Review", null)
+                    .show();
+            return;
+        }
         submitPost(title, description, category, location);
     }
 
     private void submitPost(String title, String description, String category, String location) {
-        // Show loading
+        if (shouldRequestNotificationPermission()) {
+            afterNotificationPermission = () -> submitPost(title, description, category, location);
+            notificationPermissionLauncher.launch(Manifest.permission.POST_NOTIFICATIONS);
+            return;
+        }
+
+        // Show loading while the images are prepared
         setLoading(true);
 
         // Get current user
@@ -322,94 +522,33 @@ public class CreatePostActivity extends AppCompatActivity {
 
         String userId = currentUser.getUid();
 
-        // Upload images first
-        uploadImages(imageUrls -> {
-            if (imageUrls == null || imageUrls.isEmpty()) {
-                setLoading(false);
-                Toast.makeText(this, "Failed to upload images", Toast.LENGTH_SHORT).show();
-                return;
-            }
-
-            // Create post data
-            Map<String, Object> postData = new HashMap<>();
-            postData.put(FirebaseConstants.FIELD_ISSUE_TITLE, title);
-            postData.put(FirebaseConstants.FIELD_ISSUE_DESCRIPTION, description);
-            postData.put(FirebaseConstants.FIELD_ISSUE_CATEGORY, category.toLowerCase());
-            postData.put(FirebaseConstants.FIELD_ISSUE_LOCATION, location);
-
-            // Add coordinates if using automated mode
-            if (!isManualLocationMode && selectedLatitude != 0.0 && selectedLongitude != 0.0) {
-                postData.put(FirebaseConstants.FIELD_ISSUE_LATITUDE, selectedLatitude);
-                postData.put(FirebaseConstants.FIELD_ISSUE_LONGITUDE, selectedLongitude);
-            }
-
-            postData.put(FirebaseConstants.FIELD_ISSUE_IMAGE_URL, imageUrls); // Store as array
-            postData.put(FirebaseConstants.FIELD_ISSUE_REPORTER_ID, userId);
-            postData.put(FirebaseConstants.FIELD_ISSUE_STATUS, FirebaseConstants.STATUS_PENDING);
-            postData.put(FirebaseConstants.FIELD_ISSUE_TIMESTAMP, System.currentTimeMillis());
-            postData.put(FirebaseConstants.FIELD_ISSUE_UPVOTES, 0);
+        // Add coordinates if using automated mode
+        Double latitude = null;
+        Double longitude = null;
+        if (!isManualLocationMode && selectedLatitude != 0.0 && selectedLongitude != 0.0) {
+            latitude = selectedLatitude;
+            longitude = selectedLongitude;
+        }
 
-            // Save to Firestore
-            firebaseManager.addDocumentAutoId(FirebaseConstants.COLLECTION_ISSUES, postData)
-                    .addOnSuccessListener(documentReference -> {
-                        setLoading(false);
-                        Toast.makeText(this, "Issue reported successfully!", Toast.LENGTH_LONG).show();
-                        Log.d(TAG, "Post created with ID: " + documentReference.getId());
+        // Queue the report; uploading and saving continue in the background
+        ReportUploadQueue.enqueue(this, title, description, category.toLowerCase(), location,
+                latitude, longitude, userId, new ArrayList<>(selectedImages),
+                new ReportUploadQueue.EnqueueCallback() {
+                    @Override
+                    public void onQueued(String reportId) {
+                        Log.d(TAG, "Report queued with ID: " + reportId);
+                        Toast.makeText(CreatePostActivity.this,
+                                "Your report is being uploaded", Toast.LENGTH_LONG).show();
                         finish();
-                    })
-                    .addOnFailureListener(e -> {
-                        setLoading(false);
-                        Toast.makeText(this, "Failed to submit report: " + e.getMessage(),
-                                Toast.LENGTH_SHORT).show();
-                        Log.e(TAG, "Error creating post", e);
-                    });
-        });
-    }
-
-    private void uploadImages(ImageUploadCallback callback) {
-        List<String> imageUrls = new ArrayList<>();
-        AtomicInteger uploadCounter = new AtomicInteger(0);
-        int totalImages = selectedImages.size();
-
-        for (Uri imageUri : selectedImages) {
-            CloudinaryUploader.uploadImage(this, imageUri, "issue_images", new CloudinaryUploader.UploadCallback() {
-                @Override
-                public void onSuccess(String imageUrl) {
-                    imageUrls.add(imageUrl);
-                    int completed = uploadCounter.incrementAndGet();
-
-                    runOnUiThread(() -> {
-                        int progress = (completed * 100) / totalImages;
-                        progressBar.setProgress(progress);
-                    });
-
-                    if (completed == totalImages) {
-                        runOnUiThread(() -> callback.onComplete(imageUrls));
                     }
-                }
 
-                @Override
-                public void onFailure(String error) {
-                    Log.e(TAG, "Image upload failed: " + error);
-                    int completed = uploadCounter.incrementAndGet();
-
-                    if (completed == totalImages) {
-                        runOnUiThread(() -> {
-                            if (imageUrls.isEmpty()) {
-                                callback.onComplete(null);
-                            } else {
-                                callback.onComplete(imageUrls);
-                            }
-                        });
+                    @Override
+                    public void onFailure(String error) {
+                        setLoading(false);
+                        Toast.makeText(CreatePostActivity.this, "Failed to submit report: " + error,
+                                Toast.LENGTH_SHORT).show();
                     }
-                }
-
-                @Override
-                public void onProgress(int progress) {
-                    // Individual image progress (optional to show)
-                }
-            });
-        }
+                });
     }
 
     private void setLoading(boolean loading) {
@@ -418,8 +557,8 @@ public class CreatePostActivity extends AppCompatActivity {
         progressBar.setVisibility(loading ? View.VISIBLE : View.GONE);
 
         if (loading) {
-            progressBar.setProgress(0);
-            submitButton.setText("Uploading...");
+            progressBar.setIndeterminate(true);
+            submitButton.setText("Preparing...");
         } else {
             submitButton.setText("Submit Report");
         }
@@ -439,6 +578,7 @@ public class CreatePostActivity extends AppCompatActivity {
                 selectedLocationText.setVisibility(View.VISIBLE);
                 Toast.makeText(this, "Location selected", Toast.LENGTH_SHORT).show();
             }
+            scheduleDuplicateCheck();
         }
     }
 
@@ -448,9 +588,10 @@ public class CreatePostActivity extends AppCompatActivity {
         BottomNavHelper.syncTabState(this, bottomNavigation, R.id.nav_create);
     }
 
-    // Callback interface for image uploads
-    private interface ImageUploadCallback {
-        void onComplete(List<String> imageUrls);
+    @Override
+    protected void onDestroy() {
+        mainHandler.removeCallbacks(duplicateCheckRunnable);
+        duplicateExecutor.shutdownNow();
+        super.onDestroy();
     }
-
-}
\ No newline at end of file
+}
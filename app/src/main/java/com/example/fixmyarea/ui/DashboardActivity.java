@@ -23,9 +23,15 @@ import com.example.fixmyarea.adapters.PostAdapter;
 import com.example.fixmyarea.auth.LoginActivity;
 import com.example.fixmyarea.firebase.FirebaseConstants;
 import com.example.fixmyarea.firebase.FirebaseManager;
+import com.example.fixmyarea.firebase.PostMapper;
 import com.example.fixmyarea.models.Post;
 import com.example.fixmyarea.utils.BottomNavHelper;
+import com.example.fixmyarea.startup.StartupTracer;
+import com.example.fixmyarea.utils.CurrentUserProfileStore;
+import com.example.fixmyarea.utils.RoleManager;
 import com.example.fixmyarea.utils.SessionManager;
+import com.example.fixmyarea.utils.PostStore;
+import com.example.fixmyarea.utils.UserDirectory;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.DocumentSnapshot;
@@ -80,6 +86,10 @@ public class DashboardActivity extends AppCompatActivity {
     private void logout() {
         // Clear session from DataStore
         sessionManager.clearSession();
+        RoleManager.getInstance(this).clearCache();
+        CurrentUserProfileStore.getInstance(this).clear();
+        UserDirectory.getInstance().clear();
+        PostStore.getInstance().clear();
 
         // Sign out from Firebase
         firebaseManager.signOut();
@@ -99,21 +109,9 @@ public class DashboardActivity extends AppCompatActivity {
             @Override
             public void onPostClick(Post post) {
                 // Open post detail activity
+                PostStore.getInstance().put(post);
                 Intent intent = new Intent(DashboardActivity.this, PostDetailActivity.class);
                 intent.putExtra(PostDetailActivity.EXTRA_POST_ID, post.getPostId());
-                intent.putExtra(PostDetailActivity.EXTRA_POST_TITLE, post.getTitle());
-                intent.putExtra(PostDetailActivity.EXTRA_POST_DESCRIPTION, post.getDescription());
-                intent.putExtra(PostDetailActivity.EXTRA_POST_CATEGORY, post.getCategory());
-                intent.putExtra(PostDetailActivity.EXTRA_POST_STATUS, post.getStatus());
-                intent.putExtra(PostDetailActivity.EXTRA_POST_LOCATION, post.getLocation());
-                intent.putExtra(PostDetailActivity.EXTRA_POST_TIMESTAMP, post.getTimestamp());
-                intent.putExtra(PostDetailActivity.EXTRA_POST_UPVOTES, post.getUpvotes());
-
-                if (post.getImageUrls() != null) {
-                    intent.putStringArrayListExtra(PostDetailActivity.EXTRA_POST_IMAGE_URLS,
-                            new ArrayList<>(post.getImageUrls()));
-                }
-
                 startActivity(intent);
             }
 
@@ -151,58 +149,9 @@ public class DashboardActivity extends AppCompatActivity {
                     List<Post> posts = new ArrayList<>();
 
                     for (DocumentSnapshot document : queryDocumentSnapshots.getDocuments()) {
-                        Post post = new Post();
-                        post.setPostId(document.getId());
-                        post.setTitle(document.getString(FirebaseConstants.FIELD_ISSUE_TITLE));
-                        post.setDescription(document.getString(FirebaseConstants.FIELD_ISSUE_DESCRIPTION));
-                        post.setCategory(document.getString(FirebaseConstants.FIELD_ISSUE_CATEGORY));
-                        post.setStatus(document.getString(FirebaseConstants.FIELD_ISSUE_STATUS));
-                        post.setLocation(document.getString(FirebaseConstants.FIELD_ISSUE_LOCATION));
-
-                        // Get coordinates if available
-                        if (document.contains(FirebaseConstants.FIELD_ISSUE_LATITUDE)) {
-                            post.setLatitude(document.getDouble(FirebaseConstants.FIELD_ISSUE_LATITUDE));
-                        }
-                        if (document.contains(FirebaseConstants.FIELD_ISSUE_LONGITUDE)) {
-                            post.setLongitude(document.getDouble(FirebaseConstants.FIELD_ISSUE_LONGITUDE));
-                        }
-
-                        // Get images
-                        Object imageUrlObj = document.get(FirebaseConstants.FIELD_ISSUE_IMAGE_URL);
-                        if (imageUrlObj instanceof List) {
-                            post.setImageUrls((List<String>) imageUrlObj);
-                        } else if (imageUrlObj instanceof String) {
-                            List<String> images = new ArrayList<>();
-                            images.add((String) imageUrlObj);
-                            post.setImageUrls(images);
-                        }
-
-                        post.setReporterId(document.getString(FirebaseConstants.FIELD_ISSUE_REPORTER_ID));
-
-                        // Get timestamp
-                        Long timestamp = document.getLong(FirebaseConstants.FIELD_ISSUE_TIMESTAMP);
-                        if (timestamp != null) {
-                            post.setTimestamp(timestamp);
-                        }
-
-                        // Get upvotes and likes/dislikes
-                        Long upvotes = document.getLong(FirebaseConstants.FIELD_ISSUE_UPVOTES);
-                        if (upvotes != null) {
-                            post.setUpvotes(upvotes.intValue());
-                        }
-
-                        Object likedByObj = document.get("likedBy");
-                        if (likedByObj instanceof List) {
-                            post.setLikedBy((List<String>) likedByObj);
-                        }
-                        
-                        Object dislikedByObj = document.get("dislikedBy");
-                        if (dislikedByObj instanceof List) {
-                            post.setDislikedBy((List<String>) dislikedByObj);
-                        }
-
-                        posts.add(post);
+                        posts.add(PostMapper.fromSnapshot(document));
                     }
+                    PostStore.getInstance().putAll(posts);
 
                     // Hide loading
                     progressBar.setVisibility(View.GONE);
@@ -229,13 +178,20 @@ public class DashboardActivity extends AppCompatActivity {
                     } else {
                         emptyState.setVisibility(View.GONE);
                         postsRecyclerView.setVisibility(View.VISIBLE);
+                        UserDirectory.getInstance().fillReporters(areaPosts, () -> {
+                            if (!isDestroyed()) {
+                                postAdapter.notifyDataSetChanged();
+                            }
+                        });
                         postAdapter.setPosts(areaPosts);
                     }
 
                     Log.d(TAG, "Loaded " + areaPosts.size() + " posts");
+                    StartupTracer.reportFullyDrawn(this);
                 })
                 .addOnFailureListener(e -> {
                     progressBar.setVisibility(View.GONE);
+                    StartupTracer.reportFullyDrawn(this);
                     emptyState.setVisibility(View.VISIBLE);
                     postsRecyclerView.setVisibility(View.GONE);
 
@@ -325,6 +281,6 @@ public class DashboardActivity extends AppCompatActivity {
     }
 
     private void sendNotification(String toUserId, String postId, String message) {
-        firebaseManager.createNotification(toUserId, postId, message);
+        firebaseManager.createNotification(toUserId, postId, message, FirebaseConstants.NOTIFICATION_TYPE_REACTION);
     }
 }
@@ -21,7 +21,11 @@ import com.example.fixmyarea.R;
 import com.example.fixmyarea.adapters.PostAdapter;
 import com.example.fixmyarea.firebase.FirebaseConstants;
 import com.example.fixmyarea.firebase.FirebaseManager;
+import com.example.fixmyarea.firebase.PostMapper;
 import com.example.fixmyarea.utils.BottomNavHelper;
+import com.example.fixmyarea.utils.PostFilter;
+import com.example.fixmyarea.utils.PostStore;
+import com.example.fixmyarea.utils.UserDirectory;
 import com.example.fixmyarea.models.Post;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.firebase.auth.FirebaseUser;
@@ -29,7 +33,6 @@ import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.Query;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -110,21 +113,9 @@ public class DiscoverActivity extends AppCompatActivity {
         postAdapter = new PostAdapter(currentUserId, new PostAdapter.PostActionCallback() {
             @Override
             public void onPostClick(Post post) {
+                PostStore.getInstance().put(post);
                 Intent intent = new Intent(DiscoverActivity.this, PostDetailActivity.class);
                 intent.putExtra(PostDetailActivity.EXTRA_POST_ID, post.getPostId());
-                intent.putExtra(PostDetailActivity.EXTRA_POST_TITLE, post.getTitle());
-                intent.putExtra(PostDetailActivity.EXTRA_POST_DESCRIPTION, post.getDescription());
-                intent.putExtra(PostDetailActivity.EXTRA_POST_CATEGORY, post.getCategory());
-                intent.putExtra(PostDetailActivity.EXTRA_POST_STATUS, post.getStatus());
-                intent.putExtra(PostDetailActivity.EXTRA_POST_LOCATION, post.getLocation());
-                intent.putExtra(PostDetailActivity.EXTRA_POST_TIMESTAMP, post.getTimestamp());
-                intent.putExtra(PostDetailActivity.EXTRA_POST_UPVOTES, post.getUpvotes());
-
-                if (post.getImageUrls() != null) {
-                    intent.putStringArrayListExtra(PostDetailActivity.EXTRA_POST_IMAGE_URLS,
-                            new ArrayList<>(post.getImageUrls()));
-                }
-
                 startActivity(intent);
             }
 
@@ -160,54 +151,9 @@ public class DiscoverActivity extends AppCompatActivity {
                     List<Post> posts = new ArrayList<>();
 
                     for (DocumentSnapshot document : queryDocumentSnapshots.getDocuments()) {
-                        Post post = new Post();
-                        post.setPostId(document.getId());
-                        post.setTitle(document.getString(FirebaseConstants.FIELD_ISSUE_TITLE));
-                        post.setDescription(document.getString(FirebaseConstants.FIELD_ISSUE_DESCRIPTION));
-                        post.setCategory(document.getString(FirebaseConstants.FIELD_ISSUE_CATEGORY));
-                        post.setStatus(document.getString(FirebaseConstants.FIELD_ISSUE_STATUS));
-                        post.setLocation(document.getString(FirebaseConstants.FIELD_ISSUE_LOCATION));
-
-                        if (document.contains(FirebaseConstants.FIELD_ISSUE_LATITUDE)) {
-                            post.setLatitude(document.getDouble(FirebaseConstants.FIELD_ISSUE_LATITUDE));
-                        }
-                        if (document.contains(FirebaseConstants.FIELD_ISSUE_LONGITUDE)) {
-                            post.setLongitude(document.getDouble(FirebaseConstants.FIELD_ISSUE_LONGITUDE));
-                        }
-
-                        Object imageUrlObj = document.get(FirebaseConstants.FIELD_ISSUE_IMAGE_URL);
-                        if (imageUrlObj instanceof List) {
-                            post.setImageUrls((List<String>) imageUrlObj);
-                        } else if (imageUrlObj instanceof String) {
-                            List<String> images = new ArrayList<>();
-                            images.add((String) imageUrlObj);
-                            post.setImageUrls(images);
-                        }
-
-                        post.setReporterId(document.getString(FirebaseConstants.FIELD_ISSUE_REPORTER_ID));
-
-                        Long timestamp = document.getLong(FirebaseConstants.FIELD_ISSUE_TIMESTAMP);
-                        if (timestamp != null) {
-                            post.setTimestamp(timestamp);
-                        }
-
-                        Long upvotes = document.getLong(FirebaseConstants.FIELD_ISSUE_UPVOTES);
-                        if (upvotes != null) {
-                            post.setUpvotes(upvotes.intValue());
-                        }
-
-                        Object likedByObj = document.get("likedBy");
-                        if (likedByObj instanceof List) {
-                            post.setLikedBy((List<String>) likedByObj);
-                        }
-                        
-                        Object dislikedByObj = document.get("dislikedBy");
-                        if (dislikedByObj instanceof List) {
-                            post.setDislikedBy((List<String>) dislikedByObj);
-                        }
-
-                        posts.add(post);
+                        posts.add(PostMapper.fromSnapshot(document));
                     }
+                    PostStore.getInstance().putAll(posts);
 
                     progressBar.setVisibility(View.GONE);
                     allPosts = posts;
@@ -218,6 +164,11 @@ public class DiscoverActivity extends AppCompatActivity {
                     } else {
                         emptyState.setVisibility(View.GONE);
                         postsRecyclerView.setVisibility(View.VISIBLE);
+                        UserDirectory.getInstance().fillReporters(posts, () -> {
+                            if (!isDestroyed()) {
+                                postAdapter.notifyDataSetChanged();
+                            }
+                        });
                         applyFilterAndSort();
                     }
 
@@ -237,36 +188,9 @@ public class DiscoverActivity extends AppCompatActivity {
         if (allPosts == null) return;
 
         String query = searchView.getQuery() != null ? searchView.getQuery().toString().toLowerCase() : "";
-        String sortOption = sortSpinner.getSelectedItem() != null ? sortSpinner.getSelectedItem().toString() : "Newest";
-
-        List<Post> filtered = new ArrayList<>();
-        for (Post post : allPosts) {
-            boolean matchesSearch = false;
-            if (post.getTitle() != null && post.getTitle().toLowerCase().contains(query)) matchesSearch = true;
-            if (post.getDescription() != null && post.getDescription().toLowerCase().contains(query)) matchesSearch = true;
-            if (post.getCategory() != null && post.getCategory().toLowerCase().contains(query)) matchesSearch = true;
-            
-            if (matchesSearch) {
-                filtered.add(post);
-            }
-        }
-
-        Collections.sort(filtered, (p1, p2) -> {
-            if ("Oldest".equals(sortOption)) {
-                return Long.compare(p1.getTimestamp(), p2.getTimestamp());
-            } else if ("Most Liked".equals(sortOption)) {
-                int likes1 = p1.getLikedBy() != null ? p1.getLikedBy().size() : 0;
-                int likes2 = p2.getLikedBy() != null ? p2.getLikedBy().size() : 0;
-                return Integer.compare(likes2, likes1);
-            } else if ("Category".equals(sortOption)) {
-                String cat1 = p1.getCategory() != null ? p1.getCategory() : "";
-                String cat2 = p2.getCategory() != null ? p2.getCategory() : "";
-                return cat1.compareToIgnoreCase(cat2);
-            } else { // "Newest"
-                return Long.compare(p2.getTimestamp(), p1.getTimestamp());
-            }
-        });
+        String sortOption = sortSpinner.getSelectedItem() != null ? sortSpinner.getSelectedItem().toString() : PostFilter.SORT_NEWEST;
 
+        List<Post> filtered = PostFilter.filterAndSort(allPosts, query, sortOption);
         postAdapter.setPosts(filtered);
     }
 
@@ -344,7 +268,7 @@ public class DiscoverActivity extends AppCompatActivity {
     }
 
     private void sendNotification(String toUserId, String postId, String message) {
-        firebaseManager.createNotification(toUserId, postId, message);
+        firebaseManager.createNotification(toUserId, postId, message, FirebaseConstants.NOTIFICATION_TYPE_REACTION);
     }
 
     @Override
@@ -4,18 +4,17 @@ import android.os.Bundle;
 import android.view.View;
 import android.widget.ImageButton;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.viewpager2.widget.ViewPager2;
 
 import com.example.fixmyarea.R;
 import com.example.fixmyarea.adapters.PostImageAdapter;
-import com.example.fixmyarea.firebase.FirebaseConstants;
-import com.example.fixmyarea.firebase.FirebaseManager;
 import com.example.fixmyarea.models.Post;
+import com.example.fixmyarea.utils.PostStore;
 import com.google.android.material.chip.Chip;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -24,15 +23,8 @@ import java.util.List;
 public class PostDetailActivity extends AppCompatActivity {
 
     private static final String TAG = "PostDetailActivity";
+    // The post itself is read from PostStore; only its id travels in the Intent
     public static final String EXTRA_POST_ID = "post_id";
-    public static final String EXTRA_POST_TITLE = "post_title";
-    public static final String EXTRA_POST_DESCRIPTION = "post_description";
-    public static final String EXTRA_POST_CATEGORY = "post_category";
-    public static final String EXTRA_POST_STATUS = "post_status";
-    public static final String EXTRA_POST_LOCATION = "post_location";
-    public static final String EXTRA_POST_TIMESTAMP = "post_timestamp";
-    public static final String EXTRA_POST_UPVOTES = "post_upvotes";
-    public static final String EXTRA_POST_IMAGE_URLS = "post_image_urls";
 
     // UI Components
     private ImageButton backButton;
@@ -49,20 +41,17 @@ public class PostDetailActivity extends AppCompatActivity {
 
     private PostImageAdapter imageAdapter;
     private Post post;
-    private FirebaseManager firebaseManager;
+    private List<String> shownImageUrls;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_post_detail);
 
-        // Initialize Firebase
-        firebaseManager = FirebaseManager.getInstance();
-
         // Initialize views
         initializeViews();
 
-        // Load post data from intent or Firestore
+        // Render from the post cache, then follow live updates
         loadPostData();
 
         // Setup listeners
@@ -94,117 +83,45 @@ public class PostDetailActivity extends AppCompatActivity {
                 startActivity(intent);
             }
         });
+
+        imagesViewPager.registerOnPageChangeCallback(new ViewPager2.OnPageChangeCallback() {
+            @Override
+            public void onPageSelected(int position) {
+                if (post != null) {
+                    updateImageIndicator(position);
+                }
+            }
+        });
     }
 
     private void loadPostData() {
-        // Load from Firestore when callers only pass an issue id.
         String postId = getIntent().getStringExtra(EXTRA_POST_ID);
         if (postId == null || postId.isEmpty()) {
-            postId = getIntent().getStringExtra("postId");
-        }
-        if (postId != null && !getIntent().hasExtra(EXTRA_POST_TITLE)) {
-            loadPostFromFirestore(postId);
+            finish();
             return;
         }
 
-        // Create post object from intent extras (legacy method)
-        post = new Post();
-        post.setPostId(getIntent().getStringExtra(EXTRA_POST_ID));
-        post.setTitle(getIntent().getStringExtra(EXTRA_POST_TITLE));
-        post.setDescription(getIntent().getStringExtra(EXTRA_POST_DESCRIPTION));
-        post.setCategory(getIntent().getStringExtra(EXTRA_POST_CATEGORY));
-        post.setStatus(getIntent().getStringExtra(EXTRA_POST_STATUS));
-        post.setLocation(getIntent().getStringExtra(EXTRA_POST_LOCATION));
-        post.setTimestamp(getIntent().getLongExtra(EXTRA_POST_TIMESTAMP, 0));
-        post.setUpvotes(getIntent().getIntExtra(EXTRA_POST_UPVOTES, 0));
-
-        // Get image URLs
-        if (getIntent().hasExtra(EXTRA_POST_IMAGE_URLS)) {
-            post.setImageUrls(getIntent().getStringArrayListExtra(EXTRA_POST_IMAGE_URLS));
+        PostStore postStore = PostStore.getInstance();
+        post = postStore.get(postId);
+        if (post != null) {
+            displayPost();
         }
 
-        // Display post data immediately (likes/dislikes might be 0)
-        displayPost();
-
-        // Fetch likes/dislikes from Firestore asynchronously
-        if (post.getPostId() != null) {
-            firebaseManager.getDocument("issues", post.getPostId())
-                    .addOnSuccessListener(documentSnapshot -> {
-                        if (documentSnapshot.exists()) {
-                            boolean changed = false;
-                            Object likedByObj = documentSnapshot.get("likedBy");
-                            if (likedByObj instanceof List) {
-                                post.setLikedBy((List<String>) likedByObj);
-                                changed = true;
-                            }
-                            Object dislikedByObj = documentSnapshot.get("dislikedBy");
-                            if (dislikedByObj instanceof List) {
-                                post.setDislikedBy((List<String>) dislikedByObj);
-                                changed = true;
-                            }
-                            if (changed) {
-                                displayPost();
-                            }
-                        }
-                    });
-        }
-    }
+        postStore.observe(this, postId, new PostStore.PostListener() {
+            @Override
+            public void onPostChanged(Post updated) {
+                post = updated;
+                displayPost();
+            }
 
-    private void loadPostFromFirestore(String postId) {
-        firebaseManager.getDocument("issues", postId)
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        post = new Post();
-                        post.setPostId(documentSnapshot.getId());
-                        post.setTitle(documentSnapshot.getString(FirebaseConstants.FIELD_ISSUE_TITLE));
-                        post.setDescription(documentSnapshot.getString(FirebaseConstants.FIELD_ISSUE_DESCRIPTION));
-                        post.setCategory(documentSnapshot.getString(FirebaseConstants.FIELD_ISSUE_CATEGORY));
-                        post.setStatus(documentSnapshot.getString(FirebaseConstants.FIELD_ISSUE_STATUS));
-                        post.setLocation(documentSnapshot.getString(FirebaseConstants.FIELD_ISSUE_LOCATION));
-
-                        // Get coordinates if available
-                        if (documentSnapshot.contains(FirebaseConstants.FIELD_ISSUE_LATITUDE)) {
-                            post.setLatitude(documentSnapshot.getDouble(FirebaseConstants.FIELD_ISSUE_LATITUDE));
-                        }
-                        if (documentSnapshot.contains(FirebaseConstants.FIELD_ISSUE_LONGITUDE)) {
-                            post.setLongitude(documentSnapshot.getDouble(FirebaseConstants.FIELD_ISSUE_LONGITUDE));
-                        }
-
-                        // Get images - this is the key fix
-                        Object imageUrlObj = documentSnapshot.get(FirebaseConstants.FIELD_ISSUE_IMAGE_URL);
-                        if (imageUrlObj instanceof List) {
-                            post.setImageUrls((List<String>) imageUrlObj);
-                        } else if (imageUrlObj instanceof String) {
-                            List<String> images = new ArrayList<>();
-                            images.add((String) imageUrlObj);
-                            post.setImageUrls(images);
-                        }
-
-                        post.setReporterId(documentSnapshot.getString(FirebaseConstants.FIELD_ISSUE_REPORTER_ID));
-
-                        // Get timestamp
-                        Long timestamp = documentSnapshot.getLong(FirebaseConstants.FIELD_ISSUE_TIMESTAMP);
-                        if (timestamp != null) {
-                            post.setTimestamp(timestamp);
-                        }
-
-                        // Get likes/dislikes
-                        Object likedByObj = documentSnapshot.get("likedBy");
-                        if (likedByObj instanceof List) {
-                            post.setLikedBy((List<String>) likedByObj);
-                        }
-                        Object dislikedByObj = documentSnapshot.get("dislikedBy");
-                        if (dislikedByObj instanceof List) {
-                            post.setDislikedBy((List<String>) dislikedByObj);
-                        }
-
-                        displayPost();
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    // Handle error - maybe show a toast
-                    finish();
-                });
+            @Override
+            public void onPostUnavailable() {
+                if (isFinishing()) return;
+                Toast.makeText(PostDetailActivity.this, "This report is no longer available",
+                        Toast.LENGTH_SHORT).show();
+                finish();
+            }
+        });
     }
 
     private void displayPost() {
@@ -241,22 +158,19 @@ public class PostDetailActivity extends AppCompatActivity {
         if (tvLikeCountDetail != null) tvLikeCountDetail.setText(String.valueOf(likes));
         if (tvDislikeCountDetail != null) tvDislikeCountDetail.setText(String.valueOf(dislikes));
 
-        // Setup images
-        if (post.getImageUrls() != null && !post.getImageUrls().isEmpty()) {
-            imageAdapter.setImageUrls(post.getImageUrls());
+        // Setup images; vote and status updates leave them alone
+        List<String> imageUrls = post.getImageUrls();
+        if (imageUrls != null && !imageUrls.isEmpty() && !imageUrls.equals(shownImageUrls)) {
+            shownImageUrls = imageUrls;
+            imageAdapter.setImagePlaceholders(post.getImagePlaceholders());
+            imageAdapter.setImageUrls(imageUrls);
 
             // Show indicator if multiple images
-            if (post.getImageUrls().size() > 1) {
+            if (imageUrls.size() > 1) {
                 imageIndicator.setVisibility(View.VISIBLE);
-                updateImageIndicator(0);
-
-                // Update indicator on page change
-                imagesViewPager.registerOnPageChangeCallback(new ViewPager2.OnPageChangeCallback() {
-                    @Override
-                    public void onPageSelected(int position) {
-                        updateImageIndicator(position);
-                    }
-                });
+                updateImageIndicator(imagesViewPager.getCurrentItem());
+            } else {
+                imageIndicator.setVisibility(View.GONE);
             }
         }
     }
@@ -21,6 +21,11 @@ import com.example.fixmyarea.R;
 import com.example.fixmyarea.firebase.FirebaseConstants;
 import com.example.fixmyarea.firebase.FirebaseManager;
 import com.example.fixmyarea.utils.BottomNavHelper;
+import com.example.fixmyarea.utils.CurrentUserProfileStore;
+import com.example.fixmyarea.utils.PostStore;
+import com.example.fixmyarea.utils.RoleManager;
+import com.example.fixmyarea.utils.SearchKeys;
+import com.example.fixmyarea.utils.UserDirectory;
 import com.github.dhaval2404.imagepicker.ImagePicker;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.firebase.auth.FirebaseUser;
@@ -246,6 +251,7 @@ public class ProfileActivity extends AppCompatActivity {
         // Create update map
         Map<String, Object> updates = new HashMap<>();
         updates.put(FirebaseConstants.FIELD_USER_NAME, name);
+        updates.put(FirebaseConstants.FIELD_USER_NAME_LOWER, SearchKeys.normalizeName(name));
         updates.put(FirebaseConstants.FIELD_USER_PHONE, phone);
         updates.put(FirebaseConstants.FIELD_USER_ADDRESS, address);
         updates.put(FirebaseConstants.FIELD_USER_NID, nid);
@@ -340,6 +346,10 @@ public class ProfileActivity extends AppCompatActivity {
     private void logout() {
         // Clear session from DataStore
         sessionManager.clearSession();
+        RoleManager.getInstance(this).clearCache();
+        CurrentUserProfileStore.getInstance(this).clear();
+        UserDirectory.getInstance().clear();
+        PostStore.getInstance().clear();
 
         // Sign out from Firebase
         firebaseManager.signOut();
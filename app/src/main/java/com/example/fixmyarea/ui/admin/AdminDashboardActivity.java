@@ -14,8 +14,12 @@ import androidx.cardview.widget.CardView;
 import com.example.fixmyarea.R;
 import com.example.fixmyarea.auth.LoginActivity;
 import com.example.fixmyarea.firebase.FirebaseManager;
+import com.example.fixmyarea.startup.StartupTracer;
+import com.example.fixmyarea.utils.CurrentUserProfileStore;
+import com.example.fixmyarea.utils.PostStore;
 import com.example.fixmyarea.utils.RoleManager;
 import com.example.fixmyarea.utils.SessionManager;
+import com.example.fixmyarea.utils.UserDirectory;
 
 import java.util.Map;
 
@@ -29,6 +33,7 @@ public class AdminDashboardActivity extends AppCompatActivity {
     private CardView manageUsersCard;
     private CardView manageIssuesCard;
     private CardView analyticsCard;
+    private CardView issueMapCard;
     private CardView logoutCard;
     private ProgressBar progressBar;
 
@@ -44,7 +49,7 @@ public class AdminDashboardActivity extends AppCompatActivity {
         // Initialize managers
         firebaseManager = FirebaseManager.getInstance();
         sessionManager = SessionManager.getInstance(this);
-        roleManager = RoleManager.getInstance();
+        roleManager = RoleManager.getInstance(this);
 
         // Verify admin access
         verifyAdminAccess();
@@ -65,14 +70,16 @@ public class AdminDashboardActivity extends AppCompatActivity {
         manageUsersCard = findViewById(R.id.manageUsersCard);
         manageIssuesCard = findViewById(R.id.manageIssuesCard);
         analyticsCard = findViewById(R.id.analyticsCard);
+        issueMapCard = findViewById(R.id.issueMapCard);
         logoutCard = findViewById(R.id.logoutCard);
         progressBar = findViewById(R.id.progressBar);
 
         // Set welcome message
-        String email = sessionManager.getUserEmail();
-        if (email != null) {
-            welcomeText.setText("Welcome, Admin");
-        }
+        sessionManager.getSession(session -> {
+            if (session.getEmail() != null) {
+                welcomeText.setText("Welcome, Admin");
+            }
+        });
     }
 
     private void verifyAdminAccess() {
@@ -102,6 +109,7 @@ public class AdminDashboardActivity extends AppCompatActivity {
             } else {
                 statsText.setText("Unable to load statistics");
             }
+            StartupTracer.reportFullyDrawn(this);
         });
     }
 
@@ -109,6 +117,7 @@ public class AdminDashboardActivity extends AppCompatActivity {
         manageUsersCard.setOnClickListener(v -> openManageUsers());
         manageIssuesCard.setOnClickListener(v -> openManageIssues());
         analyticsCard.setOnClickListener(v -> openAnalytics());
+        issueMapCard.setOnClickListener(v -> openIssueMap());
         logoutCard.setOnClickListener(v -> confirmLogout());
     }
 
@@ -127,6 +136,11 @@ public class AdminDashboardActivity extends AppCompatActivity {
         startActivity(intent);
     }
 
+    private void openIssueMap() {
+        Intent intent = new Intent(this, IssueMapActivity.class);
+        startActivity(intent);
+    }
+
     private void confirmLogout() {
         new AlertDialog.Builder(this)
                 .setTitle("Logout")
@@ -140,6 +154,9 @@ public class AdminDashboardActivity extends AppCompatActivity {
         firebaseManager.signOut();
         sessionManager.clearSession();
         roleManager.clearCache();
+        CurrentUserProfileStore.getInstance(this).clear();
+        UserDirectory.getInstance().clear();
+        PostStore.getInstance().clear();
 
         Intent intent = new Intent(this, LoginActivity.class);
         intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
@@ -1,7 +1,9 @@
 package com.example.fixmyarea.ui.admin;
 
 import android.os.Bundle;
+import android.view.LayoutInflater;
 import android.view.View;
+import android.widget.LinearLayout;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -9,11 +11,22 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import androidx.cardview.widget.CardView;
+import androidx.core.util.Pair;
 
 import com.example.fixmyarea.R;
 import com.example.fixmyarea.firebase.FirebaseManager;
+import com.example.fixmyarea.models.IssueRollup;
+import com.example.fixmyarea.utils.LogHistogram;
+import com.example.fixmyarea.utils.RollupPeriods;
+import com.google.android.material.datepicker.MaterialDatePicker;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Analytics Activity - Displays system statistics and analytics
@@ -25,8 +38,18 @@ public class AnalyticsActivity extends AppCompatActivity {
     private TextView pendingText, approvedText, inProgressText, resolvedText, rejectedText;
     private TextView roadText, waterText, electricityText, sanitationText, otherText;
 
+    private TrendChartView trendChart;
+    private TextView trendRangeText, trendCreatedText, trendResolvedText, trendRejectedText, trendTopAreasText;
+    private LinearLayout resolutionTimesContainer;
+
     private FirebaseManager firebaseManager;
 
+    // Longer ranges are charted per week so the chart and the read count stay small
+    private static final long MAX_DAILY_RANGE_MS = TimeUnit.DAYS.toMillis(92);
+    private static final int TOP_AREAS = 3;
+    // Bumped per trend request so a slow older range does not overwrite a newer one
+    private int trendGeneration;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -43,6 +66,7 @@ public class AnalyticsActivity extends AppCompatActivity {
 
         initViews();
         loadStatistics();
+        showLastDays(30);
     }
 
     private void initViews() {
@@ -87,6 +111,21 @@ public class AnalyticsActivity extends AppCompatActivity {
         ((TextView) electricityRow.findViewById(R.id.statLabel)).setText("Electricity Issues");
         ((TextView) sanitationRow.findViewById(R.id.statLabel)).setText("Sanitation Issues");
         ((TextView) otherRow.findViewById(R.id.statLabel)).setText("Other Issues");
+
+        // Trends
+        trendChart = findViewById(R.id.trendChart);
+        trendRangeText = findViewById(R.id.trendRangeText);
+        trendCreatedText = findViewById(R.id.trendCreatedText);
+        trendResolvedText = findViewById(R.id.trendResolvedText);
+        trendRejectedText = findViewById(R.id.trendRejectedText);
+        trendTopAreasText = findViewById(R.id.trendTopAreasText);
+        resolutionTimesContainer = findViewById(R.id.resolutionTimesContainer);
+
+        findViewById(R.id.chipRange7Days).setOnClickListener(v -> showLastDays(7));
+        findViewById(R.id.chipRange30Days).setOnClickListener(v -> showLastDays(30));
+        findViewById(R.id.chipRange12Weeks).setOnClickListener(v -> showLastDays(12 * 7));
+        findViewById(R.id.chipRange52Weeks).setOnClickListener(v -> showLastDays(52 * 7));
+        findViewById(R.id.chipRangeCustom).setOnClickListener(v -> pickCustomRange());
     }
 
     private void loadStatistics() {
@@ -121,6 +160,138 @@ public class AnalyticsActivity extends AppCompatActivity {
         });
     }
 
+    private void showLastDays(int days) {
+        long now = System.currentTimeMillis();
+        loadTrends(now - TimeUnit.DAYS.toMillis(days - 1), now);
+    }
+
+    private void pickCustomRange() {
+        MaterialDatePicker<Pair<Long, Long>> picker = MaterialDatePicker.Builder.dateRangePicker()
+                .setTitleText("Select range")
+                .build();
+        // The picker returns UTC midnights, the same day boundaries the rollups use
+        picker.addOnPositiveButtonClickListener(selection -> loadTrends(selection.first, selection.second));
+        picker.show(getSupportFragmentManager(), "trend_range");
+    }
+
+    private void loadTrends(long from, long to) {
+        String granularity = to - from > MAX_DAILY_RANGE_MS ? RollupPeriods.WEEK : RollupPeriods.DAY;
+        int generation = ++trendGeneration;
+        trendRangeText.setText(RollupPeriods.periodId(RollupPeriods.periodStart(from, RollupPeriods.DAY)) + " to "
+                + RollupPeriods.periodId(RollupPeriods.periodStart(to, RollupPeriods.DAY))
+                + (RollupPeriods.WEEK.equals(granularity) ? " · per week" : " · per day"));
+
+        firebaseManager.getRollups(granularity, from, to).addOnCompleteListener(task -> {
+            if (generation != trendGeneration) {
+                return;
+            }
+            if (!task.isSuccessful()) {
+                Toast.makeText(this, "Failed to load trends", Toast.LENGTH_SHORT).show();
+                return;
+            }
+
+            List<IssueRollup> series = RollupPeriods.series(task.getResult(), from, to, granularity);
+            trendChart.setSeries(series);
+
+            IssueRollup total = RollupPeriods.total(series);
+            trendCreatedText.setText("Created " + total.getCreated());
+            trendResolvedText.setText("Resolved " + total.getResolved());
+            trendRejectedText.setText("Rejected " + total.getRejected());
+            trendTopAreasText.setText(formatTopAreas(total));
+            showResolutionTimes(total);
+        });
+    }
+
+    /**
+     * One row per category and metric with data, after the rows for all categories
+     */
+    private void showResolutionTimes(IssueRollup total) {
+        resolutionTimesContainer.removeAllViews();
+        Map<String, LogHistogram> toApprove = total.getTimeToApproveByCategory();
+        Map<String, LogHistogram> toResolve = total.getTimeToResolveByCategory();
+
+        LogHistogram allToApprove = new LogHistogram();
+        LogHistogram allToResolve = new LogHistogram();
+        for (LogHistogram histogram : toApprove.values()) {
+            allToApprove.merge(histogram);
+        }
+        for (LogHistogram histogram : toResolve.values()) {
+            allToResolve.merge(histogram);
+        }
+        if (allToApprove.getTotalCount() == 0 && allToResolve.getTotalCount() == 0) {
+            addResolutionRow("No approvals or resolutions in this range", "-");
+            return;
+        }
+
+        addResolutionRows("All", allToApprove, allToResolve);
+        Set<String> categories = new TreeSet<>(toApprove.keySet());
+        categories.addAll(toResolve.keySet());
+        for (String category : categories) {
+            addResolutionRows(capitalizeFirst(category), toApprove.get(category), toResolve.get(category));
+        }
+    }
+
+    private void addResolutionRows(String label, LogHistogram toApprove, LogHistogram toResolve) {
+        if (toApprove != null && toApprove.getTotalCount() > 0) {
+            addResolutionRow(label + " · to approve", formatPercentiles(toApprove));
+        }
+        if (toResolve != null && toResolve.getTotalCount() > 0) {
+            addResolutionRow(label + " · to resolve", formatPercentiles(toResolve));
+        }
+    }
+
+    private void addResolutionRow(String label, String value) {
+        View row = LayoutInflater.from(this).inflate(R.layout.stat_row, resolutionTimesContainer, false);
+        ((TextView) row.findViewById(R.id.statLabel)).setText(label);
+        ((TextView) row.findViewById(R.id.statValue)).setText(value);
+        resolutionTimesContainer.addView(row);
+    }
+
+    private String formatPercentiles(LogHistogram histogram) {
+        return formatDuration(histogram.valueAtPercentile(50)) + " / "
+                + formatDuration(histogram.valueAtPercentile(90)) + " / "
+                + formatDuration(histogram.valueAtPercentile(99));
+    }
+
+    private String formatDuration(long millis) {
+        long minutes = TimeUnit.MILLISECONDS.toMinutes(millis);
+        if (minutes < 1) {
+            return "<1m";
+        }
+        if (minutes < 60) {
+            return minutes + "m";
+        }
+        long hours = TimeUnit.MILLISECONDS.toHours(millis);
+        if (hours < 48) {
+            return hours + "h";
+        }
+        return TimeUnit.MILLISECONDS.toDays(millis) + "d";
+    }
+
+    private String formatTopAreas(IssueRollup total) {
+        List<Map.Entry<String, Long>> areas = new ArrayList<>(total.getCreatedByArea().entrySet());
+        if (areas.isEmpty()) {
+            return "No new issues in this range";
+        }
+        Collections.sort(areas, (a, b) -> Long.compare(b.getValue(), a.getValue()));
+
+        StringBuilder text = new StringBuilder("Top areas: ");
+        for (int i = 0; i < Math.min(TOP_AREAS, areas.size()); i++) {
+            if (i > 0) {
+                text.append(", ");
+            }
+            text.append(capitalizeFirst(areas.get(i).getKey())).append(" (").append(areas.get(i).getValue()).append(")");
+        }
+        return text.toString();
+    }
+
+    private String capitalizeFirst(String text) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        return text.substring(0, 1).toUpperCase() + text.substring(1);
+    }
+
     @Override
     public boolean onSupportNavigateUp() {
         finish();
@@ -0,0 +1,77 @@
+package com.example.fixmyarea.ui.admin;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Point;
+import android.graphics.RectF;
+
+import com.example.fixmyarea.utils.DensityGrid;
+import com.example.fixmyarea.utils.IssuePoints;
+
+import org.osmdroid.util.GeoPoint;
+import org.osmdroid.views.MapView;
+import org.osmdroid.views.Projection;
+import org.osmdroid.views.overlay.Overlay;
+
+/**
+ * Issue density drawn as one bitmap over the map
+ * Each bitmap pixel is one {@link DensityGrid} cell; the bitmap is stretched over
+ * the cells' area with filtering, which blurs the cells into a heatmap. Bitmaps
+ * are rendered off the main thread with {@link #render}.
+ */
+public class HeatmapOverlay extends Overlay {
+
+    private final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private final Point topLeft = new Point();
+    private final Point bottomRight = new Point();
+    private final RectF bounds = new RectF();
+
+    private Bitmap bitmap;
+    private GeoPoint northWest;
+    private GeoPoint southEast;
+
+    /**
+     * Show a bitmap from {@link #render} over the cells it was rendered from
+     */
+    public void setHeatmap(Bitmap bitmap, int level, int minX, int minY, int maxX, int maxY) {
+        double cells = 1L << level;
+        this.bitmap = bitmap;
+        northWest = new GeoPoint(IssuePoints.latitude(minY / cells), IssuePoints.longitude(minX / cells));
+        southEast = new GeoPoint(IssuePoints.latitude((maxY + 1) / cells), IssuePoints.longitude((maxX + 1) / cells));
+    }
+
+    public void clear() {
+        bitmap = null;
+    }
+
+    @Override
+    public void draw(Canvas canvas, MapView mapView, boolean shadow) {
+        if (shadow || bitmap == null) {
+            return;
+        }
+        Projection projection = mapView.getProjection();
+        projection.toPixels(northWest, topLeft);
+        projection.toPixels(southEast, bottomRight);
+        bounds.set(topLeft.x, topLeft.y, bottomRight.x, bottomRight.y);
+        canvas.drawBitmap(bitmap, null, bounds, paint);
+    }
+
+    /**
+     * One pixel per cell in the rectangle; empty cells are transparent, others go
+     * from translucent yellow to red on a log scale of the grid's highest count
+     */
+    public static Bitmap render(DensityGrid grid, int minX, int minY, int maxX, int maxY) {
+        int width = maxX - minX + 1;
+        int height = maxY - minY + 1;
+        int[] pixels = new int[width * height];
+        double scale = Math.log1p(Math.max(1, grid.getMaxCount()));
+        grid.forEachIn(minX, minY, maxX, maxY, (cellX, cellY, count) -> {
+            double t = Math.log1p(count) / scale;
+            int alpha = 90 + (int) (150 * t);
+            int green = (int) (220 * (1 - t));
+            pixels[(cellY - minY) * width + (cellX - minX)] = (alpha << 24) | (0xff << 16) | (green << 8);
+        });
+        return Bitmap.createBitmap(pixels, width, height, Bitmap.Config.ARGB_8888);
+    }
+}
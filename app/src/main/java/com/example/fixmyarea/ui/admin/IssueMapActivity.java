@@ -0,0 +1,275 @@
+package com.example.fixmyarea.ui.admin;
+
+import android.graphics.Bitmap;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.preference.PreferenceManager;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.Toolbar;
+
+import com.example.fixmyarea.R;
+import com.example.fixmyarea.firebase.FirebaseConstants;
+import com.example.fixmyarea.firebase.FirebaseManager;
+import com.example.fixmyarea.utils.DensityGrid;
+import com.example.fixmyarea.utils.IssuePoints;
+import com.google.android.material.chip.Chip;
+import com.google.android.material.chip.ChipGroup;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import org.osmdroid.config.Configuration;
+import org.osmdroid.events.MapListener;
+import org.osmdroid.events.ScrollEvent;
+import org.osmdroid.events.ZoomEvent;
+import org.osmdroid.tileprovider.tilesource.TileSourceFactory;
+import org.osmdroid.util.BoundingBox;
+import org.osmdroid.util.GeoPoint;
+import org.osmdroid.views.MapView;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Issue Map Activity - Heatmap of issue density for admins
+ * Every issue is read once, page by page, into {@link IssuePoints}. Counting per
+ * grid cell and rendering the heatmap bitmap run on a background thread, and
+ * grids are cached per zoom level until the filters or the data change.
+ */
+public class IssueMapActivity extends AppCompatActivity implements MapListener {
+
+    private static final double DEFAULT_LATITUDE = 23.8103; // Dhaka, Bangladesh
+    private static final double DEFAULT_LONGITUDE = 90.4125;
+    private static final double DEFAULT_ZOOM = 12.0;
+    private static final int PAGE_SIZE = 1000;
+    // Grid level above the zoom level: 2^4 = 16 screen pixels per cell
+    private static final int CELL_LEVEL_OFFSET = 4;
+    private static final long RENDER_DELAY_MS = 150;
+
+    private MapView mapView;
+    private TextView statusText;
+    private final HeatmapOverlay heatmapOverlay = new HeatmapOverlay();
+
+    private FirebaseManager firebaseManager;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable renderRunnable = this::render;
+    // Single thread, so points and grids below are only touched from it
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final IssuePoints points = new IssuePoints();
+    private final Map<Integer, DensityGrid> grids = new HashMap<>();
+    private String gridsFilter;
+
+    // Main thread state
+    private String category;
+    private String status;
+    private int loadedCount;
+    private boolean loading = true;
+    // Bumped per render so a slow older bitmap does not replace a newer one
+    private int renderGeneration;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+
+        // Configure osmdroid
+        Configuration.getInstance().load(this, PreferenceManager.getDefaultSharedPreferences(this));
+        Configuration.getInstance().setUserAgentValue(getPackageName());
+
+        setContentView(R.layout.activity_issue_map);
+
+        Toolbar toolbar = findViewById(R.id.toolbar);
+        setSupportActionBar(toolbar);
+        if (getSupportActionBar() != null) {
+            getSupportActionBar().setDisplayHomeAsUpEnabled(true);
+            getSupportActionBar().setTitle("Issue Map");
+        }
+
+        firebaseManager = FirebaseManager.getInstance();
+
+        statusText = findViewById(R.id.heatmapStatusText);
+        setupMap();
+        setupFilters();
+        loadPage(null);
+    }
+
+    private void setupMap() {
+        mapView = findViewById(R.id.mapView);
+        mapView.setTileSource(TileSourceFactory.MAPNIK);
+        mapView.setMultiTouchControls(true);
+        mapView.getController().setZoom(DEFAULT_ZOOM);
+        mapView.getController().setCenter(new GeoPoint(DEFAULT_LATITUDE, DEFAULT_LONGITUDE));
+        mapView.getOverlays().add(heatmapOverlay);
+        mapView.addMapListener(this);
+    }
+
+    private void setupFilters() {
+        ChipGroup categoryChipGroup = findViewById(R.id.categoryChipGroup);
+        ChipGroup statusChipGroup = findViewById(R.id.statusChipGroup);
+        categoryChipGroup.setOnCheckedStateChangeListener((group, checkedIds) -> {
+            if (!checkedIds.isEmpty()) {
+                category = filterValue(checkedIds.get(0));
+                scheduleRender(0);
+            }
+        });
+        statusChipGroup.setOnCheckedStateChangeListener((group, checkedIds) -> {
+            if (!checkedIds.isEmpty()) {
+                status = filterValue(checkedIds.get(0));
+                scheduleRender(0);
+            }
+        });
+    }
+
+    private String filterValue(int chipId) {
+        Chip chip = findViewById(chipId);
+        String tag = chip.getTag().toString();
+        return "all".equals(tag) ? null : tag;
+    }
+
+    private void loadPage(DocumentSnapshot after) {
+        firebaseManager.getIssuesPage(after, PAGE_SIZE).addOnCompleteListener(task -> {
+            if (isDestroyed()) {
+                return;
+            }
+            if (!task.isSuccessful()) {
+                loading = false;
+                Toast.makeText(this, "Failed to load issues", Toast.LENGTH_SHORT).show();
+                scheduleRender(0);
+                return;
+            }
+
+            List<DocumentSnapshot> documents = task.getResult().getDocuments();
+            loadedCount += documents.size();
+            loading = documents.size() == PAGE_SIZE;
+            executor.execute(() -> addPoints(documents));
+            if (loading) {
+                loadPage(documents.get(documents.size() - 1));
+            }
+            scheduleRender(0);
+        });
+    }
+
+    // Background thread
+    private void addPoints(List<DocumentSnapshot> documents) {
+        for (DocumentSnapshot document : documents) {
+            Double latitude = document.getDouble(FirebaseConstants.FIELD_ISSUE_LATITUDE);
+            Double longitude = document.getDouble(FirebaseConstants.FIELD_ISSUE_LONGITUDE);
+            if (latitude != null && longitude != null) {
+                points.add(latitude, longitude,
+                        document.getString(FirebaseConstants.FIELD_ISSUE_CATEGORY),
+                        document.getString(FirebaseConstants.FIELD_ISSUE_STATUS));
+            }
+        }
+        grids.clear();
+    }
+
+    @Override
+    public boolean onScroll(ScrollEvent event) {
+        scheduleRender(RENDER_DELAY_MS);
+        return false;
+    }
+
+    @Override
+    public boolean onZoom(ZoomEvent event) {
+        scheduleRender(RENDER_DELAY_MS);
+        return false;
+    }
+
+    private void scheduleRender(long delayMs) {
+        mainHandler.removeCallbacks(renderRunnable);
+        mainHandler.postDelayed(renderRunnable, delayMs);
+    }
+
+    /**
+     * Render the visible area plus one screen on each side, so short pans need no
+     * new bitmap to stay covered
+     */
+    private void render() {
+        BoundingBox box = mapView.getBoundingBox();
+        if (mapView.getWidth() == 0 || box == null) {
+            scheduleRender(RENDER_DELAY_MS);
+            return;
+        }
+        int level = Math.min(DensityGrid.MAX_LEVEL, (int) mapView.getZoomLevelDouble() + CELL_LEVEL_OFFSET);
+        int lastCell = (int) ((1L << level) - 1);
+        int west = DensityGrid.cellX(box.getLonWest(), level);
+        int east = DensityGrid.cellX(box.getLonEast(), level);
+        int north = DensityGrid.cellY(box.getLatNorth(), level);
+        int south = DensityGrid.cellY(box.getLatSouth(), level);
+        if (east < west) {
+            // The view crosses the antimeridian; only the part west of it is covered
+            east = lastCell;
+        }
+        int marginX = east - west + 1;
+        int marginY = south - north + 1;
+        int minX = Math.max(0, west - marginX);
+        int maxX = Math.min(lastCell, east + marginX);
+        int minY = Math.max(0, north - marginY);
+        int maxY = Math.min(lastCell, south + marginY);
+
+        String renderCategory = category;
+        String renderStatus = status;
+        int generation = ++renderGeneration;
+        executor.execute(() -> {
+            DensityGrid grid = gridFor(level, renderCategory, renderStatus);
+            Bitmap bitmap = HeatmapOverlay.render(grid, minX, minY, maxX, maxY);
+            mainHandler.post(() -> {
+                if (isDestroyed() || generation != renderGeneration) {
+                    return;
+                }
+                heatmapOverlay.setHeatmap(bitmap, level, minX, minY, maxX, maxY);
+                mapView.invalidate();
+                showStatus(grid.getTotalCount());
+            });
+        });
+    }
+
+    // Background thread
+    private DensityGrid gridFor(int level, String category, String status) {
+        String filter = category + "|" + status;
+        if (!filter.equals(gridsFilter)) {
+            grids.clear();
+            gridsFilter = filter;
+        }
+        DensityGrid grid = grids.get(level);
+        if (grid == null) {
+            grid = DensityGrid.aggregate(points, level, category, status);
+            grids.put(level, grid);
+        }
+        return grid;
+    }
+
+    private void showStatus(int matching) {
+        String text = matching + " of " + loadedCount + " issues";
+        statusText.setText(loading ? "Loading... " + text : text);
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        mapView.onResume();
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        mapView.onPause();
+    }
+
+    @Override
+    protected void onDestroy() {
+        mainHandler.removeCallbacks(renderRunnable);
+        executor.shutdownNow();
+        super.onDestroy();
+    }
+
+    @Override
+    public boolean onSupportNavigateUp() {
+        finish();
+        return true;
+    }
+}
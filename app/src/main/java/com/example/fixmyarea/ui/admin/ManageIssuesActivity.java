@@ -11,6 +11,7 @@ import android.widget.RadioGroup;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.activity.OnBackPressedCallback;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
@@ -19,16 +20,23 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.fixmyarea.R;
 import com.example.fixmyarea.adapters.AdminIssueAdapter;
+import com.example.fixmyarea.firebase.BulkIssueUpdater;
 import com.example.fixmyarea.firebase.FirebaseConstants;
 import com.example.fixmyarea.firebase.FirebaseManager;
+import com.example.fixmyarea.firebase.PostMapper;
 import com.example.fixmyarea.models.Post;
 import com.example.fixmyarea.ui.PostDetailActivity;
+import com.example.fixmyarea.utils.IssuePartitions;
+import com.example.fixmyarea.utils.PostStore;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
-import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.ListenerRegistration;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Manage Issues Activity - Admin can view and manage (approve/reject) issue
@@ -38,13 +46,24 @@ public class ManageIssuesActivity extends AppCompatActivity implements AdminIssu
 
     private RecyclerView issuesRecyclerView;
     private AdminIssueAdapter issueAdapter;
-    private List<Post> issueList;
     private ProgressBar progressBar;
     private TextView emptyState;
     private ChipGroup filterChipGroup;
+    private View bulkActionBar;
+    private View bulkButtons;
+    private TextView selectionCount;
+    private Button btnClearSelection;
+    private ProgressBar bulkProgress;
 
     private FirebaseManager firebaseManager;
-    private String currentFilter = "all";
+    private String currentFilter = IssuePartitions.ALL;
+    private IssuePartitions partitions;
+    private ListenerRegistration issuesRegistration;
+    // Rows are only animated in after the first snapshot has been shown
+    private boolean loaded;
+    private BulkIssueUpdater bulkUpdater;
+    private boolean bulkRunning;
+    private OnBackPressedCallback clearSelectionOnBack;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -60,9 +79,10 @@ public class ManageIssuesActivity extends AppCompatActivity implements AdminIssu
         }
 
         firebaseManager = FirebaseManager.getInstance();
+        bulkUpdater = new BulkIssueUpdater();
 
         initViews();
-        loadIssues();
+        listenToIssues();
     }
 
     private void initViews() {
@@ -70,10 +90,36 @@ public class ManageIssuesActivity extends AppCompatActivity implements AdminIssu
         progressBar = findViewById(R.id.progressBar);
         emptyState = findViewById(R.id.emptyState);
         filterChipGroup = findViewById(R.id.filterChipGroup);
+        bulkActionBar = findViewById(R.id.bulkActionBar);
+        bulkButtons = findViewById(R.id.bulkButtons);
+        selectionCount = findViewById(R.id.selectionCount);
+        btnClearSelection = findViewById(R.id.btnClearSelection);
+        bulkProgress = findViewById(R.id.bulkProgress);
+
+        // Setup RecyclerView; the adapter shows one partition at a time
+        partitions = new IssuePartitions(new IssuePartitions.ChangeListener() {
+            @Override
+            public void onInserted(String partition, int index) {
+                if (loaded && partition.equals(currentFilter)) {
+                    issueAdapter.notifyItemInserted(index);
+                }
+            }
+
+            @Override
+            public void onRemoved(String partition, int index) {
+                if (loaded && partition.equals(currentFilter)) {
+                    issueAdapter.notifyItemRemoved(index);
+                }
+            }
 
-        // Setup RecyclerView
-        issueList = new ArrayList<>();
-        issueAdapter = new AdminIssueAdapter(issueList, this);
+            @Override
+            public void onChanged(String partition, int index) {
+                if (loaded && partition.equals(currentFilter)) {
+                    issueAdapter.notifyItemChanged(index);
+                }
+            }
+        });
+        issueAdapter = new AdminIssueAdapter(partitions.get(currentFilter), this);
         issuesRecyclerView.setLayoutManager(new LinearLayoutManager(this));
         issuesRecyclerView.setAdapter(issueAdapter);
 
@@ -82,86 +128,77 @@ public class ManageIssuesActivity extends AppCompatActivity implements AdminIssu
             if (!checkedIds.isEmpty()) {
                 int checkedId = checkedIds.get(0);
                 Chip chip = findViewById(checkedId);
-                currentFilter = chip.getTag().toString();
-                loadIssues();
+                showFilter(chip.getTag().toString());
             }
         });
+
+        // Bulk actions on the selected issues
+        findViewById(R.id.btnBulkApprove).setOnClickListener(v -> confirmBulkAction(FirebaseConstants.STATUS_APPROVED));
+        findViewById(R.id.btnBulkReject).setOnClickListener(v -> confirmBulkAction(FirebaseConstants.STATUS_REJECTED));
+        findViewById(R.id.btnBulkDone).setOnClickListener(v -> confirmBulkAction(FirebaseConstants.STATUS_RESOLVED));
+        btnClearSelection.setOnClickListener(v -> issueAdapter.clearSelection());
+
+        clearSelectionOnBack = new OnBackPressedCallback(false) {
+            @Override
+            public void handleOnBackPressed() {
+                issueAdapter.clearSelection();
+            }
+        };
+        getOnBackPressedDispatcher().addCallback(this, clearSelectionOnBack);
     }
 
-    private void loadIssues() {
+    /**
+     * Keep the partitions in sync with the issues collection
+     * The first snapshot fills them; later snapshots only carry changed documents.
+     */
+    private void listenToIssues() {
         progressBar.setVisibility(View.VISIBLE);
         emptyState.setVisibility(View.GONE);
 
-        if ("all".equals(currentFilter)) {
-            firebaseManager.getAllDocuments(FirebaseConstants.COLLECTION_ISSUES)
-                    .addOnCompleteListener(task -> handleIssuesLoaded(task.getResult()));
-        } else {
-            firebaseManager.getIssuesByStatus(currentFilter)
-                    .addOnCompleteListener(task -> handleIssuesLoaded(task.getResult()));
-        }
+        issuesRegistration = firebaseManager.getFirestore()
+                .collection(FirebaseConstants.COLLECTION_ISSUES)
+                .addSnapshotListener((snapshots, error) -> {
+                    progressBar.setVisibility(View.GONE);
+
+                    if (error != null || snapshots == null) {
+                        Toast.makeText(this, "Failed to load issues", Toast.LENGTH_SHORT).show();
+                        updateEmptyState();
+                        return;
+                    }
+
+                    PostStore postStore = PostStore.getInstance();
+                    for (DocumentChange change : snapshots.getDocumentChanges()) {
+                        String issueId = change.getDocument().getId();
+                        if (change.getType() == DocumentChange.Type.REMOVED) {
+                            partitions.remove(issueId);
+                            postStore.remove(issueId);
+                        } else {
+                            Post issue = PostMapper.fromSnapshot(change.getDocument());
+                            partitions.upsert(issue);
+                            postStore.put(issue);
+                        }
+                    }
+
+                    if (!loaded) {
+                        loaded = true;
+                        issueAdapter.notifyDataSetChanged();
+                    }
+                    updateEmptyState();
+                });
     }
 
-    private void handleIssuesLoaded(com.google.firebase.firestore.QuerySnapshot result) {
-        progressBar.setVisibility(View.GONE);
-
-        if (result != null) {
-            issueList.clear();
-
-            for (DocumentSnapshot doc : result.getDocuments()) {
-                Post post = new Post();
-                post.setPostId(doc.getId());
-                post.setTitle(doc.getString(FirebaseConstants.FIELD_ISSUE_TITLE));
-                post.setDescription(doc.getString(FirebaseConstants.FIELD_ISSUE_DESCRIPTION));
-                post.setCategory(doc.getString(FirebaseConstants.FIELD_ISSUE_CATEGORY));
-                post.setStatus(doc.getString(FirebaseConstants.FIELD_ISSUE_STATUS));
-                post.setLocation(doc.getString(FirebaseConstants.FIELD_ISSUE_LOCATION));
-
-                // Get coordinates if available
-                if (doc.contains(FirebaseConstants.FIELD_ISSUE_LATITUDE)) {
-                    post.setLatitude(doc.getDouble(FirebaseConstants.FIELD_ISSUE_LATITUDE));
-                }
-                if (doc.contains(FirebaseConstants.FIELD_ISSUE_LONGITUDE)) {
-                    post.setLongitude(doc.getDouble(FirebaseConstants.FIELD_ISSUE_LONGITUDE));
-                }
-
-                // Get images - this is the key fix for admin panel
-                Object imageUrlObj = doc.get(FirebaseConstants.FIELD_ISSUE_IMAGE_URL);
-                if (imageUrlObj instanceof List) {
-                    post.setImageUrls((List<String>) imageUrlObj);
-                } else if (imageUrlObj instanceof String) {
-                    List<String> images = new ArrayList<>();
-                    images.add((String) imageUrlObj);
-                    post.setImageUrls(images);
-                }
-
-                post.setReporterId(doc.getString(FirebaseConstants.FIELD_ISSUE_REPORTER_ID));
-
-                // Get timestamp
-                Long timestamp = doc.getLong(FirebaseConstants.FIELD_ISSUE_TIMESTAMP);
-                if (timestamp != null) {
-                    post.setTimestamp(timestamp);
-                }
-
-                // Get upvotes
-                Long upvotes = doc.getLong(FirebaseConstants.FIELD_ISSUE_UPVOTES);
-                if (upvotes != null) {
-                    post.setUpvotes(upvotes.intValue());
-                }
-
-                issueList.add(post);
-            }
-
-            issueAdapter.notifyDataSetChanged();
-
-            if (issueList.isEmpty()) {
-                emptyState.setVisibility(View.VISIBLE);
-            } else {
-                emptyState.setVisibility(View.GONE);
-            }
-        } else {
-            Toast.makeText(this, "Failed to load issues", Toast.LENGTH_SHORT).show();
-            emptyState.setVisibility(View.VISIBLE);
+    private void showFilter(String filter) {
+        currentFilter = filter;
+        if (!bulkRunning) {
+            issueAdapter.clearSelection();
         }
+        issueAdapter.setIssues(partitions.get(currentFilter));
+        updateEmptyState();
+    }
+
+    private void updateEmptyState() {
+        boolean empty = partitions.get(currentFilter).isEmpty();
+        emptyState.setVisibility(empty && loaded ? View.VISIBLE : View.GONE);
     }
 
     @Override
@@ -182,11 +219,122 @@ public class ManageIssuesActivity extends AppCompatActivity implements AdminIssu
     @Override
     public void onIssueClick(Post issue) {
         // Open post detail activity
+        PostStore.getInstance().put(issue);
         Intent intent = new Intent(this, PostDetailActivity.class);
-        intent.putExtra("postId", issue.getPostId());
+        intent.putExtra(PostDetailActivity.EXTRA_POST_ID, issue.getPostId());
         startActivity(intent);
     }
 
+    @Override
+    public void onSelectionChanged(int selectedCount) {
+        bulkActionBar.setVisibility(selectedCount > 0 || bulkRunning ? View.VISIBLE : View.GONE);
+        if (!bulkRunning) {
+            selectionCount.setText(selectedCount + " selected");
+        }
+        clearSelectionOnBack.setEnabled(selectedCount > 0 && !bulkRunning);
+    }
+
+    private void confirmBulkAction(String newStatus) {
+        List<Post> eligible = new ArrayList<>();
+        Set<String> selectedIds = issueAdapter.getSelectedIds();
+        for (String issueId : selectedIds) {
+            Post issue = partitions.find(issueId);
+            if (issue != null && canMoveTo(issue, newStatus)) {
+                eligible.add(issue);
+            }
+        }
+
+        String statusLabel = formatStatusLabel(newStatus);
+        if (eligible.isEmpty()) {
+            Toast.makeText(this, "None of the selected issues can be " + statusLabel.toLowerCase(),
+                    Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        String message = "Mark " + eligible.size() + " issues as " + statusLabel.toLowerCase()
+                + " and notify their reporters?";
+        int skipped = selectedIds.size() - eligible.size();
+        if (skipped > 0) {
+            message += "\n\n" + skipped + " selected issues can't be " + statusLabel.toLowerCase()
+                    + " from their current status and will be skipped.";
+        }
+        new AlertDialog.Builder(this)
+                .setTitle(statusLabel + " " + eligible.size() + " Issues")
+                .setMessage(message)
+                .setPositiveButton("Confirm", (dialog, which) -> runBulkUpdate(eligible, newStatus))
+                .setNegativeButton("Cancel", null)
+                .show();
+    }
+
+    /**
+     * Same transitions the per-issue buttons allow
+     */
+    private boolean canMoveTo(Post issue, String newStatus) {
+        String status = issue.getStatus();
+        if (FirebaseConstants.STATUS_RESOLVED.equals(newStatus)) {
+            return FirebaseConstants.STATUS_APPROVED.equals(status)
+                    || FirebaseConstants.STATUS_IN_PROGRESS.equals(status);
+        }
+        return FirebaseConstants.STATUS_PENDING.equals(status);
+    }
+
+    private void runBulkUpdate(List<Post> issues, String newStatus) {
+        String statusLabel = formatStatusLabel(newStatus);
+        setBulkRunning(true);
+        bulkProgress.setMax(issues.size());
+        bulkProgress.setProgress(0);
+        selectionCount.setText("Updating 0 / " + issues.size());
+
+        bulkUpdater.updateStatus(issues, newStatus, issue -> buildStatusMessage(issue, statusLabel),
+                new BulkIssueUpdater.UpdateCallback() {
+                    @Override
+                    public void onProgress(int done, int total) {
+                        if (isDestroyed()) return;
+                        bulkProgress.setProgress(done);
+                        selectionCount.setText("Updating " + done + " / " + total);
+                    }
+
+                    @Override
+                    public void onComplete(List<Post> updated, List<Post> failed) {
+                        if (isDestroyed()) return;
+                        setBulkRunning(false);
+                        if (failed.isEmpty()) {
+                            Toast.makeText(ManageIssuesActivity.this,
+                                    updated.size() + " issues " + statusLabel.toLowerCase(),
+                                    Toast.LENGTH_SHORT).show();
+                            issueAdapter.clearSelection();
+                            return;
+                        }
+                        showBulkFailure(updated.size(), failed, newStatus);
+                    }
+                });
+    }
+
+    private void showBulkFailure(int updatedCount, List<Post> failed, String newStatus) {
+        // Keep only the failed issues selected so they can be retried
+        Set<String> failedIds = new HashSet<>();
+        for (Post issue : failed) {
+            failedIds.add(issue.getPostId());
+        }
+        issueAdapter.setSelectedIds(failedIds);
+
+        new AlertDialog.Builder(this)
+                .setTitle("Some Updates Failed")
+                .setMessage(updatedCount + " of " + (updatedCount + failed.size()) + " issues were updated. "
+                        + failed.size() + " could not be updated and are still selected.")
+                .setPositiveButton("Retry", (dialog, which) -> runBulkUpdate(failed, newStatus))
+                .setNegativeButton("Close", null)
+                .show();
+    }
+
+    private void setBulkRunning(boolean running) {
+        bulkRunning = running;
+        bulkProgress.setVisibility(running ? View.VISIBLE : View.GONE);
+        bulkButtons.setVisibility(running ? View.GONE : View.VISIBLE);
+        btnClearSelection.setEnabled(!running);
+        onSelectionChanged(issueAdapter.getSelectedIds().size());
+    }
+
     private void showStatusChangeDialog(Post issue, String title, String newStatus) {
         String action = newStatus.equals(FirebaseConstants.STATUS_APPROVED) ? "approve" : "reject";
 
@@ -209,7 +357,6 @@ public class ManageIssuesActivity extends AppCompatActivity implements AdminIssu
                 String message = "Issue " + statusLabel.toLowerCase() + " successfully";
                 Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
                 sendStatusNotification(issue, statusLabel);
-                loadIssues();
             } else {
                 Toast.makeText(this, "Failed to update issue status", Toast.LENGTH_SHORT).show();
             }
@@ -221,9 +368,13 @@ public class ManageIssuesActivity extends AppCompatActivity implements AdminIssu
             return;
         }
 
+        firebaseManager.createNotification(issue.getReporterId(), issue.getPostId(),
+                buildStatusMessage(issue, statusLabel), FirebaseConstants.NOTIFICATION_TYPE_STATUS);
+    }
+
+    private String buildStatusMessage(Post issue, String statusLabel) {
         String title = issue.getTitle() != null ? issue.getTitle() : "your issue";
-        String message = "Your issue \"" + title + "\" was marked as " + statusLabel.toLowerCase() + ".";
-        firebaseManager.createNotification(issue.getReporterId(), issue.getPostId(), message);
+        return "Your issue \"" + title + "\" was marked as " + statusLabel.toLowerCase() + ".";
     }
 
     private String formatStatusLabel(String status) {
@@ -242,6 +393,14 @@ public class ManageIssuesActivity extends AppCompatActivity implements AdminIssu
         return status;
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (issuesRegistration != null) {
+            issuesRegistration.remove();
+        }
+    }
+
     @Override
     public boolean onSupportNavigateUp() {
         finish();
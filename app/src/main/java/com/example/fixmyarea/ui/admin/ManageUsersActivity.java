@@ -1,6 +1,8 @@
 package com.example.fixmyarea.ui.admin;
 
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.TextUtils;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -11,8 +13,10 @@ import android.widget.RadioGroup;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.SearchView;
 import androidx.appcompat.widget.Toolbar;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
@@ -22,6 +26,9 @@ import com.example.fixmyarea.adapters.UserAdapter;
 import com.example.fixmyarea.firebase.FirebaseConstants;
 import com.example.fixmyarea.firebase.FirebaseManager;
 import com.example.fixmyarea.models.User;
+import com.example.fixmyarea.utils.SearchKeys;
+import com.google.android.material.chip.Chip;
+import com.google.android.material.chip.ChipGroup;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.firebase.firestore.DocumentSnapshot;
 
@@ -42,8 +49,27 @@ public class ManageUsersActivity extends AppCompatActivity implements UserAdapte
     private TextView emptyState;
     private FloatingActionButton fabAddUser;
 
+    private SearchView searchView;
+    private ChipGroup roleChipGroup;
+
     private FirebaseManager firebaseManager;
 
+    private static final int PAGE_SIZE = 25;
+    // Rows left below the screen when the next page is requested
+    private static final int PREFETCH_DISTANCE = 5;
+    private static final long SEARCH_DELAY_MS = 300;
+
+    // Current query: role (null for all) and name prefix as typed
+    private String roleFilter;
+    private String namePrefix = "";
+    private DocumentSnapshot lastDocument;
+    private boolean loadingPage;
+    private boolean hasMore = true;
+    // Bumped on every new query so pages of an older query are dropped
+    private int queryGeneration;
+    private final Handler searchHandler = new Handler(Looper.getMainLooper());
+    private final Runnable searchRunnable = this::reloadUsers;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -60,7 +86,7 @@ public class ManageUsersActivity extends AppCompatActivity implements UserAdapte
         firebaseManager = FirebaseManager.getInstance();
 
         initViews();
-        loadUsers();
+        reloadUsers();
     }
 
     private void initViews() {
@@ -68,6 +94,8 @@ public class ManageUsersActivity extends AppCompatActivity implements UserAdapte
         progressBar = findViewById(R.id.progressBar);
         emptyState = findViewById(R.id.emptyState);
         fabAddUser = findViewById(R.id.fabAddUser);
+        searchView = findViewById(R.id.searchView);
+        roleChipGroup = findViewById(R.id.roleChipGroup);
 
         // Setup RecyclerView
         userList = new ArrayList<>();
@@ -75,38 +103,103 @@ public class ManageUsersActivity extends AppCompatActivity implements UserAdapte
         usersRecyclerView.setLayoutManager(new LinearLayoutManager(this));
         usersRecyclerView.setAdapter(userAdapter);
 
+        // Load the next page when the end of the list comes near
+        usersRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+                if (layoutManager != null
+                        && layoutManager.findLastVisibleItemPosition() >= userList.size() - PREFETCH_DISTANCE) {
+                    loadNextPage();
+                }
+            }
+        });
+
+        // Search runs on the server once typing pauses
+        searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+            @Override
+            public boolean onQueryTextSubmit(String query) {
+                namePrefix = query;
+                searchHandler.removeCallbacks(searchRunnable);
+                reloadUsers();
+                return true;
+            }
+
+            @Override
+            public boolean onQueryTextChange(String newText) {
+                if (newText.equals(namePrefix)) {
+                    return true;
+                }
+                namePrefix = newText;
+                searchHandler.removeCallbacks(searchRunnable);
+                searchHandler.postDelayed(searchRunnable, SEARCH_DELAY_MS);
+                return true;
+            }
+        });
+
+        roleChipGroup.setOnCheckedStateChangeListener((group, checkedIds) -> {
+            if (!checkedIds.isEmpty()) {
+                Chip chip = findViewById(checkedIds.get(0));
+                String tag = chip.getTag().toString();
+                roleFilter = "all".equals(tag) ? null : tag;
+                reloadUsers();
+            }
+        });
+
         // FAB click listener
         fabAddUser.setOnClickListener(v -> showAddUserDialog());
     }
 
-    private void loadUsers() {
-        progressBar.setVisibility(View.VISIBLE);
+    /**
+     * Start over from the first page, e.g. after the search or role filter changed
+     */
+    private void reloadUsers() {
+        queryGeneration++;
+        userList.clear();
+        userAdapter.notifyDataSetChanged();
+        lastDocument = null;
+        hasMore = true;
+        loadingPage = false;
+        loadNextPage();
+    }
+
+    private void loadNextPage() {
+        if (loadingPage || !hasMore) {
+            return;
+        }
+        loadingPage = true;
+        int generation = queryGeneration;
+        if (userList.isEmpty()) {
+            progressBar.setVisibility(View.VISIBLE);
+        }
         emptyState.setVisibility(View.GONE);
 
-        firebaseManager.getAllUsers().addOnCompleteListener(task -> {
+        firebaseManager.getUsersPage(roleFilter, namePrefix, lastDocument, PAGE_SIZE).addOnCompleteListener(task -> {
+            if (generation != queryGeneration) {
+                // Search or filter changed while this page was loading
+                return;
+            }
+            loadingPage = false;
             progressBar.setVisibility(View.GONE);
 
             if (task.isSuccessful() && task.getResult() != null) {
-                userList.clear();
-
-                for (DocumentSnapshot doc : task.getResult().getDocuments()) {
+                List<DocumentSnapshot> documents = task.getResult().getDocuments();
+                int start = userList.size();
+                for (DocumentSnapshot doc : documents) {
                     User user = doc.toObject(User.class);
                     if (user != null) {
                         userList.add(user);
                     }
                 }
-
-                userAdapter.notifyDataSetChanged();
-
-                if (userList.isEmpty()) {
-                    emptyState.setVisibility(View.VISIBLE);
-                } else {
-                    emptyState.setVisibility(View.GONE);
+                if (!documents.isEmpty()) {
+                    lastDocument = documents.get(documents.size() - 1);
                 }
+                hasMore = documents.size() == PAGE_SIZE;
+                userAdapter.notifyItemRangeInserted(start, userList.size() - start);
             } else {
                 Toast.makeText(this, "Failed to load users", Toast.LENGTH_SHORT).show();
-                emptyState.setVisibility(View.VISIBLE);
             }
+            emptyState.setVisibility(userList.isEmpty() ? View.VISIBLE : View.GONE);
         });
     }
 
@@ -155,7 +248,7 @@ public class ManageUsersActivity extends AppCompatActivity implements UserAdapte
                         .addOnSuccessListener(aVoid -> {
                             progressBar.setVisibility(View.GONE);
                             Toast.makeText(this, "User created successfully", Toast.LENGTH_SHORT).show();
-                            loadUsers(); // Reload list
+                            reloadUsers(); // Reload list
                         })
                         .addOnFailureListener(e -> {
                             progressBar.setVisibility(View.GONE);
@@ -248,6 +341,7 @@ public class ManageUsersActivity extends AppCompatActivity implements UserAdapte
 
         Map<String, Object> updates = new HashMap<>();
         updates.put(FirebaseConstants.FIELD_USER_NAME, name);
+        updates.put(FirebaseConstants.FIELD_USER_NAME_LOWER, SearchKeys.normalizeName(name));
         updates.put(FirebaseConstants.FIELD_USER_PHONE, phone);
         updates.put(FirebaseConstants.FIELD_USER_NID, nid);
         updates.put(FirebaseConstants.FIELD_USER_ROLE, role);
@@ -257,7 +351,7 @@ public class ManageUsersActivity extends AppCompatActivity implements UserAdapte
 
             if (task.isSuccessful()) {
                 Toast.makeText(this, "User updated successfully", Toast.LENGTH_SHORT).show();
-                loadUsers();
+                reloadUsers();
             } else {
                 Toast.makeText(this, "Failed to update user", Toast.LENGTH_SHORT).show();
             }
@@ -282,13 +376,19 @@ public class ManageUsersActivity extends AppCompatActivity implements UserAdapte
 
             if (task.isSuccessful()) {
                 Toast.makeText(this, "User deleted successfully", Toast.LENGTH_SHORT).show();
-                loadUsers();
+                reloadUsers();
             } else {
                 Toast.makeText(this, "Failed to delete user", Toast.LENGTH_SHORT).show();
             }
         });
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        searchHandler.removeCallbacks(searchRunnable);
+    }
+
     @Override
     public boolean onSupportNavigateUp() {
         finish();
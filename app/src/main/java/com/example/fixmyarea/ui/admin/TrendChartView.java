@@ -0,0 +1,143 @@
+package com.example.fixmyarea.ui.admin;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.util.AttributeSet;
+import android.view.View;
+
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+
+import com.example.fixmyarea.R;
+import com.example.fixmyarea.models.IssueRollup;
+import com.example.fixmyarea.utils.RollupPeriods;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Line chart of created, resolved and rejected issues per period
+ * Draws straight onto the canvas; a series is at most a few hundred points, so
+ * no charting library is needed.
+ */
+public class TrendChartView extends View {
+
+    private static final int GRID_LINES = 4;
+
+    private final Paint createdPaint = linePaint(R.color.primary);
+    private final Paint resolvedPaint = linePaint(R.color.status_resolved);
+    private final Paint rejectedPaint = linePaint(R.color.status_rejected);
+    private final Paint gridPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint labelPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Path path = new Path();
+
+    private List<IssueRollup> series = new ArrayList<>();
+
+    public TrendChartView(Context context) {
+        this(context, null);
+    }
+
+    public TrendChartView(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+        gridPaint.setColor(ContextCompat.getColor(context, R.color.text_hint));
+        gridPaint.setStrokeWidth(dp(1) / 2f);
+        labelPaint.setColor(ContextCompat.getColor(context, R.color.text_secondary));
+        labelPaint.setTextSize(dp(11));
+    }
+
+    /**
+     * @param series One rollup per period, oldest first (see RollupPeriods.series)
+     */
+    public void setSeries(List<IssueRollup> series) {
+        this.series = series;
+        invalidate();
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+
+        long max = 1;
+        for (IssueRollup rollup : series) {
+            max = Math.max(max, Math.max(rollup.getCreated(), Math.max(rollup.getResolved(), rollup.getRejected())));
+        }
+
+        float labelHeight = labelPaint.getTextSize() + dp(4);
+        float left = getPaddingLeft() + labelPaint.measureText(String.valueOf(max)) + dp(6);
+        float top = getPaddingTop() + labelPaint.getTextSize() / 2;
+        float right = getWidth() - getPaddingRight();
+        float bottom = getHeight() - getPaddingBottom() - labelHeight;
+
+        // Horizontal grid with value labels
+        for (int i = 0; i <= GRID_LINES; i++) {
+            float y = bottom - (bottom - top) * i / GRID_LINES;
+            canvas.drawLine(left, y, right, y, gridPaint);
+            String label = String.valueOf(Math.round((double) max * i / GRID_LINES));
+            canvas.drawText(label, getPaddingLeft(), y + labelPaint.getTextSize() / 3, labelPaint);
+        }
+
+        if (series.isEmpty()) {
+            return;
+        }
+
+        // First and last period under the x axis
+        float baseline = getHeight() - getPaddingBottom();
+        String first = RollupPeriods.periodId(series.get(0).getPeriodStart());
+        canvas.drawText(first, left, baseline, labelPaint);
+        if (series.size() > 1) {
+            String last = RollupPeriods.periodId(series.get(series.size() - 1).getPeriodStart());
+            canvas.drawText(last, right - labelPaint.measureText(last), baseline, labelPaint);
+        }
+
+        drawLine(canvas, createdPaint, 0, max, left, top, right, bottom);
+        drawLine(canvas, resolvedPaint, 1, max, left, top, right, bottom);
+        drawLine(canvas, rejectedPaint, 2, max, left, top, right, bottom);
+    }
+
+    private void drawLine(Canvas canvas, Paint paint, int metric, long max,
+                          float left, float top, float right, float bottom) {
+        path.reset();
+        float step = series.size() > 1 ? (right - left) / (series.size() - 1) : 0;
+        for (int i = 0; i < series.size(); i++) {
+            float x = series.size() > 1 ? left + step * i : (left + right) / 2;
+            float y = bottom - (bottom - top) * value(series.get(i), metric) / max;
+            if (i == 0) {
+                path.moveTo(x, y);
+            } else {
+                path.lineTo(x, y);
+            }
+        }
+        if (series.size() == 1) {
+            canvas.drawPoint(left + (right - left) / 2, bottom - (bottom - top) * value(series.get(0), metric) / max, paint);
+        } else {
+            canvas.drawPath(path, paint);
+        }
+    }
+
+    private static long value(IssueRollup rollup, int metric) {
+        switch (metric) {
+            case 1:
+                return rollup.getResolved();
+            case 2:
+                return rollup.getRejected();
+            default:
+                return rollup.getCreated();
+        }
+    }
+
+    private Paint linePaint(int colorRes) {
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        paint.setColor(ContextCompat.getColor(getContext(), colorRes));
+        paint.setStyle(Paint.Style.STROKE);
+        paint.setStrokeWidth(dp(2));
+        paint.setStrokeCap(Paint.Cap.ROUND);
+        paint.setStrokeJoin(Paint.Join.ROUND);
+        return paint;
+    }
+
+    private float dp(float value) {
+        return value * getResources().getDisplayMetrics().density;
+    }
+}
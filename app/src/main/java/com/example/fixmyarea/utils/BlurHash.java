@@ -0,0 +1,239 @@
+package com.example.fixmyarea.utils;
+
+import android.graphics.Bitmap;
+
+/**
+ * BlurHash encoder and decoder
+ * Turns an image into a ~30 character string that decodes to a blurred preview,
+ * small enough to store on the issue document next to the image URLs.
+ */
+public final class BlurHash {
+
+    private static final String CHARACTERS =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+    // Source bitmaps are shrunk to this size first; more pixels add cost, not detail
+    private static final int ENCODE_SIZE = 32;
+
+    private BlurHash() {
+    }
+
+    /**
+     * Encode a bitmap
+     *
+     * @param bitmap      Source image, not modified
+     * @param componentsX Horizontal detail (1-9)
+     * @param componentsY Vertical detail (1-9)
+     * @return BlurHash string
+     */
+    public static String encode(Bitmap bitmap, int componentsX, int componentsY) {
+        if (componentsX < 1 || componentsX > 9 || componentsY < 1 || componentsY > 9) {
+            throw new IllegalArgumentException("Components must be between 1 and 9");
+        }
+
+        Bitmap small = Bitmap.createScaledBitmap(bitmap,
+                Math.min(ENCODE_SIZE, bitmap.getWidth()), Math.min(ENCODE_SIZE, bitmap.getHeight()), true);
+        int width = small.getWidth();
+        int height = small.getHeight();
+        int[] pixels = new int[width * height];
+        small.getPixels(pixels, 0, width, 0, 0, width, height);
+        if (small != bitmap) {
+            small.recycle();
+        }
+
+        float[][] factors = new float[componentsX * componentsY][];
+        for (int j = 0; j < componentsY; j++) {
+            for (int i = 0; i < componentsX; i++) {
+                factors[j * componentsX + i] = multiplyBasis(pixels, width, height, i, j);
+            }
+        }
+
+        StringBuilder hash = new StringBuilder();
+        encode83(hash, (componentsX - 1) + (componentsY - 1) * 9, 1);
+
+        float maximumValue;
+        if (factors.length > 1) {
+            float actualMaximum = 0;
+            for (int i = 1; i < factors.length; i++) {
+                for (float value : factors[i]) {
+                    actualMaximum = Math.max(actualMaximum, Math.abs(value));
+                }
+            }
+            int quantisedMaximum = (int) Math.max(0, Math.min(82, Math.floor(actualMaximum * 166 - 0.5)));
+            maximumValue = (quantisedMaximum + 1) / 166f;
+            encode83(hash, quantisedMaximum, 1);
+        } else {
+            maximumValue = 1;
+            encode83(hash, 0, 1);
+        }
+
+        encode83(hash, encodeDc(factors[0]), 4);
+        for (int i = 1; i < factors.length; i++) {
+            encode83(hash, encodeAc(factors[i], maximumValue), 2);
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Decode a hash into a bitmap
+     *
+     * @param hash   BlurHash string
+     * @param width  Output width, a few dozen pixels is enough
+     * @param height Output height
+     * @return Decoded bitmap or null if the hash is malformed
+     */
+    public static Bitmap decode(String hash, int width, int height) {
+        if (hash == null || hash.length() < 6) {
+            return null;
+        }
+        int sizeFlag = decode83(hash, 0, 1);
+        if (sizeFlag < 0) {
+            return null;
+        }
+        int componentsY = sizeFlag / 9 + 1;
+        int componentsX = sizeFlag % 9 + 1;
+        if (hash.length() != 4 + 2 * componentsX * componentsY) {
+            return null;
+        }
+
+        int quantisedMaximum = decode83(hash, 1, 2);
+        int dc = decode83(hash, 2, 6);
+        if (quantisedMaximum < 0 || dc < 0) {
+            return null;
+        }
+        float maximumValue = (quantisedMaximum + 1) / 166f;
+
+        float[][] colors = new float[componentsX * componentsY][];
+        colors[0] = decodeDc(dc);
+        for (int i = 1; i < colors.length; i++) {
+            int ac = decode83(hash, 4 + i * 2, 6 + i * 2);
+            if (ac < 0) {
+                return null;
+            }
+            colors[i] = decodeAc(ac, maximumValue);
+        }
+
+        // Cosines only depend on one axis each, so compute them once
+        double[] cosX = new double[width * componentsX];
+        for (int x = 0; x < width; x++) {
+            for (int i = 0; i < componentsX; i++) {
+                cosX[x * componentsX + i] = Math.cos(Math.PI * x * i / width);
+            }
+        }
+        double[] cosY = new double[height * componentsY];
+        for (int y = 0; y < height; y++) {
+            for (int j = 0; j < componentsY; j++) {
+                cosY[y * componentsY + j] = Math.cos(Math.PI * y * j / height);
+            }
+        }
+
+        int[] pixels = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                float r = 0;
+                float g = 0;
+                float b = 0;
+                for (int j = 0; j < componentsY; j++) {
+                    for (int i = 0; i < componentsX; i++) {
+                        float basis = (float) (cosX[x * componentsX + i] * cosY[y * componentsY + j]);
+                        float[] color = colors[j * componentsX + i];
+                        r += color[0] * basis;
+                        g += color[1] * basis;
+                        b += color[2] * basis;
+                    }
+                }
+                pixels[y * width + x] = 0xFF000000
+                        | (linearToSrgb(r) << 16) | (linearToSrgb(g) << 8) | linearToSrgb(b);
+            }
+        }
+        return Bitmap.createBitmap(pixels, width, height, Bitmap.Config.ARGB_8888);
+    }
+
+    private static float[] multiplyBasis(int[] pixels, int width, int height, int i, int j) {
+        float r = 0;
+        float g = 0;
+        float b = 0;
+        float normalisation = (i == 0 && j == 0) ? 1 : 2;
+        for (int y = 0; y < height; y++) {
+            double cosY = Math.cos(Math.PI * j * y / height);
+            for (int x = 0; x < width; x++) {
+                float basis = (float) (normalisation * Math.cos(Math.PI * i * x / width) * cosY);
+                int pixel = pixels[y * width + x];
+                r += basis * srgbToLinear((pixel >> 16) & 0xFF);
+                g += basis * srgbToLinear((pixel >> 8) & 0xFF);
+                b += basis * srgbToLinear(pixel & 0xFF);
+            }
+        }
+        float scale = 1f / (width * height);
+        return new float[]{r * scale, g * scale, b * scale};
+    }
+
+    private static int encodeDc(float[] color) {
+        return (linearToSrgb(color[0]) << 16) + (linearToSrgb(color[1]) << 8) + linearToSrgb(color[2]);
+    }
+
+    private static int encodeAc(float[] color, float maximumValue) {
+        int r = quantiseAc(color[0] / maximumValue);
+        int g = quantiseAc(color[1] / maximumValue);
+        int b = quantiseAc(color[2] / maximumValue);
+        return r * 19 * 19 + g * 19 + b;
+    }
+
+    private static int quantiseAc(float value) {
+        return (int) Math.max(0, Math.min(18, Math.floor(signPow(value, 0.5f) * 9 + 9.5)));
+    }
+
+    private static float[] decodeDc(int value) {
+        return new float[]{
+                srgbToLinear(value >> 16),
+                srgbToLinear((value >> 8) & 0xFF),
+                srgbToLinear(value & 0xFF)};
+    }
+
+    private static float[] decodeAc(int value, float maximumValue) {
+        return new float[]{
+                signPow((value / (19 * 19) - 9) / 9f, 2) * maximumValue,
+                signPow(((value / 19) % 19 - 9) / 9f, 2) * maximumValue,
+                signPow((value % 19 - 9) / 9f, 2) * maximumValue};
+    }
+
+    private static float srgbToLinear(int value) {
+        float v = value / 255f;
+        return v <= 0.04045f ? v / 12.92f : (float) Math.pow((v + 0.055f) / 1.055f, 2.4f);
+    }
+
+    private static int linearToSrgb(float value) {
+        float v = Math.max(0, Math.min(1, value));
+        if (v <= 0.0031308f) {
+            return (int) (v * 12.92f * 255 + 0.5f);
+        }
+        return (int) ((1.055f * Math.pow(v, 1 / 2.4f) - 0.055f) * 255 + 0.5f);
+    }
+
+    private static float signPow(float value, float exponent) {
+        return Math.copySign((float) Math.pow(Math.abs(value), exponent), value);
+    }
+
+    private static void encode83(StringBuilder out, int value, int length) {
+        int divisor = 1;
+        for (int i = 1; i < length; i++) {
+            divisor *= 83;
+        }
+        for (int i = 0; i < length; i++) {
+            out.append(CHARACTERS.charAt((value / divisor) % 83));
+            divisor /= 83;
+        }
+    }
+
+    private static int decode83(String hash, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = CHARACTERS.indexOf(hash.charAt(i));
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * 83 + digit;
+        }
+        return value;
+    }
+}
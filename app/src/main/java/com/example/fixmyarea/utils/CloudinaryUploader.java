@@ -4,18 +4,18 @@ import android.content.Context;
 import android.net.Uri;
 import android.util.Log;
 
-import androidx.annotation.NonNull;
-
 import com.example.fixmyarea.BuildConfig;
 
+import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.io.File;
-import java.io.FileInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
-import okhttp3.Call;
-import okhttp3.Callback;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
 import okhttp3.OkHttpClient;
@@ -34,7 +34,16 @@ public class CloudinaryUploader {
     private static final String CLOUD_NAME = BuildConfig.CLOUDINARY_CLOUD_NAME;
     private static final String UPLOAD_PRESET = BuildConfig.CLOUDINARY_UPLOAD_PRESET;
 
-    private static final String UPLOAD_URL = "https://api.cloudinary.com/v1_1/" + CLOUD_NAME + "/image/upload";
+    private static final String API_HOST_URL = "https://api.cloudinary.com/";
+    private static final String UPLOAD_URL = API_HOST_URL + "v1_1/" + CLOUD_NAME + "/image/upload";
+
+    // Cloudinary rejects chunks under 5 MB except the last one
+    private static final int CHUNK_SIZE = 6 * 1024 * 1024;
+    static final int MAX_CHUNK_RETRIES = 3;
+    private static final long CHUNK_RETRY_DELAY_MS = 1000;
+
+    // Shared background executor for preprocessing and uploads
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(3);
 
     /**
      * Callback interface for upload progress
@@ -48,8 +57,23 @@ public class CloudinaryUploader {
     }
 
     /**
-     * Upload image to Cloudinary
-     * 
+     * Byte-level progress of a blocking upload
+     */
+    public interface ProgressListener {
+        void onProgress(long bytesSent, long totalBytes);
+    }
+
+    /**
+     * Warm up the connection to Cloudinary
+     * Call when a screen that uploads opens, so the first upload skips DNS/TLS setup.
+     */
+    public static void preconnect() {
+        HttpClientProvider.preconnect(API_HOST_URL);
+    }
+
+    /**
+     * Upload image to Cloudinary using the default preprocessing options
+     *
      * @param context  Application context
      * @param imageUri URI of the image to upload
      * @param folder   Cloudinary folder name (e.g., "profile_images" or
@@ -57,70 +81,243 @@ public class CloudinaryUploader {
      * @param callback Upload callback
      */
     public static void uploadImage(Context context, Uri imageUri, String folder, UploadCallback callback) {
-        new Thread(() -> {
+        uploadImage(context, imageUri, folder, ImagePreprocessor.Options.defaults(), callback);
+    }
+
+    /**
+     * Upload image to Cloudinary
+     * The image is downscaled and re-encoded on a background executor first.
+     *
+     * @param context  Application context
+     * @param imageUri URI of the image to upload
+     * @param folder   Cloudinary folder name (e.g., "profile_images" or
+     *                 "issue_images")
+     * @param options  Preprocessing options (target size and quality)
+     * @param callback Upload callback
+     */
+    public static void uploadImage(Context context, Uri imageUri, String folder,
+            ImagePreprocessor.Options options, UploadCallback callback) {
+        Context appContext = context.getApplicationContext();
+        EXECUTOR.execute(() -> {
             try {
                 callback.onProgress(10);
 
-                // Read image file
-                InputStream inputStream = context.getContentResolver().openInputStream(imageUri);
-                if (inputStream == null) {
-                    callback.onFailure("Failed to read image");
-                    return;
+                // Downscale and re-encode; fall back to the original bytes if decoding fails
+                byte[] imageBytes;
+                String fileName;
+                String mimeType;
+                try {
+                    ImagePreprocessor.Result processed = ImagePreprocessor.preprocess(appContext, imageUri, options);
+                    imageBytes = processed.getBytes();
+                    fileName = processed.getFileName();
+                    mimeType = processed.getMimeType();
+                } catch (IOException e) {
+                    Log.w(TAG, "Preprocessing failed, uploading original", e);
+                    imageBytes = readAll(appContext, imageUri);
+                    fileName = "image.jpg";
+                    mimeType = "image/*";
                 }
 
-                byte[] imageBytes = new byte[inputStream.available()];
-                inputStream.read(imageBytes);
-                inputStream.close();
-
                 callback.onProgress(30);
 
-                // Create multipart request
-                RequestBody requestBody = new MultipartBody.Builder()
-                        .setType(MultipartBody.FORM)
-                        .addFormDataPart("file", "image.jpg",
-                                RequestBody.create(imageBytes, MediaType.parse("image/*")))
-                        .addFormDataPart("upload_preset", UPLOAD_PRESET)
-                        .addFormDataPart("folder", folder)
-                        .build();
-
-                Request request = new Request.Builder()
-                        .url(UPLOAD_URL)
-                        .post(requestBody)
-                        .build();
-
-                callback.onProgress(50);
-
-                // Execute request
-                OkHttpClient client = new OkHttpClient();
-                Response response = client.newCall(request).execute();
-
-                callback.onProgress(90);
-
-                if (response.isSuccessful()) {
-                    try {
-                        String responseBody = response.body().string();
-                        JSONObject json = new JSONObject(responseBody);
-                        String secureUrl = json.getString("secure_url");
-
-                        Log.d(TAG, "Upload successful: " + secureUrl);
-                        callback.onProgress(100);
-                        callback.onSuccess(secureUrl);
-                    } catch (Exception e) {
-                        Log.e(TAG, "Failed to parse response", e);
-                        callback.onFailure("Failed to parse response: " + e.getMessage());
-                    }
-                } else {
-                    String errorMsg = "Upload failed: " + response.code() + " - " + response.message();
-                    Log.e(TAG, errorMsg);
-                    callback.onFailure(errorMsg);
-                }
+                String secureUrl = uploadBytes(appContext, imageBytes, fileName, mimeType, folder,
+                        (sent, total) -> callback.onProgress(30 + (int) (60 * sent / Math.max(1, total))));
 
-                response.close();
+                callback.onProgress(100);
+                callback.onSuccess(secureUrl);
 
             } catch (Exception e) {
                 Log.e(TAG, "Error uploading image", e);
                 callback.onFailure("Upload error: " + e.getMessage());
             }
-        }).start();
+        });
+    }
+
+    /**
+     * Upload encoded image bytes and block until Cloudinary responds
+     * Payloads larger than one chunk are sent with Cloudinary's chunked upload protocol
+     * and resume from the last acknowledged chunk if a previous attempt was interrupted.
+     * Content already uploaded to the same folder is not sent again; the public_id is
+     * derived from the content hash so a retried upload maps to the same asset.
+     * Must be called off the main thread.
+     *
+     * @param context  Application context
+     * @param bytes    Encoded image
+     * @param fileName File name sent with the form data
+     * @param mimeType MIME type of the payload
+     * @param folder   Cloudinary folder name
+     * @param listener Byte progress listener, may be null
+     * @return secure_url of the uploaded image
+     * @throws IOException if the upload fails
+     */
+    public static String uploadBytes(Context context, byte[] bytes, String fileName, String mimeType,
+            String folder, ProgressListener listener) throws IOException {
+        String contentHash = UploadIndex.sha256(bytes);
+        String indexKey = folder + "/" + contentHash;
+        UploadIndex index = UploadIndex.getInstance(context);
+
+        String cachedUrl = index.get(indexKey);
+        if (cachedUrl != null) {
+            Log.d(TAG, "Skipping upload, content already at " + cachedUrl);
+            if (listener != null) {
+                listener.onProgress(bytes.length, bytes.length);
+            }
+            return cachedUrl;
+        }
+
+        String secureUrl = bytes.length > CHUNK_SIZE
+                ? uploadChunked(HttpClientProvider.getClient(), UPLOAD_URL, new ResumableUploadStore(context),
+                        CHUNK_SIZE, bytes, fileName, mimeType, folder, contentHash, indexKey, listener)
+                : uploadSingle(bytes, fileName, mimeType, folder, contentHash, listener);
+        index.put(indexKey, secureUrl);
+        return secureUrl;
+    }
+
+    private static String uploadSingle(byte[] bytes, String fileName, String mimeType, String folder,
+            String publicId, ProgressListener listener) throws IOException {
+        RequestBody requestBody = buildForm(bytes, 0, bytes.length, fileName, mimeType, folder, publicId,
+                listener != null ? written -> listener.onProgress(written, bytes.length) : null);
+        Request request = new Request.Builder()
+                .url(UPLOAD_URL)
+                .post(requestBody)
+                .build();
+
+        try (Response response = HttpClientProvider.getClient().newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                String errorMsg = "Upload failed: " + response.code() + " - " + response.message();
+                Log.e(TAG, errorMsg);
+                throw new IOException(errorMsg);
+            }
+            String secureUrl = parseSecureUrl(response.body().string());
+            Log.d(TAG, "Upload successful: " + secureUrl);
+            return secureUrl;
+        }
+    }
+
+    /**
+     * @param chunkSize Bytes per request; every chunk but the last must be at least 5 MB
+     */
+    static String uploadChunked(OkHttpClient client, String url, ResumableUploadStore store, int chunkSize,
+            byte[] bytes, String fileName, String mimeType, String folder, String publicId, String uploadKey,
+            ProgressListener listener) throws IOException {
+        long total = bytes.length;
+
+        ResumableUploadStore.State state = store.get(uploadKey, total);
+        String uploadId = state != null ? state.getUploadId() : newUploadId();
+        long offset = state != null ? state.getNextOffset() : 0;
+        boolean restarted = false;
+        int attempt = 0;
+
+        if (offset > 0) {
+            Log.d(TAG, "Resuming chunked upload " + uploadId + " at byte " + offset);
+        }
+
+        while (true) {
+            long end = Math.min(offset + chunkSize, total) - 1;
+            long chunkStart = offset;
+            RequestBody requestBody = buildForm(bytes, (int) offset, (int) (end - offset + 1),
+                    fileName, mimeType, folder, publicId,
+                    listener != null ? written -> listener.onProgress(chunkStart + written, total) : null);
+            Request request = new Request.Builder()
+                    .url(url)
+                    .header("X-Unique-Upload-Id", uploadId)
+                    .header("Content-Range", "bytes " + offset + "-" + end + "/" + total)
+                    .post(requestBody)
+                    .build();
+
+            int code;
+            String message;
+            String responseBody;
+            try (Response response = client.newCall(request).execute()) {
+                code = response.code();
+                message = response.message();
+                responseBody = response.body() != null ? response.body().string() : "";
+            } catch (IOException e) {
+                // Connection dropped mid-chunk; retry this chunk, progress so far stays persisted
+                if (++attempt > MAX_CHUNK_RETRIES) {
+                    throw e;
+                }
+                Log.w(TAG, "Chunk " + offset + "-" + end + " failed, retry " + attempt, e);
+                sleepBeforeRetry(attempt);
+                continue;
+            }
+
+            if (code < 200 || code >= 300) {
+                // The server no longer knows this upload id; start over once from zero
+                if (offset > 0 && !restarted && code >= 400 && code < 500) {
+                    Log.w(TAG, "Chunked upload " + uploadId + " rejected on resume, restarting");
+                    store.clear(uploadKey);
+                    uploadId = newUploadId();
+                    offset = 0;
+                    restarted = true;
+                    continue;
+                }
+                throw new IOException("Upload failed: " + code + " - " + message);
+            }
+
+            attempt = 0;
+            offset = end + 1;
+
+            if (offset >= total) {
+                store.clear(uploadKey);
+                String secureUrl = parseSecureUrl(responseBody);
+                Log.d(TAG, "Chunked upload successful: " + secureUrl);
+                return secureUrl;
+            }
+            store.saveProgress(uploadKey, uploadId, offset, total);
+        }
+    }
+
+    private static RequestBody buildForm(byte[] bytes, int offset, int length, String fileName,
+            String mimeType, String folder, String publicId, CountingRequestBody.Listener listener) {
+        RequestBody fileBody = RequestBody.create(bytes, MediaType.parse(mimeType), offset, length);
+        if (listener != null) {
+            fileBody = new CountingRequestBody(fileBody, listener);
+        }
+        return new MultipartBody.Builder()
+                .setType(MultipartBody.FORM)
+                .addFormDataPart("file", fileName, fileBody)
+                .addFormDataPart("upload_preset", UPLOAD_PRESET)
+                .addFormDataPart("folder", folder)
+                // Same bytes, same asset: a retry after a lost response cannot create a duplicate
+                .addFormDataPart("public_id", publicId)
+                .build();
+    }
+
+    private static String parseSecureUrl(String responseBody) throws IOException {
+        try {
+            return new JSONObject(responseBody).getString("secure_url");
+        } catch (JSONException e) {
+            Log.e(TAG, "Failed to parse response", e);
+            throw new IOException("Failed to parse response: " + e.getMessage(), e);
+        }
+    }
+
+    private static String newUploadId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    private static void sleepBeforeRetry(int attempt) throws IOException {
+        try {
+            Thread.sleep(CHUNK_RETRY_DELAY_MS * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Upload interrupted", e);
+        }
+    }
+
+    private static byte[] readAll(Context context, Uri imageUri) throws IOException {
+        try (InputStream inputStream = context.getContentResolver().openInputStream(imageUri)) {
+            if (inputStream == null) {
+                throw new IOException("Failed to read image");
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            byte[] chunk = new byte[16 * 1024];
+            int read;
+            while ((read = inputStream.read(chunk)) != -1) {
+                buffer.write(chunk, 0, read);
+            }
+            return buffer.toByteArray();
+        }
     }
 }
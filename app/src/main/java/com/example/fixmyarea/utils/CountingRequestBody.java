@@ -0,0 +1,59 @@
+package com.example.fixmyarea.utils;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.Okio;
+
+/**
+ * RequestBody wrapper that reports how many bytes have been written to the socket
+ */
+class CountingRequestBody extends RequestBody {
+
+    /**
+     * Receives the running byte count of the wrapped body
+     */
+    interface Listener {
+        void onBytesWritten(long bytesWritten);
+    }
+
+    private final RequestBody delegate;
+    private final Listener listener;
+
+    CountingRequestBody(RequestBody delegate, Listener listener) {
+        this.delegate = delegate;
+        this.listener = listener;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return delegate.contentType();
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        return delegate.contentLength();
+    }
+
+    @Override
+    public void writeTo(@NonNull BufferedSink sink) throws IOException {
+        BufferedSink countingSink = Okio.buffer(new ForwardingSink(sink) {
+            private long bytesWritten = 0;
+
+            @Override
+            public void write(@NonNull Buffer source, long byteCount) throws IOException {
+                super.write(source, byteCount);
+                bytesWritten += byteCount;
+                listener.onBytesWritten(bytesWritten);
+            }
+        });
+        delegate.writeTo(countingSink);
+        countingSink.flush();
+    }
+}
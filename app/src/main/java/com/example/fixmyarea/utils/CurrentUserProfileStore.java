@@ -0,0 +1,245 @@
+package com.example.fixmyarea.utils;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.drawable.Drawable;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.request.target.CustomTarget;
+import com.bumptech.glide.request.transition.Transition;
+import com.example.fixmyarea.firebase.FirebaseConstants;
+import com.example.fixmyarea.firebase.FirebaseManager;
+import com.example.fixmyarea.models.User;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Signed-in user's profile and rendered avatar, shared across screens
+ * One snapshot listener on the user document keeps the profile current, and the
+ * avatar is decoded once per image URL into a small circular bitmap. Screens
+ * observe changes instead of fetching; main thread only.
+ */
+public class CurrentUserProfileStore {
+
+    private static final String TAG = "CurrentUserProfileStore";
+    private static final int AVATAR_SIZE_PX = 96;
+
+    private static CurrentUserProfileStore instance;
+    private final Context appContext;
+    private final FirebaseManager firebaseManager;
+
+    private final List<ProfileListener> profileListeners = new ArrayList<>();
+    private final List<AvatarListener> avatarListeners = new ArrayList<>();
+
+    private String userId;
+    private ListenerRegistration registration;
+    private User profile;
+    private String avatarUrl;
+    private Bitmap avatar;
+    // Held so Glide does not drop the load before it completes
+    private CustomTarget<Bitmap> avatarTarget;
+
+    /**
+     * Called with the latest profile
+     */
+    public interface ProfileListener {
+        void onProfileChanged(User profile);
+    }
+
+    /**
+     * Called with the circular avatar, or null when the user has no photo
+     */
+    public interface AvatarListener {
+        void onAvatarChanged(@Nullable Bitmap avatar);
+    }
+
+    private CurrentUserProfileStore(Context context) {
+        appContext = context.getApplicationContext();
+        firebaseManager = FirebaseManager.getInstance();
+    }
+
+    public static synchronized CurrentUserProfileStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new CurrentUserProfileStore(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Observe the profile until the owner is destroyed
+     * Delivers the cached profile right away if there is one.
+     */
+    public void observeProfile(LifecycleOwner owner, ProfileListener listener) {
+        if (!bind(owner, profileListeners, listener)) {
+            return;
+        }
+        if (profile != null) {
+            listener.onProfileChanged(profile);
+        }
+    }
+
+    /**
+     * Observe the avatar until the owner is destroyed
+     * Delivers the cached avatar right away if there is one.
+     */
+    public void observeAvatar(LifecycleOwner owner, AvatarListener listener) {
+        if (!bind(owner, avatarListeners, listener)) {
+            return;
+        }
+        if (avatar != null) {
+            listener.onAvatarChanged(avatar);
+        }
+    }
+
+    /**
+     * @return Cached profile or null if not loaded yet
+     */
+    @Nullable
+    public User getProfile() {
+        ensureListening();
+        return profile;
+    }
+
+    /**
+     * @return Cached circular avatar or null if not loaded or not set
+     */
+    @Nullable
+    public Bitmap getAvatar() {
+        ensureListening();
+        return avatar;
+    }
+
+    /**
+     * Drop the cached profile and stop listening (call on logout)
+     */
+    public void clear() {
+        if (registration != null) {
+            registration.remove();
+            registration = null;
+        }
+        if (avatarTarget != null) {
+            Glide.with(appContext).clear(avatarTarget);
+            avatarTarget = null;
+        }
+        userId = null;
+        profile = null;
+        avatarUrl = null;
+        avatar = null;
+    }
+
+    private <T> boolean bind(LifecycleOwner owner, List<T> listeners, T listener) {
+        if (owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            return false;
+        }
+        listeners.add(listener);
+        owner.getLifecycle().addObserver(new DefaultLifecycleObserver() {
+            @Override
+            public void onDestroy(@NonNull LifecycleOwner source) {
+                listeners.remove(listener);
+            }
+        });
+        ensureListening();
+        return true;
+    }
+
+    private void ensureListening() {
+        FirebaseUser user = firebaseManager.getCurrentUser();
+        if (user == null) {
+            if (userId != null) {
+                clear();
+            }
+            return;
+        }
+        if (user.getUid().equals(userId) && registration != null) {
+            return;
+        }
+
+        // First use, or a different account signed in
+        clear();
+        userId = user.getUid();
+        registration = FirebaseFirestore.getInstance()
+                .collection(FirebaseConstants.COLLECTION_USERS)
+                .document(userId)
+                .addSnapshotListener((snapshot, error) -> {
+                    if (error != null) {
+                        Log.w(TAG, "Profile listener failed", error);
+                        return;
+                    }
+                    if (snapshot == null || !snapshot.exists()) {
+                        return;
+                    }
+                    onProfile(snapshot.toObject(User.class));
+                });
+    }
+
+    private void onProfile(User updated) {
+        if (updated == null) {
+            return;
+        }
+        profile = updated;
+        for (ProfileListener listener : new ArrayList<>(profileListeners)) {
+            listener.onProfileChanged(updated);
+        }
+
+        String url = updated.getProfileImageUrl();
+        if (url == null || url.isEmpty()) {
+            if (avatarUrl != null) {
+                avatarUrl = null;
+                avatar = null;
+                notifyAvatar();
+            }
+            return;
+        }
+        if (url.equals(avatarUrl)) {
+            // Profile changed but the photo did not; keep the decoded avatar
+            return;
+        }
+        avatarUrl = url;
+        loadAvatar(url);
+    }
+
+    private void loadAvatar(String url) {
+        if (avatarTarget != null) {
+            Glide.with(appContext).clear(avatarTarget);
+        }
+        avatarTarget = new CustomTarget<Bitmap>(AVATAR_SIZE_PX, AVATAR_SIZE_PX) {
+            @Override
+            public void onResourceReady(@NonNull Bitmap resource,
+                                        @Nullable Transition<? super Bitmap> transition) {
+                if (!url.equals(avatarUrl)) {
+                    return;
+                }
+                // Own copy, so Glide may recycle its bitmap when this target is cleared
+                avatar = resource.copy(Bitmap.Config.ARGB_8888, false);
+                notifyAvatar();
+            }
+
+            @Override
+            public void onLoadCleared(@Nullable Drawable placeholder) {
+            }
+        };
+        Glide.with(appContext)
+                .asBitmap()
+                .load(url)
+                .override(AVATAR_SIZE_PX, AVATAR_SIZE_PX)
+                .circleCrop()
+                .into(avatarTarget);
+    }
+
+    private void notifyAvatar() {
+        for (AvatarListener listener : new ArrayList<>(avatarListeners)) {
+            listener.onAvatarChanged(avatar);
+        }
+    }
+}
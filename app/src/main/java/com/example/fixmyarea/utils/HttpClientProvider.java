@@ -0,0 +1,88 @@
+package com.example.fixmyarea.utils;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * App-scoped OkHttp client.
+ * Sharing one client keeps a single connection pool, so uploads reuse warm
+ * TLS connections and parallel requests multiplex over one HTTP/2 connection.
+ */
+public final class HttpClientProvider {
+
+    private static final String TAG = "HttpClientProvider";
+
+    private static final int CONNECT_TIMEOUT_SECONDS = 15;
+    private static final int READ_TIMEOUT_SECONDS = 30;
+    private static final int WRITE_TIMEOUT_SECONDS = 60;
+    private static final int MAX_IDLE_CONNECTIONS = 5;
+    private static final int KEEP_ALIVE_MINUTES = 5;
+    private static final int MAX_REQUESTS_PER_HOST = 5;
+
+    private HttpClientProvider() {
+    }
+
+    // Lazy holder so the client is only built on first network use
+    private static final class Holder {
+        static final OkHttpClient CLIENT = buildClient();
+    }
+
+    public static OkHttpClient getClient() {
+        return Holder.CLIENT;
+    }
+
+    private static OkHttpClient buildClient() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .writeTimeout(WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .retryOnConnectionFailure(true)
+                .build();
+    }
+
+    /**
+     * Open a connection to a host ahead of time
+     * Resolves DNS and completes the TLS handshake so the connection is pooled
+     * before the first real request. The response itself is discarded.
+     *
+     * @param url Any URL on the host to warm up
+     */
+    public static void preconnect(String url) {
+        Request request = new Request.Builder()
+                .url(url)
+                .head()
+                .build();
+
+        getClient().newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                Log.d(TAG, "Preconnect failed: " + e.getMessage());
+            }
+
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) {
+                response.close();
+            }
+        });
+    }
+}
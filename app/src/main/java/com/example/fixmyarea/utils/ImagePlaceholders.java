@@ -0,0 +1,49 @@
+package com.example.fixmyarea.utils;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.util.LruCache;
+
+import androidx.annotation.DrawableRes;
+import androidx.core.content.ContextCompat;
+
+/**
+ * Decodes BlurHash placeholders for image views
+ * Decoding a 32x32 hash takes well under a millisecond, so it is done on the
+ * main thread while binding; decoded bitmaps are cached for rebinding rows.
+ */
+public final class ImagePlaceholders {
+
+    private static final int SIZE = 32;
+    private static final int CACHE_ENTRIES = 200;
+
+    private static final LruCache<String, Bitmap> CACHE = new LruCache<>(CACHE_ENTRIES);
+
+    private ImagePlaceholders() {
+    }
+
+    /**
+     * Get a placeholder drawable for a BlurHash
+     *
+     * @param context  Context for resources
+     * @param hash     BlurHash stored with the image, may be null
+     * @param fallback Drawable to use when there is no usable hash
+     * @return Placeholder drawable
+     */
+    public static Drawable get(Context context, String hash, @DrawableRes int fallback) {
+        if (hash == null || hash.isEmpty()) {
+            return ContextCompat.getDrawable(context, fallback);
+        }
+        Bitmap bitmap = CACHE.get(hash);
+        if (bitmap == null) {
+            bitmap = BlurHash.decode(hash, SIZE, SIZE);
+            if (bitmap == null) {
+                return ContextCompat.getDrawable(context, fallback);
+            }
+            CACHE.put(hash, bitmap);
+        }
+        return new BitmapDrawable(context.getResources(), bitmap);
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.fixmyarea.utils;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Matrix;
+import android.net.Uri;
+import android.os.Build;
+import android.util.Log;
+
+import androidx.exifinterface.media.ExifInterface;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Shrinks picked images before they are uploaded.
+ * Decodes with inSampleSize, scales to a maximum long edge, applies the EXIF
+ * orientation and re-encodes without metadata. Must be called off the main thread.
+ */
+public final class ImagePreprocessor {
+
+    private static final String TAG = "ImagePreprocessor";
+
+    public static final int DEFAULT_MAX_LONG_EDGE = 1600;
+    public static final int DEFAULT_QUALITY = 80;
+
+    private static final int PLACEHOLDER_COMPONENTS_X = 4;
+    private static final int PLACEHOLDER_COMPONENTS_Y = 3;
+
+    private ImagePreprocessor() {
+    }
+
+    /**
+     * Preprocessing settings
+     */
+    public static class Options {
+        private final int maxLongEdge;
+        private final int quality;
+        private final boolean preferWebp;
+
+        /**
+         * @param maxLongEdge Longest side of the output image in pixels
+         * @param quality     Encoder quality (0-100)
+         * @param preferWebp  Encode as WebP where the platform supports lossy WebP
+         */
+        public Options(int maxLongEdge, int quality, boolean preferWebp) {
+            this.maxLongEdge = maxLongEdge;
+            this.quality = quality;
+            this.preferWebp = preferWebp;
+        }
+
+        public static Options defaults() {
+            return new Options(DEFAULT_MAX_LONG_EDGE, DEFAULT_QUALITY, true);
+        }
+
+        public int getMaxLongEdge() {
+            return maxLongEdge;
+        }
+
+        public int getQuality() {
+            return quality;
+        }
+
+        public boolean isPreferWebp() {
+            return preferWebp;
+        }
+    }
+
+    /**
+     * Encoded image ready for upload
+     */
+    public static class Result {
+        private final byte[] bytes;
+        private final String mimeType;
+        private final String fileName;
+        private final int width;
+        private final int height;
+        private final String placeholder;
+
+        public Result(byte[] bytes, String mimeType, String fileName, int width, int height,
+                String placeholder) {
+            this.bytes = bytes;
+            this.mimeType = mimeType;
+            this.fileName = fileName;
+            this.width = width;
+            this.height = height;
+            this.placeholder = placeholder;
+        }
+
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        /**
+         * @return BlurHash of the image, shown while the full image loads
+         */
+        public String getPlaceholder() {
+            return placeholder;
+        }
+    }
+
+    /**
+     * Decode, downscale, rotate and re-encode an image
+     *
+     * @param context  Application context
+     * @param imageUri URI of the picked image
+     * @param options  Target size and encoding
+     * @return Encoded image
+     * @throws IOException if the image cannot be read or decoded
+     */
+    public static Result preprocess(Context context, Uri imageUri, Options options) throws IOException {
+        // Read bounds only, so the full-size bitmap is never allocated
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        try (InputStream in = open(context, imageUri)) {
+            BitmapFactory.decodeStream(in, null, bounds);
+        }
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+            throw new IOException("Unsupported image format");
+        }
+
+        int orientation;
+        try (InputStream in = open(context, imageUri)) {
+            orientation = new ExifInterface(in).getAttributeInt(
+                    ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+        } catch (IOException e) {
+            Log.w(TAG, "Could not read EXIF orientation", e);
+            orientation = ExifInterface.ORIENTATION_NORMAL;
+        }
+
+        BitmapFactory.Options decode = new BitmapFactory.Options();
+        decode.inSampleSize = calculateInSampleSize(bounds.outWidth, bounds.outHeight, options.getMaxLongEdge());
+        decode.inPreferredConfig = Bitmap.Config.ARGB_8888;
+
+        Bitmap sampled;
+        try (InputStream in = open(context, imageUri)) {
+            sampled = BitmapFactory.decodeStream(in, null, decode);
+        }
+        if (sampled == null) {
+            throw new IOException("Failed to decode image");
+        }
+
+        Bitmap output = scaleAndOrient(sampled, orientation, options.getMaxLongEdge());
+        if (output != sampled) {
+            sampled.recycle();
+        }
+
+        // Encoding a fresh bitmap drops EXIF, GPS and other metadata
+        boolean webp = options.isPreferWebp() && Build.VERSION.SDK_INT >= Build.VERSION_CODES.R;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (webp) {
+            output.compress(Bitmap.CompressFormat.WEBP_LOSSY, options.getQuality(), out);
+        } else {
+            output.compress(Bitmap.CompressFormat.JPEG, options.getQuality(), out);
+        }
+
+        Result result = new Result(out.toByteArray(),
+                webp ? "image/webp" : "image/jpeg",
+                webp ? "image.webp" : "image.jpg",
+                output.getWidth(),
+                output.getHeight(),
+                BlurHash.encode(output, PLACEHOLDER_COMPONENTS_X, PLACEHOLDER_COMPONENTS_Y));
+        output.recycle();
+
+        Log.d(TAG, "Preprocessed " + bounds.outWidth + "x" + bounds.outHeight + " -> "
+                + result.getWidth() + "x" + result.getHeight() + ", " + result.getBytes().length + " bytes");
+        return result;
+    }
+
+    /**
+     * Largest power-of-two sample size that keeps the long edge at or above the target
+     */
+    static int calculateInSampleSize(int width, int height, int maxLongEdge) {
+        int longEdge = Math.max(width, height);
+        int inSampleSize = 1;
+        while (longEdge / (inSampleSize * 2) >= maxLongEdge) {
+            inSampleSize *= 2;
+        }
+        return inSampleSize;
+    }
+
+    private static Bitmap scaleAndOrient(Bitmap source, int orientation, int maxLongEdge) {
+        Matrix matrix = new Matrix();
+
+        int longEdge = Math.max(source.getWidth(), source.getHeight());
+        if (longEdge > maxLongEdge) {
+            float scale = (float) maxLongEdge / longEdge;
+            matrix.postScale(scale, scale);
+        }
+
+        switch (orientation) {
+            case ExifInterface.ORIENTATION_FLIP_HORIZONTAL:
+                matrix.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_180:
+                matrix.postRotate(180);
+                break;
+            case ExifInterface.ORIENTATION_FLIP_VERTICAL:
+                matrix.postScale(1, -1);
+                break;
+            case ExifInterface.ORIENTATION_TRANSPOSE:
+                matrix.postRotate(90);
+                matrix.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_90:
+                matrix.postRotate(90);
+                break;
+            case ExifInterface.ORIENTATION_TRANSVERSE:
+                matrix.postRotate(-90);
+                matrix.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_270:
+                matrix.postRotate(270);
+                break;
+            default:
+                break;
+        }
+
+        if (matrix.isIdentity()) {
+            return source;
+        }
+        return Bitmap.createBitmap(source, 0, 0, source.getWidth(), source.getHeight(), matrix, true);
+    }
+
+    private static InputStream open(Context context, Uri imageUri) throws IOException {
+        InputStream in = context.getContentResolver().openInputStream(imageUri);
+        if (in == null) {
+            throw new IOException("Failed to read image");
+        }
+        return in;
+    }
+}
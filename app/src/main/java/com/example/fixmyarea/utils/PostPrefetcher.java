@@ -0,0 +1,125 @@
+package com.example.fixmyarea.utils;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.NetworkCapabilities;
+import android.util.LruCache;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.Priority;
+import com.example.fixmyarea.R;
+import com.example.fixmyarea.models.Post;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms up PostDetailActivity before it is opened
+ * Rows call in on touch-down, and after a long dwell on screen. The post goes into
+ * PostStore and its first gallery image is decoded into Glide's cache at the detail
+ * hero size, so the detail screen shows full content on its first frame.
+ * Image prefetches are limited per time window, more tightly on metered networks,
+ * and skipped entirely offline or with Data Saver on. Main thread only.
+ */
+public class PostPrefetcher {
+
+    private static final long WINDOW_MS = TimeUnit.MINUTES.toMillis(10);
+    // Images started per window; a dwell only counts on unmetered networks
+    private static final int UNMETERED_BUDGET = 30;
+    private static final int METERED_BUDGET = 6;
+    private static final int RECENT_ENTRIES = 100;
+
+    private static PostPrefetcher instance;
+    private final Context appContext;
+    private final ConnectivityManager connectivityManager;
+
+    // Start times of image prefetches in the current window, oldest first
+    private final ArrayDeque<Long> started = new ArrayDeque<>();
+    // Image URLs already prefetched, so rebinding or re-touching a row is free
+    private final LruCache<String, Boolean> recent = new LruCache<>(RECENT_ENTRIES);
+
+    private PostPrefetcher(Context context) {
+        appContext = context.getApplicationContext();
+        connectivityManager = (ConnectivityManager) appContext.getSystemService(Context.CONNECTIVITY_SERVICE);
+    }
+
+    public static synchronized PostPrefetcher getInstance(Context context) {
+        if (instance == null) {
+            instance = new PostPrefetcher(context);
+        }
+        return instance;
+    }
+
+    /**
+     * The user put a finger on a post row; a tap is likely to follow
+     */
+    public void onTouchDown(Post post) {
+        prefetch(post, true);
+    }
+
+    /**
+     * A post row has stayed on screen for a while
+     */
+    public void onDwell(Post post) {
+        prefetch(post, false);
+    }
+
+    private void prefetch(Post post, boolean touched) {
+        if (post == null || post.getPostId() == null) {
+            return;
+        }
+        // List posts are full issue documents, so the detail screen can render from
+        // the store without reading the document again
+        PostStore.getInstance().put(post);
+
+        String imageUrl = post.getFirstImageUrl();
+        if (imageUrl == null || imageUrl.isEmpty() || recent.get(imageUrl) != null) {
+            return;
+        }
+        int budget = imageBudget(touched);
+        long now = System.currentTimeMillis();
+        while (!started.isEmpty() && now - started.peekFirst() > WINDOW_MS) {
+            started.pollFirst();
+        }
+        if (started.size() >= budget) {
+            return;
+        }
+        started.addLast(now);
+        recent.put(imageUrl, Boolean.TRUE);
+
+        // Same size and transformation as the detail pager, so its first bind is a
+        // memory cache hit
+        int width = appContext.getResources().getDisplayMetrics().widthPixels;
+        int height = appContext.getResources().getDimensionPixelSize(R.dimen.post_detail_hero_height);
+        Glide.with(appContext)
+                .load(imageUrl)
+                .priority(touched ? Priority.HIGH : Priority.LOW)
+                .fitCenter()
+                .preload(width, height);
+    }
+
+    /**
+     * @return Image prefetches allowed per window for this trigger on the current network
+     */
+    private int imageBudget(boolean touched) {
+        if (connectivityManager == null) {
+            return 0;
+        }
+        NetworkCapabilities capabilities =
+                connectivityManager.getNetworkCapabilities(connectivityManager.getActiveNetwork());
+        if (capabilities == null
+                || !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)) {
+            return 0;
+        }
+        if (!connectivityManager.isActiveNetworkMetered()) {
+            return UNMETERED_BUDGET;
+        }
+        if (!touched || connectivityManager.getRestrictBackgroundStatus()
+                == ConnectivityManager.RESTRICT_BACKGROUND_STATUS_ENABLED) {
+            // Dwell is too weak a signal to spend metered data on, and Data Saver
+            // means the user does not want speculative loads at all
+            return 0;
+        }
+        return METERED_BUDGET;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.fixmyarea.utils;
+
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.example.fixmyarea.firebase.FirebaseConstants;
+import com.example.fixmyarea.firebase.FirebaseManager;
+import com.example.fixmyarea.firebase.PostMapper;
+import com.example.fixmyarea.models.Post;
+import com.google.firebase.firestore.ListenerRegistration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory cache of posts by id, shared by list and detail screens
+ * Lists put what they load; detail screens render from the cache straight away and
+ * then observe the issue document for live updates. Main thread only.
+ */
+public class PostStore {
+
+    private static final String TAG = "PostStore";
+    private static final int CACHE_ENTRIES = 1000;
+
+    private static PostStore instance;
+    private final FirebaseManager firebaseManager;
+    private final LruCache<String, Post> cache = new LruCache<>(CACHE_ENTRIES);
+
+    /**
+     * Live updates for one post
+     */
+    public interface PostListener {
+        void onPostChanged(Post post);
+
+        /**
+         * The post was deleted or could not be loaded
+         */
+        void onPostUnavailable();
+    }
+
+    private PostStore() {
+        firebaseManager = FirebaseManager.getInstance();
+    }
+
+    public static synchronized PostStore getInstance() {
+        if (instance == null) {
+            instance = new PostStore();
+        }
+        return instance;
+    }
+
+    /**
+     * @return Cached post or null
+     */
+    public Post get(String postId) {
+        return postId != null ? cache.get(postId) : null;
+    }
+
+    public void put(Post post) {
+        if (post != null && post.getPostId() != null) {
+            cache.put(post.getPostId(), post);
+        }
+    }
+
+    public void putAll(List<Post> posts) {
+        for (Post post : posts) {
+            put(post);
+        }
+    }
+
+    /**
+     * @return Copy of the cached posts, most recently used last
+     */
+    public List<Post> snapshot() {
+        return new ArrayList<>(cache.snapshot().values());
+    }
+
+    public void remove(String postId) {
+        if (postId != null) {
+            cache.remove(postId);
+        }
+    }
+
+    /**
+     * Drop all cached posts (call on logout)
+     */
+    public void clear() {
+        cache.evictAll();
+    }
+
+    /**
+     * Listen to a post's document while the owner is started
+     * Every snapshot refreshes the cache entry. The first snapshot usually comes
+     * from Firestore's local cache, the server copy follows.
+     *
+     * @param owner    Lifecycle the listener is bound to (attached in onStart, removed in onStop)
+     * @param postId   Issue document id
+     * @param listener Callback on the main thread
+     */
+    public void observe(LifecycleOwner owner, String postId, PostListener listener) {
+        owner.getLifecycle().addObserver(new DefaultLifecycleObserver() {
+            private ListenerRegistration registration;
+
+            @Override
+            public void onStart(@NonNull LifecycleOwner source) {
+                registration = firebaseManager.getFirestore()
+                        .collection(FirebaseConstants.COLLECTION_ISSUES)
+                        .document(postId)
+                        .addSnapshotListener((snapshot, error) -> {
+                            if (error != null) {
+                                Log.w(TAG, "Post listener failed", error);
+                                if (get(postId) == null) {
+                                    listener.onPostUnavailable();
+                                }
+                                return;
+                            }
+                            if (snapshot == null || !snapshot.exists()) {
+                                remove(postId);
+                                listener.onPostUnavailable();
+                                return;
+                            }
+                            listener.onPostChanged(update(PostMapper.fromSnapshot(snapshot)));
+                        });
+            }
+
+            @Override
+            public void onStop(@NonNull LifecycleOwner source) {
+                if (registration != null) {
+                    registration.remove();
+                    registration = null;
+                }
+            }
+        });
+    }
+
+    private Post update(Post fresh) {
+        // Reporter info comes from UserDirectory, not the issue document
+        Post previous = cache.get(fresh.getPostId());
+        if (previous != null && previous.getReporterName() != null
+                && previous.getReporterId() != null && previous.getReporterId().equals(fresh.getReporterId())) {
+            fresh.setReporterName(previous.getReporterName());
+            fresh.setReporterImageUrl(previous.getReporterImageUrl());
+        }
+        cache.put(fresh.getPostId(), fresh);
+        return fresh;
+    }
+}
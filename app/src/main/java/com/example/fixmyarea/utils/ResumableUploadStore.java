@@ -0,0 +1,94 @@
+package com.example.fixmyarea.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+/**
+ * Persists the progress of chunked Cloudinary uploads
+ * Stores the X-Unique-Upload-Id and the next unacknowledged byte offset per upload,
+ * so an interrupted upload resumes at the last acknowledged chunk.
+ */
+public class ResumableUploadStore {
+
+    private static final String PREFS_NAME = "cloudinary_chunked_uploads";
+    private static final String SUFFIX_UPLOAD_ID = ".uploadId";
+    private static final String SUFFIX_OFFSET = ".offset";
+    private static final String SUFFIX_TOTAL = ".total";
+    private static final String SUFFIX_UPDATED_AT = ".updatedAt";
+
+    // Cloudinary discards incomplete chunked uploads after a while; don't resume stale ones
+    private static final long MAX_AGE_MS = 24L * 60 * 60 * 1000;
+
+    private final SharedPreferences prefs;
+
+    public ResumableUploadStore(Context context) {
+        prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Saved progress for an upload
+     */
+    public static class State {
+        private final String uploadId;
+        private final long nextOffset;
+
+        public State(String uploadId, long nextOffset) {
+            this.uploadId = uploadId;
+            this.nextOffset = nextOffset;
+        }
+
+        public String getUploadId() {
+            return uploadId;
+        }
+
+        public long getNextOffset() {
+            return nextOffset;
+        }
+    }
+
+    /**
+     * Get saved progress for an upload
+     *
+     * @param key        Stable key identifying the upload content
+     * @param totalBytes Total payload size; state for a different size is discarded
+     * @return Saved state or null if the upload has to start from zero
+     */
+    public synchronized State get(String key, long totalBytes) {
+        String uploadId = prefs.getString(key + SUFFIX_UPLOAD_ID, null);
+        if (uploadId == null) {
+            return null;
+        }
+
+        long total = prefs.getLong(key + SUFFIX_TOTAL, -1);
+        long updatedAt = prefs.getLong(key + SUFFIX_UPDATED_AT, 0);
+        if (total != totalBytes || System.currentTimeMillis() - updatedAt > MAX_AGE_MS) {
+            clear(key);
+            return null;
+        }
+        return new State(uploadId, prefs.getLong(key + SUFFIX_OFFSET, 0));
+    }
+
+    /**
+     * Record that all bytes before nextOffset were acknowledged by the server
+     */
+    public synchronized void saveProgress(String key, String uploadId, long nextOffset, long totalBytes) {
+        prefs.edit()
+                .putString(key + SUFFIX_UPLOAD_ID, uploadId)
+                .putLong(key + SUFFIX_OFFSET, nextOffset)
+                .putLong(key + SUFFIX_TOTAL, totalBytes)
+                .putLong(key + SUFFIX_UPDATED_AT, System.currentTimeMillis())
+                .apply();
+    }
+
+    /**
+     * Forget an upload (call when it completes or can't be resumed)
+     */
+    public synchronized void clear(String key) {
+        prefs.edit()
+                .remove(key + SUFFIX_UPLOAD_ID)
+                .remove(key + SUFFIX_OFFSET)
+                .remove(key + SUFFIX_TOTAL)
+                .remove(key + SUFFIX_UPDATED_AT)
+                .apply();
+    }
+}
@@ -1,81 +1,227 @@
 package com.example.fixmyarea.utils;
 
 import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
 import com.example.fixmyarea.firebase.FirebaseConstants;
 import com.example.fixmyarea.firebase.FirebaseManager;
-import com.google.android.gms.tasks.Task;
+import com.google.firebase.auth.FirebaseUser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.subjects.BehaviorSubject;
 
 /**
  * Utility class for role-based access control
+ * The resolved role is kept in memory and persisted with a TTL, so role checks
+ * normally cost no lookups at all; misses are answered from the ID token's role
+ * claim, with the user document only as a fallback. A stale role is still answered from the
+ * cache and refreshed in the background. Safe to call from any thread;
+ * callbacks are delivered on the main thread.
  */
 public class RoleManager {
 
+    private static final String TAG = "RoleManager";
+    private static final String PREFS_NAME = "role_cache";
+    private static final String KEY_USER_ID = "user_id";
+    private static final String KEY_ROLE = "role";
+    private static final String KEY_RESOLVED_AT = "resolved_at";
+
+    // Role changes are rare and made by admins; a role up to half a day old is acceptable
+    private static final long ROLE_TTL_MS = TimeUnit.HOURS.toMillis(12);
+
     private static RoleManager instance;
     private final FirebaseManager firebaseManager;
-    private String currentUserRole = null;
-    private String currentUserId = null;
+    private final SharedPreferences prefs;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final BehaviorSubject<String> roleSubject = BehaviorSubject.create();
+
+    // Last resolved role; replaced as a whole so readers never see a mixed state
+    private volatile CachedRole cached;
+
+    // In-flight fetch and a counter bumped on logout, guarded by "this"
+    private PendingFetch pending;
+    private int generation;
 
-    private RoleManager() {
+    private RoleManager(Context context) {
         firebaseManager = FirebaseManager.getInstance();
+        prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+
+        String userId = prefs.getString(KEY_USER_ID, null);
+        String role = prefs.getString(KEY_ROLE, null);
+        if (userId != null && role != null) {
+            cached = new CachedRole(userId, role, prefs.getLong(KEY_RESOLVED_AT, 0L));
+            roleSubject.onNext(role);
+        }
     }
 
-    public static synchronized RoleManager getInstance() {
+    public static synchronized RoleManager getInstance(Context context) {
         if (instance == null) {
-            instance = new RoleManager();
+            instance = new RoleManager(context);
         }
         return instance;
     }
 
+    /**
+     * Observe the signed-in user's role
+     * Emits the current role on subscribe if one is known, then every change.
+     * Emissions may arrive on any thread.
+     *
+     * @return Observable of role values
+     */
+    public Observable<String> observeRole() {
+        return roleSubject.distinctUntilChanged();
+    }
+
     /**
      * Check if current user is an admin
-     * 
+     *
      * @param callback Callback with result
      */
     public void isAdmin(RoleCheckCallback callback) {
-        if (firebaseManager.getCurrentUser() == null) {
+        FirebaseUser user = firebaseManager.getCurrentUser();
+        if (user == null) {
             callback.onResult(false);
             return;
         }
+        getUserRole(user.getUid(), role -> callback.onResult(FirebaseConstants.ROLE_ADMIN.equals(role)));
+    }
 
-        String userId = firebaseManager.getCurrentUser().getUid();
-
-        // Use cached role if available and same user
-        if (currentUserRole != null && userId.equals(currentUserId)) {
-            callback.onResult(FirebaseConstants.ROLE_ADMIN.equals(currentUserRole));
+    /**
+     * Get user role with callback
+     * Answers from the cache when it holds this user's role, refreshing it in the
+     * background once the TTL has passed. Falls back to the user role if the role
+     * cannot be fetched.
+     */
+    public void getUserRole(String userId, RoleCallback callback) {
+        CachedRole current = cached;
+        if (current != null && current.userId.equals(userId)) {
+            deliver(callback, current.role);
+            if (current.isExpired(System.currentTimeMillis())) {
+                // Refresh the ID token too, so a changed role claim is picked up
+                fetch(userId, true, null);
+            }
             return;
         }
-
-        // Fetch role from Firestore
-        firebaseManager.getUserRole(userId).addOnCompleteListener(task -> {
-            if (task.isSuccessful()) {
-                currentUserId = userId;
-                currentUserRole = task.getResult();
-                callback.onResult(FirebaseConstants.ROLE_ADMIN.equals(currentUserRole));
-            } else {
-                callback.onResult(false);
-            }
-        });
+        fetch(userId, false, callback);
     }
 
     /**
-     * Get user role with callback
+     * Resolve the role, sharing one lookup between concurrent callers
+     *
+     * @param forceTokenRefresh Fetch a fresh ID token instead of using the cached one
+     * @param callback          Callback for the result, or null for a background refresh
      */
-    public void getUserRole(String userId, RoleCallback callback) {
-        firebaseManager.getUserRole(userId).addOnCompleteListener(task -> {
+    private void fetch(String userId, boolean forceTokenRefresh, RoleCallback callback) {
+        PendingFetch fetch;
+        synchronized (this) {
+            if (pending != null && pending.userId.equals(userId)) {
+                if (callback != null) {
+                    pending.callbacks.add(callback);
+                }
+                return;
+            }
+            fetch = new PendingFetch(userId, generation);
+            if (callback != null) {
+                fetch.callbacks.add(callback);
+            }
+            pending = fetch;
+        }
+
+        firebaseManager.getUserRole(userId, forceTokenRefresh).addOnCompleteListener(task -> {
+            String role;
             if (task.isSuccessful()) {
-                callback.onResult(task.getResult());
+                role = task.getResult();
+                store(fetch, role);
             } else {
-                callback.onResult(FirebaseConstants.ROLE_USER);
+                Log.w(TAG, "Failed to fetch role", task.getException());
+                CachedRole current = cached;
+                role = current != null && current.userId.equals(userId)
+                        ? current.role : FirebaseConstants.ROLE_USER;
+            }
+
+            List<RoleCallback> callbacks;
+            synchronized (this) {
+                if (pending == fetch) {
+                    pending = null;
+                }
+                callbacks = new ArrayList<>(fetch.callbacks);
+            }
+            for (RoleCallback waiting : callbacks) {
+                deliver(waiting, role);
             }
         });
     }
 
+    private void store(PendingFetch fetch, String role) {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            if (fetch.generation != generation) {
+                // Signed out while the fetch was in flight
+                return;
+            }
+            cached = new CachedRole(fetch.userId, role, now);
+            prefs.edit()
+                    .putString(KEY_USER_ID, fetch.userId)
+                    .putString(KEY_ROLE, role)
+                    .putLong(KEY_RESOLVED_AT, now)
+                    .apply();
+        }
+        roleSubject.onNext(role);
+    }
+
+    private void deliver(RoleCallback callback, String role) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            callback.onResult(role);
+        } else {
+            mainHandler.post(() -> callback.onResult(role));
+        }
+    }
+
     /**
      * Clear cached role (call on logout)
      */
     public void clearCache() {
-        currentUserRole = null;
-        currentUserId = null;
+        synchronized (this) {
+            cached = null;
+            pending = null;
+            generation++;
+            prefs.edit().clear().apply();
+        }
+        roleSubject.onNext(FirebaseConstants.ROLE_USER);
+    }
+
+    private static class PendingFetch {
+        final String userId;
+        final int generation;
+        final List<RoleCallback> callbacks = new ArrayList<>();
+
+        PendingFetch(String userId, int generation) {
+            this.userId = userId;
+            this.generation = generation;
+        }
+    }
+
+    private static class CachedRole {
+        final String userId;
+        final String role;
+        final long resolvedAt;
+
+        CachedRole(String userId, String role, long resolvedAt) {
+            this.userId = userId;
+            this.role = role;
+            this.resolvedAt = resolvedAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - resolvedAt > ROLE_TTL_MS;
+        }
     }
 
     /**
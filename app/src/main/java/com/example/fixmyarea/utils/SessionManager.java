@@ -1,20 +1,35 @@
 package com.example.fixmyarea.utils;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
 import androidx.datastore.preferences.core.MutablePreferences;
 import androidx.datastore.preferences.core.Preferences;
 import androidx.datastore.preferences.core.PreferencesKeys;
 import androidx.datastore.preferences.rxjava3.RxPreferenceDataStoreBuilder;
 import androidx.datastore.rxjava3.RxDataStore;
 
+import java.util.concurrent.Executors;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
 import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.functions.Function;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 
 /**
  * SessionManager handles user session persistence using DataStore
- * Provides methods to save, retrieve, and clear user session data
+ * The session is loaded once in the background into an in-memory snapshot;
+ * getters read the snapshot and writes update it immediately, then persist
+ * asynchronously. Use {@link #getSession(SessionCallback)} where the snapshot
+ * may not be loaded yet, e.g. at app start.
  */
 public class SessionManager {
 
+    private static final String TAG = "SessionManager";
     private static final String DATASTORE_NAME = "user_session";
 
     // Preference keys
@@ -23,12 +38,38 @@ public class SessionManager {
     private static final Preferences.Key<String> KEY_USER_ROLE = PreferencesKeys.stringKey("user_role");
     private static final Preferences.Key<Long> KEY_LOGIN_TIMESTAMP = PreferencesKeys.longKey("login_timestamp");
     private static final Preferences.Key<Boolean> KEY_IS_LOGGED_IN = PreferencesKeys.booleanKey("is_logged_in");
+    // Stamped on every write, so reads can tell older data from this process's latest write
+    private static final Preferences.Key<Long> KEY_WRITE_VERSION = PreferencesKeys.longKey("write_version");
+
+    private static final SessionData EMPTY_SESSION = new SessionData(null, null, "user", 0L, false);
 
     private static SessionManager instance;
     private final RxDataStore<Preferences> dataStore;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // Session writes run one at a time; a logout must not be overtaken by the login before it
+    private final Scheduler writeScheduler = Schedulers.from(Executors.newSingleThreadExecutor());
+
+    // Latest known session; null until the first DataStore read completes
+    private volatile SessionData snapshot;
+    // Version of the last write made here; DataStore emissions older than it are stale
+    private long lastWriteVersion;
+
+    /**
+     * Callback for asynchronous session reads, delivered on the main thread
+     */
+    public interface SessionCallback {
+        void onSession(SessionData session);
+    }
 
     private SessionManager(Context context) {
         dataStore = new RxPreferenceDataStoreBuilder(context.getApplicationContext(), DATASTORE_NAME).build();
+
+        // Keep the snapshot in sync with disk for the lifetime of the process
+        dataStore.data()
+                .subscribeOn(Schedulers.io())
+                .subscribe(
+                        this::onStored,
+                        error -> Log.e(TAG, "Failed to read session", error));
     }
 
     public static synchronized SessionManager getInstance(Context context) {
@@ -38,6 +79,43 @@ public class SessionManager {
         return instance;
     }
 
+    /**
+     * Observe session changes
+     * Emits the persisted session, then again after every write. Emissions arrive on
+     * an I/O thread.
+     *
+     * @return Flowable of session data
+     */
+    public Flowable<SessionData> observeSession() {
+        return dataStore.data()
+                .map(SessionManager::toSessionData)
+                .subscribeOn(Schedulers.io());
+    }
+
+    /**
+     * Get the session without blocking
+     * Answers straight from the snapshot when it is loaded, otherwise after the first
+     * DataStore read.
+     *
+     * @param callback Callback on the main thread
+     */
+    public void getSession(SessionCallback callback) {
+        SessionData current = snapshot;
+        if (current != null) {
+            callback.onSession(current);
+            return;
+        }
+        dataStore.data().firstOrError().subscribeOn(Schedulers.io()).subscribe(
+                prefs -> {
+                    SessionData session = onStored(prefs);
+                    mainHandler.post(() -> callback.onSession(session));
+                },
+                error -> {
+                    Log.e(TAG, "Failed to read session", error);
+                    mainHandler.post(() -> callback.onSession(EMPTY_SESSION));
+                });
+    }
+
     /**
      * Save user session data
      * 
@@ -46,15 +124,19 @@ public class SessionManager {
      * @param role   User role (admin/user)
      */
     public void saveSession(String userId, String email, String role) {
-        dataStore.updateDataAsync(prefsIn -> {
+        long loginTimestamp = System.currentTimeMillis();
+        long version = writeLocally(
+                new SessionData(userId, email, role != null ? role : "user", loginTimestamp, true));
+
+        persist(version, prefsIn -> {
             MutablePreferences mutablePreferences = prefsIn.toMutablePreferences();
             mutablePreferences.set(KEY_USER_ID, userId);
             mutablePreferences.set(KEY_USER_EMAIL, email);
             mutablePreferences.set(KEY_USER_ROLE, role);
-            mutablePreferences.set(KEY_LOGIN_TIMESTAMP, System.currentTimeMillis());
+            mutablePreferences.set(KEY_LOGIN_TIMESTAMP, loginTimestamp);
             mutablePreferences.set(KEY_IS_LOGGED_IN, true);
             return Single.just(mutablePreferences);
-        }).blockingSubscribe();
+        });
     }
 
     /**
@@ -73,7 +155,7 @@ public class SessionManager {
      * @return User ID or null if not logged in
      */
     public String getUserId() {
-        return dataStore.data().map(prefs -> prefs.get(KEY_USER_ID)).blockingFirst();
+        return getSessionData().getUserId();
     }
 
     /**
@@ -82,7 +164,7 @@ public class SessionManager {
      * @return User email or null if not logged in
      */
     public String getUserEmail() {
-        return dataStore.data().map(prefs -> prefs.get(KEY_USER_EMAIL)).blockingFirst();
+        return getSessionData().getEmail();
     }
 
     /**
@@ -91,8 +173,7 @@ public class SessionManager {
      * @return Timestamp in milliseconds or 0 if not logged in
      */
     public long getLoginTimestamp() {
-        Long timestamp = dataStore.data().map(prefs -> prefs.get(KEY_LOGIN_TIMESTAMP)).blockingFirst();
-        return timestamp != null ? timestamp : 0L;
+        return getSessionData().getLoginTimestamp();
     }
 
     /**
@@ -101,8 +182,7 @@ public class SessionManager {
      * @return true if user has an active session
      */
     public boolean isLoggedIn() {
-        Boolean isLoggedIn = dataStore.data().map(prefs -> prefs.get(KEY_IS_LOGGED_IN)).blockingFirst();
-        return isLoggedIn != null && isLoggedIn;
+        return getSessionData().isLoggedIn();
     }
 
     /**
@@ -111,8 +191,7 @@ public class SessionManager {
      * @return User role or "user" if not set
      */
     public String getUserRole() {
-        String role = dataStore.data().map(prefs -> prefs.get(KEY_USER_ROLE)).blockingFirst();
-        return role != null ? role : "user";
+        return getSessionData().getRole();
     }
 
     /**
@@ -128,11 +207,51 @@ public class SessionManager {
      * Clear all session data (logout)
      */
     public void clearSession() {
-        dataStore.updateDataAsync(prefsIn -> {
+        long version = writeLocally(EMPTY_SESSION);
+
+        persist(version, prefsIn -> {
             MutablePreferences mutablePreferences = prefsIn.toMutablePreferences();
             mutablePreferences.clear();
             return Single.just(mutablePreferences);
-        }).blockingSubscribe();
+        });
+    }
+
+    /**
+     * Update the snapshot right away and return the version to persist it with
+     */
+    private synchronized long writeLocally(SessionData session) {
+        // Clock based so it also beats versions written by earlier processes
+        lastWriteVersion = Math.max(System.currentTimeMillis(), lastWriteVersion + 1);
+        snapshot = session;
+        return lastWriteVersion;
+    }
+
+    /**
+     * Take a DataStore emission as the snapshot unless a newer local write is still on
+     * its way to disk (e.g. the startup read arriving after a logout)
+     *
+     * @return The snapshot after the emission
+     */
+    private synchronized SessionData onStored(Preferences prefs) {
+        Long version = prefs.get(KEY_WRITE_VERSION);
+        if ((version != null ? version : 0L) >= lastWriteVersion) {
+            snapshot = toSessionData(prefs);
+        }
+        return snapshot;
+    }
+
+    private void persist(long version, Function<Preferences, Single<Preferences>> transform) {
+        Function<Preferences, Single<Preferences>> stamped = prefsIn -> transform.apply(prefsIn).map(prefs -> {
+            MutablePreferences mutablePreferences = prefs.toMutablePreferences();
+            mutablePreferences.set(KEY_WRITE_VERSION, version);
+            return mutablePreferences;
+        });
+        // Wait for each write on the serial scheduler so writes land in call order
+        Completable.fromAction(() -> dataStore.updateDataAsync(stamped).blockingGet())
+                .subscribeOn(writeScheduler)
+                .subscribe(
+                        () -> Log.d(TAG, "Session saved"),
+                        error -> Log.e(TAG, "Failed to save session", error));
     }
 
     /**
@@ -180,23 +299,32 @@ public class SessionManager {
 
     /**
      * Get all session data at once
+     * Reads the in-memory snapshot and never blocks. A caller racing the startup read
+     * gets a logged-out session; use {@link #getSession(SessionCallback)} there.
      * 
      * @return SessionData object
      */
     public SessionData getSessionData() {
-        return dataStore.data().map(prefs -> {
-            String userId = prefs.get(KEY_USER_ID);
-            String email = prefs.get(KEY_USER_EMAIL);
-            String role = prefs.get(KEY_USER_ROLE);
-            Long timestamp = prefs.get(KEY_LOGIN_TIMESTAMP);
-            Boolean isLoggedIn = prefs.get(KEY_IS_LOGGED_IN);
-
-            return new SessionData(
-                    userId,
-                    email,
-                    role != null ? role : "user",
-                    timestamp != null ? timestamp : 0L,
-                    isLoggedIn != null && isLoggedIn);
-        }).blockingFirst();
+        SessionData current = snapshot;
+        if (current == null) {
+            Log.w(TAG, "Session read before snapshot was loaded");
+            return EMPTY_SESSION;
+        }
+        return current;
+    }
+
+    private static SessionData toSessionData(Preferences prefs) {
+        String userId = prefs.get(KEY_USER_ID);
+        String email = prefs.get(KEY_USER_EMAIL);
+        String role = prefs.get(KEY_USER_ROLE);
+        Long timestamp = prefs.get(KEY_LOGIN_TIMESTAMP);
+        Boolean isLoggedIn = prefs.get(KEY_IS_LOGGED_IN);
+
+        return new SessionData(
+                userId,
+                email,
+                role != null ? role : "user",
+                timestamp != null ? timestamp : 0L,
+                isLoggedIn != null && isLoggedIn);
     }
 }
@@ -0,0 +1,104 @@
+package com.example.fixmyarea.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+
+/**
+ * Local index of already uploaded images, keyed by a SHA-256 of the uploaded bytes
+ * Lets the uploader skip images that were uploaded before, e.g. the same photo
+ * attached to another report or a retried submission.
+ */
+public class UploadIndex {
+
+    private static final String PREFS_NAME = "uploaded_images";
+    private static final int MAX_ENTRIES = 500;
+    private static final char SEPARATOR = '|';
+
+    private static UploadIndex instance;
+    private final SharedPreferences prefs;
+
+    private UploadIndex(Context context) {
+        prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    public static synchronized UploadIndex getInstance(Context context) {
+        if (instance == null) {
+            instance = new UploadIndex(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Hex SHA-256 of the given bytes
+     */
+    public static String sha256(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+                hex.append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is guaranteed on every Android version
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Get the URL of a previously uploaded image
+     *
+     * @param key Folder-qualified content hash
+     * @return secure_url or null if these bytes were never uploaded
+     */
+    public synchronized String get(String key) {
+        String value = prefs.getString(key, null);
+        if (value == null) {
+            return null;
+        }
+        int separator = value.indexOf(SEPARATOR);
+        return separator >= 0 ? value.substring(separator + 1) : null;
+    }
+
+    /**
+     * Remember the URL for uploaded content
+     */
+    public synchronized void put(String key, String secureUrl) {
+        SharedPreferences.Editor editor = prefs.edit();
+        Map<String, ?> all = prefs.getAll();
+        if (all.size() >= MAX_ENTRIES) {
+            // Drop the oldest entry to keep the index bounded
+            String oldestKey = null;
+            long oldest = Long.MAX_VALUE;
+            for (Map.Entry<String, ?> entry : all.entrySet()) {
+                long savedAt = savedAt(entry.getValue());
+                if (savedAt < oldest) {
+                    oldest = savedAt;
+                    oldestKey = entry.getKey();
+                }
+            }
+            if (oldestKey != null) {
+                editor.remove(oldestKey);
+            }
+        }
+        editor.putString(key, System.currentTimeMillis() + String.valueOf(SEPARATOR) + secureUrl).apply();
+    }
+
+    private static long savedAt(Object value) {
+        if (!(value instanceof String)) {
+            return 0;
+        }
+        String text = (String) value;
+        int separator = text.indexOf(SEPARATOR);
+        try {
+            return separator > 0 ? Long.parseLong(text.substring(0, separator)) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.fixmyarea.utils;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Runs a batch of image uploads with a concurrency limit
+ * Results come back in the order the uploads were given, regardless of which
+ * finishes first, and per-upload byte progress is combined into one percentage.
+ * Blocking; call off the main thread.
+ */
+public class UploadOrchestrator {
+
+    private static final String TAG = "UploadOrchestrator";
+
+    /**
+     * What to do when an upload keeps failing
+     */
+    public enum FailurePolicy {
+        /** Retry the upload, then fail the whole batch if it still fails */
+        RETRY,
+        /** Leave the image out and keep the rest */
+        DROP,
+        /** Stop starting new uploads and fail the batch on the first error */
+        ABORT
+    }
+
+    /**
+     * A single upload in the batch
+     */
+    public interface Upload {
+        /**
+         * @return Payload size in bytes, used to weight progress
+         */
+        long getSize();
+
+        /**
+         * Perform the upload, blocking until done
+         *
+         * @return Uploaded image URL
+         */
+        String upload(CloudinaryUploader.ProgressListener listener) throws IOException;
+    }
+
+    /**
+     * Overall batch progress (0-100)
+     */
+    public interface ProgressListener {
+        void onProgress(int percent);
+    }
+
+    private final int maxConcurrency;
+    private final FailurePolicy failurePolicy;
+    private final int maxRetries;
+
+    /**
+     * @param maxConcurrency Maximum number of uploads in flight
+     * @param failurePolicy  How to handle an upload that fails
+     * @param maxRetries     Extra attempts per upload when the policy is RETRY
+     */
+    public UploadOrchestrator(int maxConcurrency, FailurePolicy failurePolicy, int maxRetries) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.failurePolicy = failurePolicy;
+        this.maxRetries = Math.max(0, maxRetries);
+    }
+
+    /**
+     * Upload everything and wait for the batch to finish
+     *
+     * @param uploads  Uploads in selection order
+     * @param listener Overall progress listener, may be null
+     * @return URLs in selection order; with DROP, failed uploads are left out
+     * @throws IOException if the batch fails under the RETRY or ABORT policy
+     */
+    public List<String> uploadAll(List<Upload> uploads, ProgressListener listener) throws IOException {
+        int count = uploads.size();
+        String[] results = new String[count];
+        if (count == 0) {
+            return new ArrayList<>();
+        }
+
+        long totalBytes = 0;
+        for (Upload upload : uploads) {
+            totalBytes += Math.max(1, upload.getSize());
+        }
+        long batchBytes = totalBytes;
+
+        AtomicLongArray sentBytes = new AtomicLongArray(count);
+        AtomicInteger lastPercent = new AtomicInteger(-1);
+        AtomicBoolean aborted = new AtomicBoolean(false);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(count, maxConcurrency));
+        try {
+            List<Future<String>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                Upload upload = uploads.get(i);
+                futures.add(executor.submit(() -> {
+                    if (aborted.get()) {
+                        throw new IOException("Batch aborted");
+                    }
+                    CloudinaryUploader.ProgressListener itemListener = (sent, size) -> {
+                        // Scale to the declared size so each item contributes its share
+                        sentBytes.set(index, Math.max(1, upload.getSize()) * sent / Math.max(1, size));
+                        reportProgress(sentBytes, batchBytes, lastPercent, listener);
+                    };
+                    try {
+                        return uploadWithRetries(upload, itemListener);
+                    } catch (IOException e) {
+                        if (failurePolicy == FailurePolicy.ABORT) {
+                            aborted.set(true);
+                        }
+                        throw e;
+                    }
+                }));
+            }
+
+            IOException firstError = null;
+            for (int i = 0; i < count; i++) {
+                try {
+                    results[i] = futures.get(i).get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    Log.e(TAG, "Upload " + i + " failed: " + (cause != null ? cause.getMessage() : e.getMessage()));
+                    if (firstError == null) {
+                        firstError = cause instanceof IOException
+                                ? (IOException) cause : new IOException(cause);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    aborted.set(true);
+                    throw new IOException("Upload interrupted", e);
+                }
+            }
+
+            if (firstError != null && failurePolicy != FailurePolicy.DROP) {
+                throw firstError;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<String> urls = new ArrayList<>(count);
+        for (String url : results) {
+            if (url != null) {
+                urls.add(url);
+            }
+        }
+        return urls;
+    }
+
+    private String uploadWithRetries(Upload upload, CloudinaryUploader.ProgressListener listener)
+            throws IOException {
+        int attempts = failurePolicy == FailurePolicy.RETRY ? maxRetries + 1 : 1;
+        IOException lastError = null;
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            try {
+                return upload.upload(listener);
+            } catch (IOException e) {
+                lastError = e;
+                Log.w(TAG, "Upload attempt " + (attempt + 1) + " of " + attempts + " failed", e);
+            }
+        }
+        throw lastError;
+    }
+
+    private static void reportProgress(AtomicLongArray sentBytes, long totalBytes, AtomicInteger lastPercent,
+            ProgressListener listener) {
+        if (listener == null) {
+            return;
+        }
+        long sent = 0;
+        for (int i = 0; i < sentBytes.length(); i++) {
+            sent += sentBytes.get(i);
+        }
+        int percent = (int) Math.min(100, sent * 100 / totalBytes);
+
+        // Only report when the percentage moves, and never backwards
+        int previous = lastPercent.get();
+        while (percent > previous) {
+            if (lastPercent.compareAndSet(previous, percent)) {
+                listener.onProgress(percent);
+                return;
+            }
+            previous = lastPercent.get();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.fixmyarea.utils;
+
+import android.util.Log;
+import android.util.LruCache;
+
+import com.example.fixmyarea.firebase.FirebaseConstants;
+import com.example.fixmyarea.firebase.FirebaseManager;
+import com.example.fixmyarea.models.Post;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reporter names and avatars for lists of posts
+ * Reads the public profile mirror (publicProfiles/{uid}, kept in sync by functions/)
+ * in batches of up to 30 ids per whereIn query, all chunks in parallel, and keeps
+ * the results in an LRU cache with a TTL. A feed page of n reporters costs at most
+ * ceil(n / 30) reads, and none when they are cached. Main thread only.
+ */
+public class UserDirectory {
+
+    private static final String TAG = "UserDirectory";
+
+    // Firestore limit for "in" queries
+    private static final int WHERE_IN_LIMIT = 30;
+    private static final int CACHE_ENTRIES = 500;
+    private static final long TTL_MS = TimeUnit.MINUTES.toMillis(10);
+
+    private static UserDirectory instance;
+    private final FirebaseManager firebaseManager;
+    private final LruCache<String, Entry> cache = new LruCache<>(CACHE_ENTRIES);
+
+    /**
+     * Called once every post has its reporter info filled in (or the lookup failed)
+     */
+    public interface FillCallback {
+        void onFilled();
+    }
+
+    private UserDirectory() {
+        firebaseManager = FirebaseManager.getInstance();
+    }
+
+    public static synchronized UserDirectory getInstance() {
+        if (instance == null) {
+            instance = new UserDirectory();
+        }
+        return instance;
+    }
+
+    /**
+     * Fill reporterName and reporterImageUrl on posts
+     * Posts with cached reporters are filled immediately; the rest after one batched
+     * lookup.
+     *
+     * @param posts    Posts to fill, updated in place
+     * @param callback Called on the main thread when done; not called if nothing had
+     *                 to be fetched
+     */
+    public void fillReporters(List<Post> posts, FillCallback callback) {
+        long now = System.currentTimeMillis();
+        Set<String> missing = new LinkedHashSet<>();
+        for (Post post : posts) {
+            String reporterId = post.getReporterId();
+            if (reporterId == null) {
+                continue;
+            }
+            Entry entry = cache.get(reporterId);
+            if (entry != null && now - entry.fetchedAt <= TTL_MS) {
+                apply(post, entry);
+            } else {
+                missing.add(reporterId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        List<String> ids = new ArrayList<>(missing);
+        List<Task<QuerySnapshot>> chunks = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += WHERE_IN_LIMIT) {
+            List<String> chunk = ids.subList(start, Math.min(start + WHERE_IN_LIMIT, ids.size()));
+            chunks.add(firebaseManager.getFirestore()
+                    .collection(FirebaseConstants.COLLECTION_PUBLIC_PROFILES)
+                    .whereIn(FieldPath.documentId(), new ArrayList<>(chunk))
+                    .get());
+        }
+
+        Tasks.whenAllComplete(chunks).addOnCompleteListener(done -> {
+            long fetchedAt = System.currentTimeMillis();
+            for (int i = 0; i < chunks.size(); i++) {
+                Task<QuerySnapshot> chunk = chunks.get(i);
+                if (!chunk.isSuccessful()) {
+                    // Leave these ids uncached so the next page retries them
+                    Log.w(TAG, "Reporter lookup failed", chunk.getException());
+                    continue;
+                }
+                // Ids without a profile are cached as unknown too, so deleted accounts
+                // are not looked up again on every page
+                int start = i * WHERE_IN_LIMIT;
+                for (String id : ids.subList(start, Math.min(start + WHERE_IN_LIMIT, ids.size()))) {
+                    cache.put(id, new Entry(null, null, fetchedAt));
+                }
+                for (DocumentSnapshot document : chunk.getResult().getDocuments()) {
+                    cache.put(document.getId(), new Entry(
+                            document.getString(FirebaseConstants.FIELD_USER_NAME),
+                            document.getString(FirebaseConstants.FIELD_USER_PROFILE_IMAGE),
+                            fetchedAt));
+                }
+            }
+
+            for (Post post : posts) {
+                Entry entry = post.getReporterId() != null ? cache.get(post.getReporterId()) : null;
+                if (entry != null) {
+                    apply(post, entry);
+                }
+            }
+            callback.onFilled();
+        });
+    }
+
+    /**
+     * Drop all cached entries (call on logout)
+     */
+    public void clear() {
+        cache.evictAll();
+    }
+
+    private static void apply(Post post, Entry entry) {
+        post.setReporterName(entry.name);
+        post.setReporterImageUrl(entry.imageUrl);
+    }
+
+    private static class Entry {
+        final String name;
+        final String imageUrl;
+        final long fetchedAt;
+
+        Entry(String name, String imageUrl, long fetchedAt) {
+            this.name = name;
+            this.imageUrl = imageUrl;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.fixmyarea.work;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+
+import com.example.fixmyarea.firebase.FirebaseConstants;
+import com.example.fixmyarea.firebase.FirebaseManager;
+import com.example.fixmyarea.utils.ImagePreprocessor;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable queue for issue reports
+ * Images are preprocessed into app-private storage, then a WorkManager job uploads
+ * them and creates the issue document. The job survives process death and retries
+ * with exponential backoff.
+ */
+public final class ReportUploadQueue {
+
+    private static final String TAG = "ReportUploadQueue";
+
+    public static final String TAG_REPORT_UPLOAD = "report_upload";
+    private static final String STAGING_DIR = "pending_reports";
+    private static final long BACKOFF_DELAY_SECONDS = 30;
+    private static final long STALE_STAGING_MS = 7L * 24 * 60 * 60 * 1000;
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor();
+
+    private ReportUploadQueue() {
+    }
+
+    /**
+     * Callback for enqueueing, delivered on the main thread
+     */
+    public interface EnqueueCallback {
+        void onQueued(String reportId);
+
+        void onFailure(String error);
+    }
+
+    /**
+     * Stage the images and queue the report for background submission
+     *
+     * @param context     Context with read access to the image URIs
+     * @param title       Issue title
+     * @param description Issue description
+     * @param category    Issue category (lowercase)
+     * @param location    Location text
+     * @param latitude    Latitude or null for manual locations
+     * @param longitude   Longitude or null for manual locations
+     * @param reporterId  Reporter user ID
+     * @param images      Selected image URIs, in display order
+     * @param callback    Result callback
+     */
+    public static void enqueue(Context context, String title, String description, String category,
+            String location, Double latitude, Double longitude, String reporterId,
+            List<Uri> images, EnqueueCallback callback) {
+        Context appContext = context.getApplicationContext();
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+
+        // Use a Firestore auto ID so retries of the job write the same document
+        String reportId = FirebaseManager.getInstance().getFirestore()
+                .collection(FirebaseConstants.COLLECTION_ISSUES).document().getId();
+
+        EXECUTOR.execute(() -> {
+            pruneStaging(appContext);
+
+            File dir = getStagingDir(appContext, reportId);
+            String[] imagePaths = new String[images.size()];
+            String[] placeholders = new String[images.size()];
+            try {
+                stageImages(appContext, dir, images, imagePaths, placeholders);
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to stage images", e);
+                deleteRecursively(dir);
+                mainHandler.post(() -> callback.onFailure("Failed to read images: " + e.getMessage()));
+                return;
+            }
+
+            Data.Builder input = new Data.Builder()
+                    .putString(SubmitReportWorker.KEY_REPORT_ID, reportId)
+                    .putString(SubmitReportWorker.KEY_TITLE, title)
+                    .putString(SubmitReportWorker.KEY_DESCRIPTION, description)
+                    .putString(SubmitReportWorker.KEY_CATEGORY, category)
+                    .putString(SubmitReportWorker.KEY_LOCATION, location)
+                    .putString(SubmitReportWorker.KEY_REPORTER_ID, reporterId)
+                    .putStringArray(SubmitReportWorker.KEY_IMAGE_PATHS, imagePaths)
+                    .putStringArray(SubmitReportWorker.KEY_IMAGE_PLACEHOLDERS, placeholders);
+            if (latitude != null && longitude != null) {
+                input.putDouble(SubmitReportWorker.KEY_LATITUDE, latitude);
+                input.putDouble(SubmitReportWorker.KEY_LONGITUDE, longitude);
+            }
+
+            Constraints constraints = new Constraints.Builder()
+                    .setRequiredNetworkType(NetworkType.CONNECTED)
+                    .setRequiresBatteryNotLow(true)
+                    .build();
+
+            OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(SubmitReportWorker.class)
+                    .setInputData(input.build())
+                    .setConstraints(constraints)
+                    .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_DELAY_SECONDS, TimeUnit.SECONDS)
+                    .addTag(TAG_REPORT_UPLOAD)
+                    .build();
+
+            WorkManager.getInstance(appContext)
+                    .enqueueUniqueWork(uniqueWorkName(reportId), ExistingWorkPolicy.KEEP, request);
+
+            Log.d(TAG, "Queued report " + reportId + " with " + imagePaths.length + " images");
+            mainHandler.post(() -> callback.onQueued(reportId));
+        });
+    }
+
+    /**
+     * Cancel a queued report and discard its staged images
+     */
+    public static void cancel(Context context, String reportId) {
+        Context appContext = context.getApplicationContext();
+        WorkManager.getInstance(appContext).cancelUniqueWork(uniqueWorkName(reportId));
+        discardStaging(appContext, reportId);
+    }
+
+    /**
+     * Delete a report's staged images in the background
+     */
+    static void discardStaging(Context context, String reportId) {
+        if (reportId == null) {
+            return;
+        }
+        Context appContext = context.getApplicationContext();
+        EXECUTOR.execute(() -> deleteRecursively(getStagingDir(appContext, reportId)));
+    }
+
+    static String uniqueWorkName(String reportId) {
+        return "report_" + reportId;
+    }
+
+    static File getStagingDir(Context context, String reportId) {
+        return new File(new File(context.getFilesDir(), STAGING_DIR), reportId);
+    }
+
+    private static void stageImages(Context context, File dir, List<Uri> images, String[] paths,
+            String[] placeholders) throws IOException {
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir);
+        }
+
+        for (int i = 0; i < images.size(); i++) {
+            // Preprocess now, while URI read permission is still held by the activity
+            ImagePreprocessor.Result processed = ImagePreprocessor.preprocess(
+                    context, images.get(i), ImagePreprocessor.Options.defaults());
+            String extension = "image/webp".equals(processed.getMimeType()) ? ".webp" : ".jpg";
+            File file = new File(dir, i + extension);
+            try (FileOutputStream out = new FileOutputStream(file)) {
+                out.write(processed.getBytes());
+            }
+            paths[i] = file.getAbsolutePath();
+            placeholders[i] = processed.getPlaceholder();
+        }
+    }
+
+    /**
+     * Delete staged images that no queued job will upload
+     * Catches reports cancelled while waiting for a retry, where the worker never
+     * sees the cancellation. Runs on the executor, so it can't race with staging.
+     */
+    private static void pruneStaging(Context context) {
+        File root = new File(context.getFilesDir(), STAGING_DIR);
+        File[] dirs = root.listFiles();
+        if (dirs == null) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - STALE_STAGING_MS;
+        for (File dir : dirs) {
+            if (dir.lastModified() < cutoff || !hasPendingWork(context, dir.getName())) {
+                deleteRecursively(dir);
+            }
+        }
+    }
+
+    private static boolean hasPendingWork(Context context, String reportId) {
+        try {
+            List<WorkInfo> infos = WorkManager.getInstance(context)
+                    .getWorkInfosForUniqueWork(uniqueWorkName(reportId)).get();
+            for (WorkInfo info : infos) {
+                if (!info.getState().isFinished()) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (ExecutionException e) {
+            // Keep the files if WorkManager can't tell
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return true;
+        }
+    }
+
+    static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        if (file.exists() && !file.delete()) {
+            Log.w(TAG, "Failed to delete " + file);
+        }
+    }
+}
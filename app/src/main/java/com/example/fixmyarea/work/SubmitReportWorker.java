@@ -0,0 +1,301 @@
+package com.example.fixmyarea.work;
+
+import android.Manifest;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.os.Build;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.core.app.NotificationCompat;
+import androidx.core.app.NotificationManagerCompat;
+import androidx.core.content.ContextCompat;
+import androidx.work.Data;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.fixmyarea.R;
+import com.example.fixmyarea.firebase.FirebaseConstants;
+import com.example.fixmyarea.firebase.FirebaseManager;
+import com.example.fixmyarea.utils.CloudinaryUploader;
+import com.example.fixmyarea.utils.UploadOrchestrator;
+import com.google.android.gms.tasks.Tasks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uploads the staged images of a queued report and creates the issue document
+ * Uploaded URLs are written next to the staged files, so a retried run only
+ * uploads what is still missing.
+ */
+public class SubmitReportWorker extends Worker {
+
+    private static final String TAG = "SubmitReportWorker";
+
+    static final String KEY_REPORT_ID = "report_id";
+    static final String KEY_TITLE = "title";
+    static final String KEY_DESCRIPTION = "description";
+    static final String KEY_CATEGORY = "category";
+    static final String KEY_LOCATION = "location";
+    static final String KEY_LATITUDE = "latitude";
+    static final String KEY_LONGITUDE = "longitude";
+    static final String KEY_REPORTER_ID = "reporter_id";
+    static final String KEY_IMAGE_PATHS = "image_paths";
+    static final String KEY_IMAGE_PLACEHOLDERS = "image_placeholders";
+    public static final String KEY_PROGRESS = "progress";
+
+    private static final String CHANNEL_ID = "report_uploads";
+    private static final int MAX_ATTEMPTS = 5;
+    private static final int MAX_PARALLEL_UPLOADS = 3;
+    private static final int UPLOAD_RETRIES = 2;
+
+    private final NotificationManagerCompat notificationManager;
+    private final int notificationId;
+
+    public SubmitReportWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+        notificationManager = NotificationManagerCompat.from(context);
+        notificationId = params.getId().hashCode();
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        Data input = getInputData();
+        String reportId = input.getString(KEY_REPORT_ID);
+        String[] imagePaths = input.getStringArray(KEY_IMAGE_PATHS);
+        if (reportId == null || imagePaths == null || imagePaths.length == 0) {
+            return Result.failure();
+        }
+
+        createChannel();
+        showProgress(0);
+
+        // Retry until every image is up; the last attempt submits whatever did upload
+        boolean lastAttempt = getRunAttemptCount() + 1 >= MAX_ATTEMPTS;
+        UploadOrchestrator orchestrator = new UploadOrchestrator(MAX_PARALLEL_UPLOADS,
+                lastAttempt ? UploadOrchestrator.FailurePolicy.DROP : UploadOrchestrator.FailurePolicy.RETRY,
+                UPLOAD_RETRIES);
+
+        String[] placeholders = input.getStringArray(KEY_IMAGE_PLACEHOLDERS);
+        List<StagedImageUpload> staged = new ArrayList<>();
+        for (int i = 0; i < imagePaths.length; i++) {
+            String placeholder = placeholders != null && i < placeholders.length ? placeholders[i] : null;
+            staged.add(new StagedImageUpload(new File(imagePaths[i]), placeholder));
+        }
+
+        List<String> imageUrls;
+        try {
+            imageUrls = orchestrator.uploadAll(new ArrayList<>(staged), this::showProgress);
+        } catch (IOException e) {
+            Log.e(TAG, "Image upload failed: " + e.getMessage());
+            if (lastAttempt) {
+                showFinished("Failed to upload images for your report");
+                ReportUploadQueue.deleteRecursively(ReportUploadQueue.getStagingDir(getApplicationContext(), reportId));
+                return Result.failure();
+            }
+            return retryLater();
+        }
+        if (isStopped()) {
+            // Progress callbacks can re-post after onStopped cleared the notification
+            notificationManager.cancel(notificationId);
+            return Result.retry();
+        }
+        if (imageUrls.isEmpty()) {
+            showFinished("Failed to upload images for your report");
+            ReportUploadQueue.deleteRecursively(ReportUploadQueue.getStagingDir(getApplicationContext(), reportId));
+            return Result.failure();
+        }
+
+        // Keep placeholders aligned with the URLs when some images were dropped
+        List<String> imagePlaceholders = new ArrayList<>();
+        for (StagedImageUpload upload : staged) {
+            if (upload.uploadedUrl != null) {
+                imagePlaceholders.add(upload.placeholder != null ? upload.placeholder : "");
+            }
+        }
+
+        try {
+            Tasks.await(FirebaseManager.getInstance().addDocument(
+                    FirebaseConstants.COLLECTION_ISSUES, reportId, buildIssue(input, imageUrls, imagePlaceholders)));
+        } catch (Exception e) {
+            Log.e(TAG, "Error creating post", e);
+            if (lastAttempt) {
+                showFinished("Failed to submit report");
+                ReportUploadQueue.deleteRecursively(ReportUploadQueue.getStagingDir(getApplicationContext(), reportId));
+                return Result.failure();
+            }
+            return retryLater();
+        }
+
+        Log.d(TAG, "Post created with ID: " + reportId);
+        ReportUploadQueue.deleteRecursively(ReportUploadQueue.getStagingDir(getApplicationContext(), reportId));
+        showFinished("Issue reported successfully!");
+        return Result.success();
+    }
+
+    /**
+     * Upload of one staged file; reuses the URL saved by an earlier run
+     */
+    private class StagedImageUpload implements UploadOrchestrator.Upload {
+        private final File file;
+        private final String placeholder;
+        private volatile String uploadedUrl;
+
+        StagedImageUpload(File file, String placeholder) {
+            this.file = file;
+            this.placeholder = placeholder;
+        }
+
+        @Override
+        public long getSize() {
+            return file.length();
+        }
+
+        @Override
+        public String upload(CloudinaryUploader.ProgressListener listener) throws IOException {
+            File urlFile = new File(file.getPath() + ".url");
+            if (urlFile.exists()) {
+                listener.onProgress(1, 1);
+                uploadedUrl = new String(readFile(urlFile), StandardCharsets.UTF_8);
+                return uploadedUrl;
+            }
+
+            String mimeType = file.getName().endsWith(".webp") ? "image/webp" : "image/jpeg";
+            String url = CloudinaryUploader.uploadBytes(getApplicationContext(), readFile(file), file.getName(),
+                    mimeType, "issue_images", listener);
+
+            try (FileOutputStream out = new FileOutputStream(urlFile)) {
+                out.write(url.getBytes(StandardCharsets.UTF_8));
+            }
+            uploadedUrl = url;
+            return url;
+        }
+    }
+
+    private Map<String, Object> buildIssue(Data input, List<String> imageUrls, List<String> imagePlaceholders) {
+        Map<String, Object> postData = new HashMap<>();
+        postData.put(FirebaseConstants.FIELD_ISSUE_TITLE, input.getString(KEY_TITLE));
+        postData.put(FirebaseConstants.FIELD_ISSUE_DESCRIPTION, input.getString(KEY_DESCRIPTION));
+        postData.put(FirebaseConstants.FIELD_ISSUE_CATEGORY, input.getString(KEY_CATEGORY));
+        postData.put(FirebaseConstants.FIELD_ISSUE_LOCATION, input.getString(KEY_LOCATION));
+
+        // Coordinates are only present for locations picked on the map
+        if (input.hasKeyWithValueOfType(KEY_LATITUDE, Double.class)
+                && input.hasKeyWithValueOfType(KEY_LONGITUDE, Double.class)) {
+            postData.put(FirebaseConstants.FIELD_ISSUE_LATITUDE, input.getDouble(KEY_LATITUDE, 0.0));
+            postData.put(FirebaseConstants.FIELD_ISSUE_LONGITUDE, input.getDouble(KEY_LONGITUDE, 0.0));
+        }
+
+        postData.put(FirebaseConstants.FIELD_ISSUE_IMAGE_URL, imageUrls); // Store as array
+        postData.put(FirebaseConstants.FIELD_ISSUE_IMAGE_PLACEHOLDERS, imagePlaceholders); // Same order as imageUrl
+        postData.put(FirebaseConstants.FIELD_ISSUE_REPORTER_ID, input.getString(KEY_REPORTER_ID));
+        postData.put(FirebaseConstants.FIELD_ISSUE_STATUS, FirebaseConstants.STATUS_PENDING);
+        postData.put(FirebaseConstants.FIELD_ISSUE_TIMESTAMP, System.currentTimeMillis());
+        postData.put(FirebaseConstants.FIELD_ISSUE_UPVOTES, 0);
+        return postData;
+    }
+
+    private static byte[] readFile(File file) throws IOException {
+        byte[] bytes = new byte[(int) file.length()];
+        try (FileInputStream in = new FileInputStream(file)) {
+            int offset = 0;
+            while (offset < bytes.length) {
+                int read = in.read(bytes, offset, bytes.length - offset);
+                if (read == -1) {
+                    throw new IOException("Unexpected end of " + file);
+                }
+                offset += read;
+            }
+        }
+        return bytes;
+    }
+
+    // ==================== NOTIFICATIONS ====================
+
+    private void showProgress(int progress) {
+        setProgressAsync(new Data.Builder().putInt(KEY_PROGRESS, progress).build());
+
+        PendingIntent cancelIntent = WorkManager.getInstance(getApplicationContext())
+                .createCancelPendingIntent(getId());
+        postNotification(new NotificationCompat.Builder(getApplicationContext(), CHANNEL_ID)
+                .setSmallIcon(R.drawable.outline_add_circle_24)
+                .setContentTitle("Uploading report")
+                .setContentText(progress + "%")
+                .setProgress(100, progress, false)
+                .setOnlyAlertOnce(true)
+                .setOngoing(true)
+                .addAction(0, "Cancel", cancelIntent)
+                .build());
+    }
+
+    /**
+     * Swap the ongoing progress notification for one that can be dismissed, since
+     * the backoff before the next run can last hours
+     */
+    private Result retryLater() {
+        PendingIntent cancelIntent = WorkManager.getInstance(getApplicationContext())
+                .createCancelPendingIntent(getId());
+        postNotification(new NotificationCompat.Builder(getApplicationContext(), CHANNEL_ID)
+                .setSmallIcon(R.drawable.outline_add_circle_24)
+                .setContentTitle("Report not sent yet")
+                .setContentText("Waiting to retry the upload")
+                .setOnlyAlertOnce(true)
+                .addAction(0, "Cancel", cancelIntent)
+                .build());
+        return Result.retry();
+    }
+
+    private void showFinished(String message) {
+        postNotification(new NotificationCompat.Builder(getApplicationContext(), CHANNEL_ID)
+                .setSmallIcon(R.drawable.outline_add_circle_24)
+                .setContentTitle("FixMyArea")
+                .setContentText(message)
+                .setAutoCancel(true)
+                .build());
+    }
+
+    private void postNotification(android.app.Notification notification) {
+        // Android 13+ needs the runtime permission; without it the upload still runs silently
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU
+                && ContextCompat.checkSelfPermission(getApplicationContext(),
+                        Manifest.permission.POST_NOTIFICATIONS) != PackageManager.PERMISSION_GRANTED) {
+            return;
+        }
+        notificationManager.notify(notificationId, notification);
+    }
+
+    private void createChannel() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            NotificationChannel channel = new NotificationChannel(CHANNEL_ID, "Report uploads",
+                    NotificationManager.IMPORTANCE_LOW);
+            NotificationManager manager = getApplicationContext().getSystemService(NotificationManager.class);
+            if (manager != null) {
+                manager.createNotificationChannel(channel);
+            }
+        }
+    }
+
+    @Override
+    public void onStopped() {
+        super.onStopped();
+        notificationManager.cancel(notificationId);
+        // Stopped for constraints or by the system, the work runs again and needs its files
+        if (getStopReason() == WorkInfo.STOP_REASON_CANCELLED_BY_APP) {
+            ReportUploadQueue.discardStaging(getApplicationContext(), getInputData().getString(KEY_REPORT_ID));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.fixmyarea.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+
+/**
+ * Chunked Cloudinary uploads against a local server that drops the connection
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class CloudinaryUploaderTest {
+
+    // Far below Cloudinary's 5 MB minimum; the fake server doesn't check it
+    private static final int CHUNK = 64 * 1024;
+    private static final String UPLOAD_KEY = "issue_images/test";
+
+    private MockWebServer server;
+    private OkHttpClient client;
+    private ResumableUploadStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        // No transparent retries, so every dropped connection reaches the uploader
+        client = new OkHttpClient.Builder().retryOnConnectionFailure(false).build();
+        store = new ResumableUploadStore(RuntimeEnvironment.getApplication());
+        store.clear(UPLOAD_KEY);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void resumesFromStoredOffsetAfterConnectionDrops() throws Exception {
+        byte[] bytes = new byte[2 * CHUNK + 1000];
+        long total = bytes.length;
+
+        // First chunk is acknowledged, then the connection drops on every try of the second
+        server.enqueue(new MockResponse().setBody("{}"));
+        for (int i = 0; i <= CloudinaryUploader.MAX_CHUNK_RETRIES; i++) {
+            server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST));
+        }
+        try {
+            upload(bytes);
+            fail("Upload should fail once retries run out");
+        } catch (IOException expected) {
+            // Interrupted mid-upload
+        }
+
+        RecordedRequest first = server.takeRequest();
+        assertEquals("bytes 0-" + (CHUNK - 1) + "/" + total, first.getHeader("Content-Range"));
+        String uploadId = first.getHeader("X-Unique-Upload-Id");
+        for (int i = 0; i <= CloudinaryUploader.MAX_CHUNK_RETRIES; i++) {
+            RecordedRequest retry = server.takeRequest();
+            assertEquals("bytes " + CHUNK + "-" + (2 * CHUNK - 1) + "/" + total, retry.getHeader("Content-Range"));
+        }
+
+        ResumableUploadStore.State state = store.get(UPLOAD_KEY, total);
+        assertNotNull(state);
+        assertEquals(uploadId, state.getUploadId());
+        assertEquals(CHUNK, state.getNextOffset());
+
+        // A later attempt, e.g. the next worker run, starts at the stored offset
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse().setBody("{\"secure_url\":\"https://res.example.com/image.jpg\"}"));
+        assertEquals("https://res.example.com/image.jpg", upload(bytes));
+
+        RecordedRequest resumed = server.takeRequest();
+        assertEquals("bytes " + CHUNK + "-" + (2 * CHUNK - 1) + "/" + total, resumed.getHeader("Content-Range"));
+        assertEquals(uploadId, resumed.getHeader("X-Unique-Upload-Id"));
+        RecordedRequest last = server.takeRequest();
+        assertEquals("bytes " + (2 * CHUNK) + "-" + (total - 1) + "/" + total, last.getHeader("Content-Range"));
+        assertEquals(uploadId, last.getHeader("X-Unique-Upload-Id"));
+
+        assertEquals(7, server.getRequestCount());
+        assertNull(store.get(UPLOAD_KEY, total));
+    }
+
+    @Test
+    public void restartsFromZeroWhenServerForgetsUpload() throws Exception {
+        byte[] bytes = new byte[2 * CHUNK + 1000];
+        long total = bytes.length;
+        store.saveProgress(UPLOAD_KEY, "expired", CHUNK, total);
+
+        server.enqueue(new MockResponse().setResponseCode(400));
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse().setBody("{\"secure_url\":\"https://res.example.com/image.jpg\"}"));
+        assertEquals("https://res.example.com/image.jpg", upload(bytes));
+
+        RecordedRequest rejected = server.takeRequest();
+        assertEquals("expired", rejected.getHeader("X-Unique-Upload-Id"));
+        assertEquals("bytes " + CHUNK + "-" + (2 * CHUNK - 1) + "/" + total, rejected.getHeader("Content-Range"));
+        RecordedRequest restarted = server.takeRequest();
+        assertEquals("bytes 0-" + (CHUNK - 1) + "/" + total, restarted.getHeader("Content-Range"));
+        assertEquals(4, server.getRequestCount());
+    }
+
+    private String upload(byte[] bytes) throws IOException {
+        return CloudinaryUploader.uploadChunked(client, server.url("/v1_1/test/image/upload").toString(), store,
+                CHUNK, bytes, "image.jpg", "image/jpeg", "issue_images", "test", UPLOAD_KEY, null);
+    }
+}
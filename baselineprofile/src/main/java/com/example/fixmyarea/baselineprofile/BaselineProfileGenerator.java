@@ -0,0 +1,85 @@
+package com.example.fixmyarea.baselineprofile;
+
+import android.content.ComponentName;
+import android.content.Intent;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import kotlin.Unit;
+
+/**
+ * Generates the baseline profile shipped in :app
+ * Covers cold start into DashboardActivity, flinging the feed and searching in
+ * Discover. Runs against the nonMinifiedRelease variant and the local Firebase
+ * emulator, which the app's SeedDataActivity fills first.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+
+    private static final String PACKAGE_NAME = "com.example.fixmyarea";
+    private static final String SEED_ACTIVITY = PACKAGE_NAME + ".benchmark.SeedDataActivity";
+    private static final String SEED_DONE_TEXT = "Benchmark data ready";
+    private static final long SEED_TIMEOUT_MS = 60_000;
+    private static final long UI_TIMEOUT_MS = 15_000;
+
+    @Rule
+    public BaselineProfileRule baselineProfileRule = new BaselineProfileRule();
+
+    @Test
+    public void generate() {
+        baselineProfileRule.collect(PACKAGE_NAME, scope -> {
+            UiDevice device = scope.getDevice();
+
+            Intent seed = new Intent();
+            seed.setComponent(new ComponentName(PACKAGE_NAME, SEED_ACTIVITY));
+            scope.startActivityAndWait(seed);
+            if (!device.wait(Until.hasObject(By.text(SEED_DONE_TEXT)), SEED_TIMEOUT_MS)) {
+                throw new IllegalStateException("Seeding did not finish; is the Firebase emulator running?");
+            }
+            scope.killProcess();
+
+            // Cold start into the dashboard feed
+            scope.startActivityAndWait();
+            UiObject2 feed = device.wait(Until.findObject(By.res(PACKAGE_NAME, "postsRecyclerView")),
+                    UI_TIMEOUT_MS);
+            if (feed == null) {
+                throw new IllegalStateException("Feed did not appear");
+            }
+            fling(device, feed);
+
+            // Discover search
+            device.findObject(By.res(PACKAGE_NAME, "nav_discover")).click();
+            UiObject2 input = device.wait(Until.findObject(By.res(PACKAGE_NAME, "search_src_text")),
+                    UI_TIMEOUT_MS);
+            if (input != null) {
+                input.setText("road");
+                device.waitForIdle();
+                UiObject2 results = device.findObject(By.res(PACKAGE_NAME, "postsRecyclerView"));
+                if (results != null) {
+                    fling(device, results);
+                }
+            }
+            return Unit.INSTANCE;
+        });
+    }
+
+    private static void fling(UiDevice device, UiObject2 list) {
+        list.setGestureMargin(device.getDisplayWidth() / 5);
+        list.fling(Direction.DOWN);
+        device.waitForIdle();
+        list.fling(Direction.UP);
+        device.waitForIdle();
+    }
+}
@@ -0,0 +1,24 @@
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+// Plain JVM module: models and list/stats/geo logic shared by :app, with no Android
+// or Firebase dependencies so it can be benchmarked with JMH on any machine.
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
+
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    // Report allocation rate alongside time per operation
+    profilers.add("gc")
+    resultFormat.set("JSON")
+}
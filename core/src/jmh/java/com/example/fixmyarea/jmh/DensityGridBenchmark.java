@@ -0,0 +1,52 @@
+package com.example.fixmyarea.jmh;
+
+import com.example.fixmyarea.models.Post;
+import com.example.fixmyarea.utils.DensityGrid;
+import com.example.fixmyarea.utils.IssuePoints;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heatmap grid counts over the synthetic area, at city (zoom 12) and street
+ * (zoom 16) cell sizes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DensityGridBenchmark {
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    @Param({"16", "20"})
+    public int level;
+
+    private IssuePoints points;
+
+    @Setup
+    public void setUp() {
+        points = new IssuePoints();
+        for (Post post : SyntheticPosts.posts(size, System.currentTimeMillis())) {
+            points.add(post);
+        }
+    }
+
+    @Benchmark
+    public DensityGrid aggregateAll() {
+        return DensityGrid.aggregate(points, level, null, null);
+    }
+
+    @Benchmark
+    public DensityGrid aggregateCategoryAndStatus() {
+        return DensityGrid.aggregate(points, level, "road", "pending");
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.fixmyarea.jmh;
+
+import com.example.fixmyarea.models.Post;
+import com.example.fixmyarea.utils.DuplicateDetector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duplicate suggestions on the report screen: indexing the post cache (1000
+ * entries in the app) and checking one draft against it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DuplicateDetectorBenchmark {
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private List<Post> posts;
+    private DuplicateDetector detector;
+    private Post draft;
+
+    @Setup
+    public void setUp() {
+        posts = SyntheticPosts.posts(size, System.currentTimeMillis());
+        detector = new DuplicateDetector();
+        detector.addAll(posts);
+        draft = posts.get(posts.size() / 2);
+    }
+
+    @Benchmark
+    public DuplicateDetector index() {
+        DuplicateDetector fresh = new DuplicateDetector();
+        fresh.addAll(posts);
+        return fresh;
+    }
+
+    @Benchmark
+    public List<DuplicateDetector.Match> findWithLocation() {
+        return detector.findDuplicates(draft.getTitle(), draft.getDescription(),
+                draft.getLatitude(), draft.getLongitude(), 3);
+    }
+
+    @Benchmark
+    public List<DuplicateDetector.Match> findByTextOnly() {
+        return detector.findDuplicates(draft.getTitle(), draft.getDescription(), null, null, 3);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.fixmyarea.jmh;
+
+import com.example.fixmyarea.models.Post;
+import com.example.fixmyarea.utils.GeoUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Radius search around the center of the synthetic area
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeoBenchmark {
+
+    private static final double CENTER_LAT = 23.8;
+    private static final double CENTER_LNG = 90.4;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"500", "5000"})
+    public double radiusMeters;
+
+    private List<Post> posts;
+
+    @Setup
+    public void setUp() {
+        posts = SyntheticPosts.posts(size, System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public List<Post> withinRadius() {
+        return GeoUtils.withinRadius(posts, CENTER_LAT, CENTER_LNG, radiusMeters);
+    }
+}
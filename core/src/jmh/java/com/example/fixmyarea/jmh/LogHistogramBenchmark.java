@@ -0,0 +1,77 @@
+package com.example.fixmyarea.jmh;
+
+import com.example.fixmyarea.utils.LogHistogram;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolution-time histograms: merging one per period and category, as the
+ * analytics screen does for a range, and reading percentiles from the result
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LogHistogramBenchmark {
+
+    // 7 and 30 days, 53 weeks, all five categories each
+    @Param({"35", "150", "265"})
+    public int histograms;
+
+    private static final int VALUES_PER_HISTOGRAM = 20;
+
+    private LogHistogram[] parts;
+    private LogHistogram merged;
+    private long[] durations;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        parts = new LogHistogram[histograms];
+        durations = new long[histograms * VALUES_PER_HISTOGRAM];
+        for (int i = 0; i < durations.length; i++) {
+            // Minutes to months, spread evenly on a log scale
+            durations[i] = (long) Math.exp(11 + random.nextDouble() * 11);
+        }
+        merged = new LogHistogram();
+        for (int i = 0; i < histograms; i++) {
+            parts[i] = new LogHistogram();
+            for (int j = 0; j < VALUES_PER_HISTOGRAM; j++) {
+                parts[i].record(durations[i * VALUES_PER_HISTOGRAM + j]);
+            }
+            merged.merge(parts[i]);
+        }
+    }
+
+    @Benchmark
+    public LogHistogram mergeAll() {
+        LogHistogram total = new LogHistogram();
+        for (LogHistogram part : parts) {
+            total.merge(part);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public LogHistogram recordAll() {
+        LogHistogram histogram = new LogHistogram();
+        for (long duration : durations) {
+            histogram.record(duration);
+        }
+        return histogram;
+    }
+
+    @Benchmark
+    public long percentiles() {
+        return merged.valueAtPercentile(50) + merged.valueAtPercentile(90) + merged.valueAtPercentile(99);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.fixmyarea.jmh;
+
+import com.example.fixmyarea.models.Post;
+import com.example.fixmyarea.utils.PostFilter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Discover search and sort
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostFilterBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"", "pothole"})
+    public String query;
+
+    @Param({PostFilter.SORT_NEWEST, PostFilter.SORT_MOST_LIKED, PostFilter.SORT_CATEGORY})
+    public String sortOption;
+
+    private List<Post> posts;
+
+    @Setup
+    public void setUp() {
+        posts = SyntheticPosts.posts(size, System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public List<Post> filterAndSort() {
+        return PostFilter.filterAndSort(posts, query, sortOption);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.fixmyarea.jmh;
+
+import com.example.fixmyarea.models.Post;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic posts for the JMH benchmarks
+ */
+final class SyntheticPosts {
+
+    private static final long SEED = 42L;
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    private static final String[] CATEGORIES = {"road", "water", "electricity", "sanitation", "other"};
+    private static final String[] STATUSES = {"pending", "approved", "in_progress", "resolved", "rejected"};
+    private static final String[] WORDS = {
+            "pothole", "broken", "streetlight", "leak", "drain", "blocked", "garbage",
+            "overflowing", "road", "near", "school", "market", "bridge", "pipe", "water"
+    };
+
+    private SyntheticPosts() {
+    }
+
+    /**
+     * Posts spread over ~400 days and a 20 km square around Dhaka
+     */
+    static List<Post> posts(int count, long now) {
+        Random random = new Random(SEED);
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Post post = new Post();
+            post.setPostId("issue_" + i);
+            post.setTitle(sentence(random, 4));
+            post.setDescription(sentence(random, 20));
+            post.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            post.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            post.setLocation("Ward " + random.nextInt(50));
+            post.setLatitude(23.7 + random.nextDouble() * 0.2);
+            post.setLongitude(90.3 + random.nextDouble() * 0.2);
+            post.setReporterId("user_" + random.nextInt(200));
+            post.setTimestamp(now - (long) (random.nextDouble() * 400 * DAY_MS));
+            post.setLikedBy(users(random, 30));
+            post.setDislikedBy(users(random, 5));
+            posts.add(post);
+        }
+        return posts;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static List<String> users(Random random, int max) {
+        int count = random.nextInt(max + 1);
+        List<String> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add("user_" + random.nextInt(200));
+        }
+        return users;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.fixmyarea.models;
+
+import com.example.fixmyarea.utils.LogHistogram;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Issue activity in one day or week
+ * Mirrors a stats_daily / stats_weekly document kept up to date by functions/.
+ * Counts are events in the period: issues created, and issues moved to resolved
+ * or rejected. Approvals and resolutions in the period also add their time since
+ * the issue was created, in milliseconds, to per-category histograms.
+ */
+public class IssueRollup {
+    private long periodStart;
+    private long created;
+    private long resolved;
+    private long rejected;
+    private Map<String, Long> createdByCategory = new HashMap<>();
+    private Map<String, Long> createdByArea = new HashMap<>();
+    private Map<String, LogHistogram> timeToApproveByCategory = new HashMap<>();
+    private Map<String, LogHistogram> timeToResolveByCategory = new HashMap<>();
+
+    public IssueRollup() {
+    }
+
+    public IssueRollup(long periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    /**
+     * @return Start of the period in UTC millis
+     */
+    public long getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(long periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public void setCreated(long created) {
+        this.created = created;
+    }
+
+    public long getResolved() {
+        return resolved;
+    }
+
+    public void setResolved(long resolved) {
+        this.resolved = resolved;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public Map<String, Long> getCreatedByCategory() {
+        return createdByCategory;
+    }
+
+    public void setCreatedByCategory(Map<String, Long> createdByCategory) {
+        this.createdByCategory = createdByCategory != null ? createdByCategory : new HashMap<>();
+    }
+
+    public Map<String, Long> getCreatedByArea() {
+        return createdByArea;
+    }
+
+    public void setCreatedByArea(Map<String, Long> createdByArea) {
+        this.createdByArea = createdByArea != null ? createdByArea : new HashMap<>();
+    }
+
+    public Map<String, LogHistogram> getTimeToApproveByCategory() {
+        return timeToApproveByCategory;
+    }
+
+    public void setTimeToApproveByCategory(Map<String, LogHistogram> timeToApproveByCategory) {
+        this.timeToApproveByCategory = timeToApproveByCategory != null ? timeToApproveByCategory : new HashMap<>();
+    }
+
+    public Map<String, LogHistogram> getTimeToResolveByCategory() {
+        return timeToResolveByCategory;
+    }
+
+    public void setTimeToResolveByCategory(Map<String, LogHistogram> timeToResolveByCategory) {
+        this.timeToResolveByCategory = timeToResolveByCategory != null ? timeToResolveByCategory : new HashMap<>();
+    }
+
+    /**
+     * Add another rollup's counts and histograms to this one; the other rollup is
+     * left unchanged
+     */
+    public void add(IssueRollup other) {
+        created += other.created;
+        resolved += other.resolved;
+        rejected += other.rejected;
+        for (Map.Entry<String, Long> entry : other.createdByCategory.entrySet()) {
+            createdByCategory.merge(entry.getKey(), entry.getValue(), Long::sum);
+        }
+        for (Map.Entry<String, Long> entry : other.createdByArea.entrySet()) {
+            createdByArea.merge(entry.getKey(), entry.getValue(), Long::sum);
+        }
+        mergeHistograms(timeToApproveByCategory, other.timeToApproveByCategory);
+        mergeHistograms(timeToResolveByCategory, other.timeToResolveByCategory);
+    }
+
+    private static void mergeHistograms(Map<String, LogHistogram> into, Map<String, LogHistogram> from) {
+        for (Map.Entry<String, LogHistogram> entry : from.entrySet()) {
+            LogHistogram histogram = into.get(entry.getKey());
+            if (histogram == null) {
+                histogram = new LogHistogram();
+                into.put(entry.getKey(), histogram);
+            }
+            histogram.merge(entry.getValue());
+        }
+    }
+}
@@ -15,6 +15,7 @@ public class Post {
     private Double latitude;
     private Double longitude;
     private List<String> imageUrls;
+    private List<String> imagePlaceholders; // BlurHash per image, same order as imageUrls
     private String reporterId;
     private long timestamp;
     private int upvotes;
@@ -118,6 +119,14 @@ public class Post {
         this.imageUrls = imageUrls;
     }
 
+    public List<String> getImagePlaceholders() {
+        return imagePlaceholders;
+    }
+
+    public void setImagePlaceholders(List<String> imagePlaceholders) {
+        this.imagePlaceholders = imagePlaceholders;
+    }
+
     public String getReporterId() {
         return reporterId;
     }
@@ -192,11 +201,29 @@ public class Post {
         return null;
     }
 
+    /**
+     * Get the BlurHash of the first image, if one was stored
+     */
+    public String getFirstImagePlaceholder() {
+        if (imagePlaceholders != null && !imagePlaceholders.isEmpty()) {
+            return imagePlaceholders.get(0);
+        }
+        return null;
+    }
+
     /**
      * Get formatted time ago string
      */
     public String getTimeAgo() {
-        long now = System.currentTimeMillis();
+        return getTimeAgo(System.currentTimeMillis());
+    }
+
+    /**
+     * Get formatted time ago string relative to a given time
+     *
+     * @param now Reference time in milliseconds
+     */
+    public String getTimeAgo(long now) {
         long diff = now - timestamp;
 
         long seconds = diff / 1000;
@@ -0,0 +1,154 @@
+package com.example.fixmyarea.utils;
+
+import java.util.Arrays;
+
+/**
+ * Issue counts per cell of a square Web Mercator grid
+ * At level L the world is split into 2^L by 2^L cells, the same layout as map
+ * tiles at zoom L, so level zoom + 4 gives cells of 16 screen pixels. Only
+ * non-empty cells are kept, as sorted primitive keys and counts, so building a
+ * grid from 100k issues is one sort and a lookup is a binary search. Immutable.
+ */
+public final class DensityGrid {
+
+    public static final int MAX_LEVEL = 30;
+
+    /**
+     * Callback for {@link #forEachIn}
+     */
+    public interface CellVisitor {
+        void onCell(int cellX, int cellY, int count);
+    }
+
+    private final int level;
+    // (cellX << 32) | cellY, ascending, so cells of one column are contiguous
+    private final long[] keys;
+    private final int[] counts;
+    private final int maxCount;
+    private final int totalCount;
+
+    private DensityGrid(int level, long[] keys, int[] counts, int totalCount) {
+        this.level = level;
+        this.keys = keys;
+        this.counts = counts;
+        this.totalCount = totalCount;
+        int max = 0;
+        for (int count : counts) {
+            max = Math.max(max, count);
+        }
+        this.maxCount = max;
+    }
+
+    /**
+     * Count issues per cell
+     *
+     * @param points   Issues to count, not modified
+     * @param level    0 to {@link #MAX_LEVEL}
+     * @param category Category to count, or null for all
+     * @param status   Status to count, or null for all
+     */
+    public static DensityGrid aggregate(IssuePoints points, int level, String category, String status) {
+        if (level < 0 || level > MAX_LEVEL) {
+            throw new IllegalArgumentException("Level out of range: " + level);
+        }
+        int categoryCode = category != null ? points.categoryCode(category) : Integer.MIN_VALUE;
+        int statusCode = status != null ? points.statusCode(status) : Integer.MIN_VALUE;
+        long cells = 1L << level;
+
+        long[] cellKeys = new long[points.size()];
+        int n = 0;
+        for (int i = 0; i < points.size(); i++) {
+            if (points.matches(i, categoryCode, statusCode)) {
+                long x = (long) (points.x(i) * cells);
+                long y = (long) (points.y(i) * cells);
+                cellKeys[n++] = (x << 32) | y;
+            }
+        }
+        Arrays.sort(cellKeys, 0, n);
+
+        // Run-length encode the sorted keys in place
+        int[] cellCounts = new int[n];
+        int cellsUsed = 0;
+        for (int i = 0; i < n; i++) {
+            if (cellsUsed > 0 && cellKeys[cellsUsed - 1] == cellKeys[i]) {
+                cellCounts[cellsUsed - 1]++;
+            } else {
+                cellKeys[cellsUsed] = cellKeys[i];
+                cellCounts[cellsUsed] = 1;
+                cellsUsed++;
+            }
+        }
+        return new DensityGrid(level, Arrays.copyOf(cellKeys, cellsUsed),
+                Arrays.copyOf(cellCounts, cellsUsed), n);
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return Number of non-empty cells
+     */
+    public int getCellCount() {
+        return keys.length;
+    }
+
+    /**
+     * @return Highest count of any cell
+     */
+    public int getMaxCount() {
+        return maxCount;
+    }
+
+    /**
+     * @return Number of issues counted
+     */
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public int countAt(int cellX, int cellY) {
+        int index = Arrays.binarySearch(keys, key(cellX, cellY));
+        return index >= 0 ? counts[index] : 0;
+    }
+
+    /**
+     * Visit the non-empty cells in a rectangle of cells, column by column
+     *
+     * @param minX First column, inclusive
+     * @param minY First row, inclusive
+     * @param maxX Last column, inclusive
+     * @param maxY Last row, inclusive
+     */
+    public void forEachIn(int minX, int minY, int maxX, int maxY, CellVisitor visitor) {
+        int start = Arrays.binarySearch(keys, key(minX, minY));
+        for (int i = start >= 0 ? start : -start - 1; i < keys.length; i++) {
+            int x = (int) (keys[i] >>> 32);
+            int y = (int) keys[i];
+            if (x > maxX) {
+                break;
+            }
+            if (y >= minY && y <= maxY) {
+                visitor.onCell(x, y, counts[i]);
+            }
+        }
+    }
+
+    /**
+     * @return Column holding a longitude at a level
+     */
+    public static int cellX(double longitude, int level) {
+        return (int) (IssuePoints.mercatorX(longitude) * (1L << level));
+    }
+
+    /**
+     * @return Row holding a latitude at a level
+     */
+    public static int cellY(double latitude, int level) {
+        return (int) (IssuePoints.mercatorY(latitude) * (1L << level));
+    }
+
+    private static long key(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xffffffffL);
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.fixmyarea.utils;
+
+import com.example.fixmyarea.models.Post;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds existing issues that a new report probably duplicates
+ * Posts are indexed two ways: by geohash cell, to find issues reported nearby,
+ * and by locality-sensitive hashing of their {@link MinHash} signatures, to find
+ * issues with similar wording. Signatures are split into bands; posts sharing
+ * any band are candidates, which catches texts with a Jaccard similarity of about
+ * 0.5 and up without comparing against every post. Candidates are then scored
+ * by signature similarity. Not thread safe.
+ */
+public class DuplicateDetector {
+
+    // Cells are 0.6 km tall and 1.2 km wide at the equator, narrowing with latitude. A cell and
+    // its neighbors reach at least one cell from the point in every direction, which is more
+    // than NEARBY_METERS up to about 83 degrees latitude (precision 7 cells are narrower than
+    // that beyond about 11 degrees)
+    private static final int GEOHASH_PRECISION = 6;
+    private static final double NEARBY_METERS = 150;
+    // 16 bands of 4 rows; two signatures share a band with probability 1 - (1 - s^4)^16
+    private static final int BANDS = 16;
+    private static final int ROWS = MinHash.SIGNATURE_SIZE / BANDS;
+    // Reports of the same spot share little wording, so nearby posts need less
+    private static final double MIN_NEARBY_SIMILARITY = 0.2;
+    private static final double MIN_TEXT_SIMILARITY = 0.5;
+
+    /**
+     * A likely duplicate
+     */
+    public static class Match {
+        private final Post post;
+        private final double similarity;
+        private final double distanceMeters;
+
+        Match(Post post, double similarity, double distanceMeters) {
+            this.post = post;
+            this.similarity = similarity;
+            this.distanceMeters = distanceMeters;
+        }
+
+        public Post getPost() {
+            return post;
+        }
+
+        /**
+         * @return Estimated Jaccard similarity of title and description, 0 to 1
+         */
+        public double getSimilarity() {
+            return similarity;
+        }
+
+        /**
+         * @return Distance in meters, or NaN if either report has no coordinates
+         */
+        public double getDistanceMeters() {
+            return distanceMeters;
+        }
+    }
+
+    private static class Entry {
+        final Post post;
+        final int[] signature;
+        final String cell;
+        final long[] bandKeys;
+
+        Entry(Post post, int[] signature, String cell, long[] bandKeys) {
+            this.post = post;
+            this.signature = signature;
+            this.cell = cell;
+            this.bandKeys = bandKeys;
+        }
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Set<String>> byCell = new HashMap<>();
+    private final Map<Long, Set<String>> byBand = new HashMap<>();
+
+    /**
+     * Index a post, replacing an earlier version of it
+     */
+    public void add(Post post) {
+        if (post.getPostId() == null) {
+            return;
+        }
+        remove(post.getPostId());
+
+        int[] signature = MinHash.signature(text(post.getTitle(), post.getDescription()));
+        String cell = hasLocation(post.getLatitude(), post.getLongitude())
+                ? Geohash.encode(post.getLatitude(), post.getLongitude(), GEOHASH_PRECISION)
+                : null;
+        long[] bandKeys = signature != null ? bandKeys(signature) : new long[0];
+
+        Entry entry = new Entry(post, signature, cell, bandKeys);
+        entries.put(post.getPostId(), entry);
+        if (cell != null) {
+            addTo(byCell, cell, post.getPostId());
+        }
+        for (long key : bandKeys) {
+            addTo(byBand, key, post.getPostId());
+        }
+    }
+
+    public void addAll(List<Post> posts) {
+        for (Post post : posts) {
+            add(post);
+        }
+    }
+
+    public void remove(String postId) {
+        Entry entry = entries.remove(postId);
+        if (entry == null) {
+            return;
+        }
+        if (entry.cell != null) {
+            removeFrom(byCell, entry.cell, postId);
+        }
+        for (long key : entry.bandKeys) {
+            removeFrom(byBand, key, postId);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Likely duplicates of a new report, best match first
+     * When both reports have coordinates, a match must be within 150 m; otherwise
+     * it must have closely matching wording.
+     *
+     * @param latitude  Report latitude, or null if unknown
+     * @param longitude Report longitude, or null if unknown
+     */
+    public List<Match> findDuplicates(String title, String description, Double latitude, Double longitude,
+            int maxResults) {
+        int[] signature = MinHash.signature(text(title, description));
+        boolean located = hasLocation(latitude, longitude);
+        if (signature == null && !located) {
+            return Collections.emptyList();
+        }
+
+        Set<String> candidates = new LinkedHashSet<>();
+        if (located) {
+            for (String cell : Geohash.neighborhood(latitude, longitude, GEOHASH_PRECISION)) {
+                addAllFrom(byCell, cell, candidates);
+            }
+        }
+        if (signature != null) {
+            for (long key : bandKeys(signature)) {
+                addAllFrom(byBand, key, candidates);
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (String postId : candidates) {
+            Entry entry = entries.get(postId);
+            double similarity = signature != null && entry.signature != null
+                    ? MinHash.similarity(signature, entry.signature)
+                    : 0;
+            Post post = entry.post;
+            if (located && hasLocation(post.getLatitude(), post.getLongitude())) {
+                double distance = GeoUtils.distanceMeters(latitude, longitude, post.getLatitude(), post.getLongitude());
+                if (distance <= NEARBY_METERS && similarity >= MIN_NEARBY_SIMILARITY) {
+                    matches.add(new Match(post, similarity, distance));
+                }
+            } else if (similarity >= MIN_TEXT_SIMILARITY) {
+                matches.add(new Match(post, similarity, Double.NaN));
+            }
+        }
+
+        Collections.sort(matches, (a, b) -> {
+            int bySimilarity = Double.compare(b.similarity, a.similarity);
+            // NaN distances sort last
+            return bySimilarity != 0 ? bySimilarity : Double.compare(a.distanceMeters, b.distanceMeters);
+        });
+        return matches.size() > maxResults ? new ArrayList<>(matches.subList(0, maxResults)) : matches;
+    }
+
+    private static long[] bandKeys(int[] signature) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS; row++) {
+                key = key * 0x9E3779B97F4A7C15L + signature[band * ROWS + row];
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    private static String text(String title, String description) {
+        return (title != null ? title : "") + " " + (description != null ? description : "");
+    }
+
+    private static boolean hasLocation(Double latitude, Double longitude) {
+        // 0, 0 is what the location picker leaves when nothing was picked
+        return latitude != null && longitude != null && (latitude != 0.0 || longitude != 0.0);
+    }
+
+    private static <K> void addTo(Map<K, Set<String>> index, K key, String postId) {
+        Set<String> ids = index.get(key);
+        if (ids == null) {
+            ids = new HashSet<>();
+            index.put(key, ids);
+        }
+        ids.add(postId);
+    }
+
+    private static <K> void removeFrom(Map<K, Set<String>> index, K key, String postId) {
+        Set<String> ids = index.get(key);
+        if (ids != null && ids.remove(postId) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static <K> void addAllFrom(Map<K, Set<String>> index, K key, Set<String> into) {
+        Set<String> ids = index.get(key);
+        if (ids != null) {
+            into.addAll(ids);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.fixmyarea.utils;
+
+import com.example.fixmyarea.models.Post;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Distance calculations on latitude/longitude pairs
+ */
+public final class GeoUtils {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * Great-circle distance (haversine)
+     *
+     * @return Distance in meters
+     */
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Posts with coordinates within a radius of a point
+     * Posts outside the latitude band are rejected before the haversine call.
+     *
+     * @param posts        Posts to check, not modified
+     * @param latitude     Center latitude
+     * @param longitude    Center longitude
+     * @param radiusMeters Search radius
+     * @return New list of posts in range, in input order
+     */
+    public static List<Post> withinRadius(List<Post> posts, double latitude, double longitude,
+            double radiusMeters) {
+        double latDelta = Math.toDegrees(radiusMeters / EARTH_RADIUS_METERS);
+        List<Post> result = new ArrayList<>();
+        for (Post post : posts) {
+            Double lat = post.getLatitude();
+            Double lng = post.getLongitude();
+            if (lat == null || lng == null || Math.abs(lat - latitude) > latDelta) {
+                continue;
+            }
+            if (distanceMeters(latitude, longitude, lat, lng) <= radiusMeters) {
+                result.add(post);
+            }
+        }
+        return result;
+    }
+}
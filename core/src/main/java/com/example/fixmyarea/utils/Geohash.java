@@ -0,0 +1,90 @@
+package com.example.fixmyarea.utils;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Geohash cells for grouping nearby locations
+ * A geohash names a rectangular cell; a longer hash is a smaller cell inside the
+ * cells of its prefixes. Points close to a cell edge can land in the next cell,
+ * so proximity checks use a cell and its eight neighbors.
+ */
+public final class Geohash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private Geohash() {
+    }
+
+    /**
+     * @param precision Number of characters, 1 to 12 (6 is about 1.2 km by 0.6 km)
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        char[] hash = new char[precision];
+        boolean evenBit = true;
+        int bits = 0;
+        int value = 0;
+        int length = 0;
+        while (length < precision) {
+            // Bits alternate between longitude and latitude, longitude first
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    value = value * 2 + 1;
+                    minLng = mid;
+                } else {
+                    value = value * 2;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    value = value * 2 + 1;
+                    minLat = mid;
+                } else {
+                    value = value * 2;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bits == 5) {
+                hash[length++] = BASE32[value];
+                bits = 0;
+                value = 0;
+            }
+        }
+        return new String(hash);
+    }
+
+    /**
+     * The cell of a point and its eight neighbors
+     * Neighbors are found by encoding points one cell away, which also handles
+     * the wrap at longitude 180; at the poles fewer than nine cells come back.
+     */
+    public static Set<String> neighborhood(double latitude, double longitude, int precision) {
+        int lngBits = (5 * precision + 1) / 2;
+        int latBits = 5 * precision / 2;
+        double cellWidth = 360.0 / (1L << lngBits);
+        double cellHeight = 180.0 / (1L << latBits);
+
+        Set<String> cells = new LinkedHashSet<>();
+        for (int dy = -1; dy <= 1; dy++) {
+            double lat = latitude + dy * cellHeight;
+            if (lat < -90 || lat > 90) {
+                continue;
+            }
+            for (int dx = -1; dx <= 1; dx++) {
+                double lng = longitude + dx * cellWidth;
+                if (lng >= 180) {
+                    lng -= 360;
+                } else if (lng < -180) {
+                    lng += 360;
+                }
+                cells.add(encode(lat, lng, precision));
+            }
+        }
+        return cells;
+    }
+}
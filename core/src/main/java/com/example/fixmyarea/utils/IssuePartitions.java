@@ -0,0 +1,162 @@
+package com.example.fixmyarea.utils;
+
+import com.example.fixmyarea.models.Post;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Issues partitioned by status, plus one partition with every issue
+ * Each partition is kept sorted newest first, so switching filters is handing
+ * out a different list, and a status change moves one issue between two
+ * partitions. Changes are reported per partition and index so views can update
+ * only the affected rows. Not thread safe.
+ */
+public class IssuePartitions {
+
+    public static final String ALL = "all";
+
+    // Newest first, id as a tie breaker so positions are stable
+    private static final Comparator<Post> ORDER = (a, b) -> {
+        int byTime = Long.compare(b.getTimestamp(), a.getTimestamp());
+        if (byTime != 0) {
+            return byTime;
+        }
+        return a.getPostId().compareTo(b.getPostId());
+    };
+
+    private final Map<String, Post> byId = new HashMap<>();
+    private final Map<String, List<Post>> partitions = new HashMap<>();
+    private final Map<String, List<Post>> views = new HashMap<>();
+    private final ChangeListener listener;
+
+    /**
+     * Row-level changes in one partition, reported after they are applied
+     */
+    public interface ChangeListener {
+        void onInserted(String partition, int index);
+
+        void onRemoved(String partition, int index);
+
+        void onChanged(String partition, int index);
+    }
+
+    public IssuePartitions(ChangeListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Live read-only view of a partition
+     *
+     * @param partition {@link #ALL} or an issue status
+     * @return Issues in the partition, newest first; reflects later changes
+     */
+    public List<Post> get(String partition) {
+        List<Post> view = views.get(partition);
+        if (view == null) {
+            view = Collections.unmodifiableList(partition(partition));
+            views.put(partition, view);
+        }
+        return view;
+    }
+
+    /**
+     * @return Issue with this id, or null
+     */
+    public Post find(String postId) {
+        return byId.get(postId);
+    }
+
+    /**
+     * Add an issue or apply an update to it
+     */
+    public void upsert(Post post) {
+        if (post == null || post.getPostId() == null) {
+            return;
+        }
+        Post previous = byId.put(post.getPostId(), post);
+        if (previous == null) {
+            insert(ALL, post);
+            insert(statusKey(post), post);
+            return;
+        }
+
+        replace(ALL, previous, post);
+        String oldStatus = statusKey(previous);
+        String newStatus = statusKey(post);
+        if (oldStatus.equals(newStatus)) {
+            replace(newStatus, previous, post);
+        } else {
+            delete(oldStatus, previous);
+            insert(newStatus, post);
+        }
+    }
+
+    /**
+     * Drop an issue, if present
+     */
+    public void remove(String postId) {
+        Post previous = postId != null ? byId.remove(postId) : null;
+        if (previous != null) {
+            delete(ALL, previous);
+            delete(statusKey(previous), previous);
+        }
+    }
+
+    /**
+     * Drop everything; no change events are sent
+     */
+    public void clear() {
+        byId.clear();
+        for (List<Post> list : partitions.values()) {
+            list.clear();
+        }
+    }
+
+    private void replace(String partition, Post previous, Post post) {
+        if (ORDER.compare(previous, post) == 0) {
+            int index = indexOf(partition, previous);
+            partition(partition).set(index, post);
+            listener.onChanged(partition, index);
+        } else {
+            delete(partition, previous);
+            insert(partition, post);
+        }
+    }
+
+    private void insert(String partition, Post post) {
+        List<Post> list = partition(partition);
+        int index = Collections.binarySearch(list, post, ORDER);
+        // Not found, so binarySearch returns -(insertion point) - 1
+        index = -index - 1;
+        list.add(index, post);
+        listener.onInserted(partition, index);
+    }
+
+    private void delete(String partition, Post post) {
+        int index = indexOf(partition, post);
+        partition(partition).remove(index);
+        listener.onRemoved(partition, index);
+    }
+
+    private int indexOf(String partition, Post post) {
+        return Collections.binarySearch(partition(partition), post, ORDER);
+    }
+
+    private List<Post> partition(String partition) {
+        List<Post> list = partitions.get(partition);
+        if (list == null) {
+            list = new ArrayList<>();
+            partitions.put(partition, list);
+        }
+        return list;
+    }
+
+    private static String statusKey(Post post) {
+        return post.getStatus() != null ? post.getStatus() : "";
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.fixmyarea.utils;
+
+import com.example.fixmyarea.models.Post;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Issue locations for the density heatmap, stored column-wise in primitive arrays
+ * Each issue keeps only its Web Mercator position and small codes for its category
+ * and status, so 100k issues take a few MB instead of 100k Post objects.
+ * Positions are in world units: x and y from 0 to 1, y growing southwards.
+ * Not thread safe.
+ */
+public final class IssuePoints {
+
+    // Web Mercator cannot show the poles; tiles stop at this latitude
+    public static final double MAX_LATITUDE = 85.05112878;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private double[] xs = new double[INITIAL_CAPACITY];
+    private double[] ys = new double[INITIAL_CAPACITY];
+    private byte[] categories = new byte[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    private final List<String> categoryNames = new ArrayList<>();
+    private final List<String> statusNames = new ArrayList<>();
+
+    /**
+     * Add a post's location; posts without coordinates are skipped
+     */
+    public void add(Post post) {
+        if (post.getLatitude() != null && post.getLongitude() != null) {
+            add(post.getLatitude(), post.getLongitude(), post.getCategory(), post.getStatus());
+        }
+    }
+
+    public void add(double latitude, double longitude, String category, String status) {
+        if (size == xs.length) {
+            int capacity = size * 2;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+        }
+        xs[size] = mercatorX(longitude);
+        ys[size] = mercatorY(latitude);
+        categories[size] = code(categoryNames, category);
+        statuses[size] = code(statusNames, status);
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    double x(int index) {
+        return xs[index];
+    }
+
+    double y(int index) {
+        return ys[index];
+    }
+
+    /**
+     * @return Code of a category for {@link #matches}, or -1 if no issue has it
+     */
+    int categoryCode(String category) {
+        return categoryNames.indexOf(category);
+    }
+
+    int statusCode(String status) {
+        return statusNames.indexOf(status);
+    }
+
+    /**
+     * @param categoryCode Code to match, or {@link Integer#MIN_VALUE} for any
+     * @param statusCode   Code to match, or {@link Integer#MIN_VALUE} for any
+     */
+    boolean matches(int index, int categoryCode, int statusCode) {
+        return (categoryCode == Integer.MIN_VALUE || categories[index] == categoryCode)
+                && (statusCode == Integer.MIN_VALUE || statuses[index] == statusCode);
+    }
+
+    /**
+     * @return x from 0 (longitude -180) to 1 (longitude 180)
+     */
+    public static double mercatorX(double longitude) {
+        double x = (longitude + 180.0) / 360.0;
+        return Math.min(Math.nextDown(1.0), Math.max(0.0, x));
+    }
+
+    /**
+     * @return y from 0 (north edge) to 1 (south edge)
+     */
+    public static double mercatorY(double latitude) {
+        double clamped = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude)));
+        double y = 0.5 - Math.log(Math.tan(Math.PI / 4 + clamped / 2)) / (2 * Math.PI);
+        return Math.min(Math.nextDown(1.0), Math.max(0.0, y));
+    }
+
+    public static double longitude(double mercatorX) {
+        return mercatorX * 360.0 - 180.0;
+    }
+
+    public static double latitude(double mercatorY) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * mercatorY))));
+    }
+
+    // Codes are bytes; past 127 distinct values everything else shares the last code
+    private static byte code(List<String> names, String name) {
+        String key = name != null ? name : "";
+        int index = names.indexOf(key);
+        if (index < 0) {
+            if (names.size() == Byte.MAX_VALUE) {
+                return Byte.MAX_VALUE - 1;
+            }
+            names.add(key);
+            index = names.size() - 1;
+        }
+        return (byte) index;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.fixmyarea.utils;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streaming histogram of non-negative long values with bounded relative error
+ * Log-linear buckets in the style of HdrHistogram: values below 32 get a bucket
+ * each, and every further power of two is split into 16 buckets, so a value is
+ * reported within 1/16 (6.25%) of itself. Counts live in one primitive array
+ * covering the whole long range, so recording is a few shifts and an increment,
+ * and merging is adding two arrays. Bucket indexes are stable and shared with
+ * functions/resolutionTimes.js, which keeps the stored histograms. Not thread safe.
+ */
+public class LogHistogram {
+
+    // Sub-buckets per power of two is HALF; values below 2 * HALF are exact
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int HALF = 1 << (SUB_BUCKET_BITS - 1);
+    // Highest bucket holds values up to Long.MAX_VALUE
+    static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * HALF;
+
+    private final long[] counts = new long[BUCKETS];
+    private long totalCount;
+    private long maxValue;
+
+    /**
+     * Count one value
+     *
+     * @param value Non-negative value; negative values are counted as 0
+     */
+    public void record(long value) {
+        record(value, 1);
+    }
+
+    /**
+     * Count a value several times
+     */
+    public void record(long value, long count) {
+        long clamped = Math.max(0, value);
+        counts[indexOf(clamped)] += count;
+        totalCount += count;
+        maxValue = Math.max(maxValue, clamped);
+    }
+
+    /**
+     * Add another histogram's counts to this one
+     */
+    public void merge(LogHistogram other) {
+        long[] source = other.counts;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += source[i];
+        }
+        totalCount += other.totalCount;
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @param percentile 0 to 100
+     * @return Highest value in the bucket where the percentile falls (never above
+     * the largest recorded value), or 0 if nothing was recorded
+     */
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double clamped = Math.min(100.0, Math.max(0.0, percentile));
+        long target = Math.max(1, (long) Math.ceil(clamped / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestValueAt(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * Non-empty buckets, bucket index to count, in index order
+     * The form stored in Firestore (as a map keyed by the index as a string).
+     */
+    public Map<Integer, Long> toSparse() {
+        Map<Integer, Long> sparse = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] != 0) {
+                sparse.put(i, counts[i]);
+            }
+        }
+        return sparse;
+    }
+
+    /**
+     * Rebuild a histogram from {@link #toSparse()} output; unknown indexes are ignored
+     */
+    public static LogHistogram fromSparse(Map<Integer, Long> sparse) {
+        LogHistogram histogram = new LogHistogram();
+        for (Map.Entry<Integer, Long> entry : sparse.entrySet()) {
+            int index = entry.getKey();
+            long count = entry.getValue();
+            if (index < 0 || index >= BUCKETS || count <= 0) {
+                continue;
+            }
+            histogram.counts[index] += count;
+            histogram.totalCount += count;
+            histogram.maxValue = Math.max(histogram.maxValue, highestValueAt(index));
+        }
+        return histogram;
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        maxValue = 0;
+    }
+
+    /**
+     * @return Bucket index of a non-negative value
+     */
+    public static int indexOf(long value) {
+        if (value < 2 * HALF) {
+            return (int) value;
+        }
+        // Shift so the value has SUB_BUCKET_BITS significant bits left
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return shift * HALF + (int) (value >>> shift);
+    }
+
+    /**
+     * @return Highest value that falls into a bucket
+     */
+    public static long highestValueAt(int index) {
+        if (index < 2 * HALF) {
+            return index;
+        }
+        int shift = index / HALF - 1;
+        long subBucket = index - (long) shift * HALF;
+        long highest = ((subBucket + 1) << shift) - 1;
+        // The top bucket's upper bound overflows past Long.MAX_VALUE
+        return highest < 0 ? Long.MAX_VALUE : highest;
+    }
+}
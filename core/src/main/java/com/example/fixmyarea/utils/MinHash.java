@@ -0,0 +1,137 @@
+package com.example.fixmyarea.utils;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * MinHash signatures of short texts
+ * A text becomes the set of its words and adjacent word pairs, minus common
+ * words. The share of equal positions in two signatures estimates the Jaccard
+ * similarity of the two sets, so texts can be compared without keeping them.
+ */
+public final class MinHash {
+
+    public static final int SIGNATURE_SIZE = 64;
+
+    // Keeps a word pair's hash apart from the hashes of its two words
+    private static final int PAIR_MULTIPLIER = 0x9E3779B1;
+
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in",
+            "is", "it", "its", "near", "of", "on", "or", "our", "please", "the", "there", "this",
+            "to", "very", "was", "we", "with"));
+
+    // One multiplier per hash function, fixed so signatures stay comparable across runs
+    private static final long[] SEEDS = new long[SIGNATURE_SIZE];
+
+    static {
+        long seed = 0x2545F4914F6CDD1DL;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            seed = mix(seed + i);
+            // Multiply-shift hashing needs odd multipliers
+            SEEDS[i] = seed | 1;
+        }
+    }
+
+    private MinHash() {
+    }
+
+    /**
+     * @return Signature of the text, or null if it has no words left after
+     * dropping common ones
+     */
+    public static int[] signature(String text) {
+        int[] shingles = shingles(text);
+        if (shingles.length == 0) {
+            return null;
+        }
+        int[] signature = new int[SIGNATURE_SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int shingle : shingles) {
+            // Mix once, then one multiply-shift hash per position
+            long mixed = mix(shingle);
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                int hash = (int) ((mixed * SEEDS[i]) >>> 32);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * @return Estimated Jaccard similarity from 0 to 1
+     */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIGNATURE_SIZE;
+    }
+
+    /**
+     * Hashes of the text's distinct words and word pairs, sorted
+     * Scans characters directly rather than splitting with a regex, since this
+     * runs for every cached post when the detector is built.
+     */
+    static int[] shingles(String text) {
+        if (text == null) {
+            return new int[0];
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int[] hashes = new int[32];
+        int count = 0;
+        int previous = 0;
+        boolean hasPrevious = false;
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            if (i < lower.length() && Character.isLetterOrDigit(lower.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+                continue;
+            }
+            if (start < 0) {
+                continue;
+            }
+            String word = lower.substring(start, i);
+            start = -1;
+            if (STOP_WORDS.contains(word)) {
+                continue;
+            }
+            if (count + 2 > hashes.length) {
+                hashes = Arrays.copyOf(hashes, hashes.length * 2);
+            }
+            int hash = word.hashCode();
+            hashes[count++] = hash;
+            if (hasPrevious) {
+                hashes[count++] = previous * PAIR_MULTIPLIER + hash;
+            }
+            previous = hash;
+            hasPrevious = true;
+        }
+
+        // Sort and drop repeats
+        Arrays.sort(hashes, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || hashes[distinct - 1] != hashes[i]) {
+                hashes[distinct++] = hashes[i];
+            }
+        }
+        return Arrays.copyOf(hashes, distinct);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
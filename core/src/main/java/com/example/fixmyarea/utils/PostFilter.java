@@ -0,0 +1,69 @@
+package com.example.fixmyarea.utils;
+
+import com.example.fixmyarea.models.Post;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Search and sort for post lists (Discover screen)
+ */
+public final class PostFilter {
+
+    public static final String SORT_NEWEST = "Newest";
+    public static final String SORT_OLDEST = "Oldest";
+    public static final String SORT_MOST_LIKED = "Most Liked";
+    public static final String SORT_CATEGORY = "Category";
+
+    private PostFilter() {
+    }
+
+    /**
+     * Filter posts by a text query and sort them
+     *
+     * @param posts      Posts to filter, not modified
+     * @param query      Case-insensitive text matched against title, description and category
+     * @param sortOption One of the SORT_ constants; anything else sorts newest first
+     * @return New list of matching posts
+     */
+    public static List<Post> filterAndSort(List<Post> posts, String query, String sortOption) {
+        String needle = query != null ? query.toLowerCase() : "";
+
+        List<Post> filtered = new ArrayList<>();
+        for (Post post : posts) {
+            if (matches(post.getTitle(), needle)
+                    || matches(post.getDescription(), needle)
+                    || matches(post.getCategory(), needle)) {
+                filtered.add(post);
+            }
+        }
+
+        Collections.sort(filtered, comparatorFor(sortOption));
+        return filtered;
+    }
+
+    private static boolean matches(String field, String needle) {
+        return field != null && field.toLowerCase().contains(needle);
+    }
+
+    private static Comparator<Post> comparatorFor(String sortOption) {
+        if (SORT_OLDEST.equals(sortOption)) {
+            return (p1, p2) -> Long.compare(p1.getTimestamp(), p2.getTimestamp());
+        } else if (SORT_MOST_LIKED.equals(sortOption)) {
+            return (p1, p2) -> Integer.compare(likeCount(p2), likeCount(p1));
+        } else if (SORT_CATEGORY.equals(sortOption)) {
+            return (p1, p2) -> {
+                String cat1 = p1.getCategory() != null ? p1.getCategory() : "";
+                String cat2 = p2.getCategory() != null ? p2.getCategory() : "";
+                return cat1.compareToIgnoreCase(cat2);
+            };
+        }
+        return (p1, p2) -> Long.compare(p2.getTimestamp(), p1.getTimestamp());
+    }
+
+    private static int likeCount(Post post) {
+        return post.getLikedBy() != null ? post.getLikedBy().size() : 0;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.fixmyarea.utils;
+
+import com.example.fixmyarea.models.IssueRollup;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Day and week periods of the analytics rollups
+ * Periods are UTC days and ISO weeks (starting Monday, UTC), identified by the
+ * date they start on ("2026-10-19"), which is also the rollup document id.
+ * functions/rollups.js must compute the same periods.
+ */
+public final class RollupPeriods {
+
+    public static final String DAY = "day";
+    public static final String WEEK = "week";
+
+    private static final long DAY_MS = TimeUnit.DAYS.toMillis(1);
+    private static final long WEEK_MS = TimeUnit.DAYS.toMillis(7);
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private RollupPeriods() {
+    }
+
+    /**
+     * @param time        UTC millis
+     * @param granularity {@link #DAY} or {@link #WEEK}
+     * @return Start of the period containing the time
+     */
+    public static long periodStart(long time, String granularity) {
+        long day = Math.floorDiv(time, DAY_MS);
+        if (WEEK.equals(granularity)) {
+            // 1970-01-01 was a Thursday, 3 days after Monday
+            day -= Math.floorMod(day + 3, 7L);
+        }
+        return day * DAY_MS;
+    }
+
+    /**
+     * @return Document id of the period starting at this time, as yyyy-MM-dd
+     */
+    public static String periodId(long periodStart) {
+        Calendar calendar = new GregorianCalendar(UTC, Locale.ROOT);
+        calendar.setTimeInMillis(periodStart);
+        return String.format(Locale.ROOT, "%04d-%02d-%02d", calendar.get(Calendar.YEAR),
+                calendar.get(Calendar.MONTH) + 1, calendar.get(Calendar.DAY_OF_MONTH));
+    }
+
+    /**
+     * One rollup per period from the period of {@code from} to the period of
+     * {@code to}, oldest first; periods without a document count as zero
+     *
+     * @param rollups     Rollups read for the range, in any order
+     * @param granularity {@link #DAY} or {@link #WEEK}
+     */
+    public static List<IssueRollup> series(List<IssueRollup> rollups, long from, long to, String granularity) {
+        Map<Long, IssueRollup> byStart = new HashMap<>();
+        for (IssueRollup rollup : rollups) {
+            byStart.put(rollup.getPeriodStart(), rollup);
+        }
+
+        long step = WEEK.equals(granularity) ? WEEK_MS : DAY_MS;
+        long last = periodStart(to, granularity);
+        List<IssueRollup> series = new ArrayList<>();
+        for (long start = periodStart(from, granularity); start <= last; start += step) {
+            IssueRollup rollup = byStart.get(start);
+            series.add(rollup != null ? rollup : new IssueRollup(start));
+        }
+        return series;
+    }
+
+    /**
+     * @return Sum of the rollups' counts
+     */
+    public static IssueRollup total(List<IssueRollup> rollups) {
+        IssueRollup total = new IssueRollup();
+        for (IssueRollup rollup : rollups) {
+            total.add(rollup);
+        }
+        return total;
+    }
+}
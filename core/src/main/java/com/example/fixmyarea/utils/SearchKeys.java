@@ -0,0 +1,33 @@
+package com.example.fixmyarea.utils;
+
+import java.util.Locale;
+
+/**
+ * Normalized keys stored next to display values for server-side search
+ * Firestore range queries are case sensitive, so documents store a normalized copy
+ * (e.g. userNameLower) and queries normalize the input the same way.
+ * functions/searchKeys.js must stay in step with this class.
+ */
+public final class SearchKeys {
+
+    /**
+     * Appended to a prefix to get the upper bound of a prefix range query
+     */
+    public static final String PREFIX_END = "\uf8ff";
+
+    private SearchKeys() {
+    }
+
+    /**
+     * Trim, collapse runs of whitespace and lowercase
+     *
+     * @param name Display name, may be null
+     * @return Normalized key, empty for a null or blank name
+     */
+    public static String normalizeName(String name) {
+        if (name == null) {
+            return "";
+        }
+        return name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
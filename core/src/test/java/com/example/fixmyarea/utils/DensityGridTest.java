@@ -0,0 +1,172 @@
+package com.example.fixmyarea.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DensityGridTest {
+
+    @Test
+    public void countsIssuesPerCell() {
+        IssuePoints points = new IssuePoints();
+        // Two issues in one cell at level 10, one a few km away
+        points.add(23.8103, 90.4125, "road", "pending");
+        points.add(23.8104, 90.4126, "road", "approved");
+        points.add(23.7500, 90.3500, "garbage", "pending");
+
+        DensityGrid grid = DensityGrid.aggregate(points, 10, null, null);
+        assertEquals(10, grid.getLevel());
+        assertEquals(3, grid.getTotalCount());
+        assertEquals(2, grid.getCellCount());
+        assertEquals(2, grid.getMaxCount());
+        assertEquals(2, grid.countAt(DensityGrid.cellX(90.4125, 10), DensityGrid.cellY(23.8103, 10)));
+        assertEquals(1, grid.countAt(DensityGrid.cellX(90.35, 10), DensityGrid.cellY(23.75, 10)));
+        assertEquals(0, grid.countAt(0, 0));
+    }
+
+    @Test
+    public void filtersByCategoryAndStatus() {
+        IssuePoints points = new IssuePoints();
+        points.add(10, 10, "road", "pending");
+        points.add(10, 10, "road", "approved");
+        points.add(10, 10, "garbage", "pending");
+
+        assertEquals(2, DensityGrid.aggregate(points, 8, "road", null).getTotalCount());
+        assertEquals(2, DensityGrid.aggregate(points, 8, null, "pending").getTotalCount());
+        assertEquals(1, DensityGrid.aggregate(points, 8, "road", "pending").getTotalCount());
+    }
+
+    @Test
+    public void unknownFilterValueMatchesNothing() {
+        IssuePoints points = new IssuePoints();
+        points.add(10, 10, "road", "pending");
+
+        DensityGrid grid = DensityGrid.aggregate(points, 8, "lighting", null);
+        assertEquals(0, grid.getTotalCount());
+        assertEquals(0, grid.getCellCount());
+        assertEquals(0, grid.getMaxCount());
+        assertEquals(0, DensityGrid.aggregate(points, 8, null, "resolved").getTotalCount());
+    }
+
+    @Test
+    public void emptyPointsGiveEmptyGrid() {
+        DensityGrid grid = DensityGrid.aggregate(new IssuePoints(), 12, null, null);
+        assertEquals(0, grid.getTotalCount());
+        assertEquals(0, grid.getCellCount());
+        assertEquals(0, visit(grid, 0, 0, Integer.MAX_VALUE, Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    public void levelZeroIsOneCell() {
+        IssuePoints points = new IssuePoints();
+        points.add(60, -150, "road", "pending");
+        points.add(-60, 150, "road", "pending");
+
+        DensityGrid grid = DensityGrid.aggregate(points, 0, null, null);
+        assertEquals(1, grid.getCellCount());
+        assertEquals(2, grid.countAt(0, 0));
+    }
+
+    @Test
+    public void levelOutsideRangeIsRejected() {
+        IssuePoints points = new IssuePoints();
+        for (int level : new int[]{-1, DensityGrid.MAX_LEVEL + 1}) {
+            try {
+                DensityGrid.aggregate(points, level, null, null);
+                fail("Level " + level + " should be rejected");
+            } catch (IllegalArgumentException expected) {
+                // Cell indexes would not fit in the key
+            }
+        }
+    }
+
+    @Test
+    public void maxLevelKeepsCellsApart() {
+        IssuePoints points = new IssuePoints();
+        // About 10 cm apart; level 30 cells are a few cm wide
+        points.add(0.000001, 0.000001, "road", "pending");
+        points.add(0.000002, 0.000002, "road", "pending");
+        points.add(-85, 179.9999999, "road", "pending");
+
+        DensityGrid grid = DensityGrid.aggregate(points, DensityGrid.MAX_LEVEL, null, null);
+        assertEquals(3, grid.getCellCount());
+        int last = (1 << DensityGrid.MAX_LEVEL) - 1;
+        assertEquals(last, DensityGrid.cellX(179.9999999, DensityGrid.MAX_LEVEL));
+        assertEquals(1, grid.countAt(last, DensityGrid.cellY(-85, DensityGrid.MAX_LEVEL)));
+    }
+
+    @Test
+    public void cellsCoverTheWholeMap() {
+        int level = 3;
+        int last = (1 << level) - 1;
+        assertEquals(0, DensityGrid.cellX(-180, level));
+        // Longitude 180 is the east edge, not the next column
+        assertEquals(last, DensityGrid.cellX(180, level));
+        assertEquals(4, DensityGrid.cellX(0, level));
+        // Latitudes beyond the map's edge clamp to the first and last rows
+        assertEquals(0, DensityGrid.cellY(90, level));
+        assertEquals(last, DensityGrid.cellY(-90, level));
+        assertEquals(4, DensityGrid.cellY(0, level));
+    }
+
+    @Test
+    public void antimeridianNeighborsAreFirstAndLastColumns() {
+        IssuePoints points = new IssuePoints();
+        points.add(0.5, 179.99, "road", "pending");
+        points.add(0.5, -179.99, "road", "pending");
+
+        int level = 2;
+        DensityGrid grid = DensityGrid.aggregate(points, level, null, null);
+        int row = DensityGrid.cellY(0.5, level);
+        assertEquals(1, grid.countAt(3, row));
+        assertEquals(1, grid.countAt(0, row));
+
+        // A view crossing the antimeridian queries both ends separately
+        assertEquals(1, visit(grid, 3, 0, 3, 3).size());
+        assertEquals(1, visit(grid, 0, 0, 0, 3).size());
+        assertEquals(2, visit(grid, 0, 0, 3, 3).size());
+    }
+
+    @Test
+    public void forEachInVisitsOnlyCellsInsideTheRectangle() {
+        IssuePoints points = new IssuePoints();
+        int level = 4;
+        // One issue at the center of every cell
+        for (int x = 0; x < 16; x++) {
+            for (int y = 0; y < 16; y++) {
+                points.add(IssuePoints.latitude((y + 0.5) / 16), IssuePoints.longitude((x + 0.5) / 16),
+                        "road", "pending");
+            }
+        }
+
+        DensityGrid grid = DensityGrid.aggregate(points, level, null, null);
+        assertEquals(256, grid.getCellCount());
+
+        List<int[]> cells = visit(grid, 3, 5, 6, 7);
+        assertEquals(4 * 3, cells.size());
+        int[] previous = null;
+        for (int[] cell : cells) {
+            assertEquals(true, cell[0] >= 3 && cell[0] <= 6);
+            assertEquals(true, cell[1] >= 5 && cell[1] <= 7);
+            assertEquals(1, cell[2]);
+            // Column by column, rows ascending within a column
+            if (previous != null) {
+                assertEquals(true, cell[0] > previous[0] || (cell[0] == previous[0] && cell[1] > previous[1]));
+            }
+            previous = cell;
+        }
+
+        assertEquals(1, visit(grid, 15, 15, 15, 15).size());
+        assertEquals(0, visit(grid, 16, 0, 20, 20).size());
+    }
+
+    private static List<int[]> visit(DensityGrid grid, int minX, int minY, int maxX, int maxY) {
+        List<int[]> cells = new ArrayList<>();
+        grid.forEachIn(minX, minY, maxX, maxY, (x, y, count) -> cells.add(new int[]{x, y, count}));
+        return cells;
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.fixmyarea.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class LogHistogramTest {
+
+    @Test
+    public void smallValuesHaveTheirOwnBucket() {
+        for (long value = 0; value < 32; value++) {
+            assertEquals(value, LogHistogram.indexOf(value));
+            assertEquals(value, LogHistogram.highestValueAt((int) value));
+        }
+    }
+
+    @Test
+    public void bucketBoundariesRoundTrip() {
+        assertEquals(31, LogHistogram.indexOf(31));
+        assertEquals(31, LogHistogram.highestValueAt(31));
+        // From 32 on, buckets are two wide, then four from 64
+        assertEquals(32, LogHistogram.indexOf(32));
+        assertEquals(32, LogHistogram.indexOf(33));
+        assertEquals(33, LogHistogram.highestValueAt(32));
+        assertEquals(47, LogHistogram.indexOf(63));
+        assertEquals(63, LogHistogram.highestValueAt(47));
+        assertEquals(48, LogHistogram.indexOf(64));
+        assertEquals(67, LogHistogram.highestValueAt(48));
+
+        assertEquals(LogHistogram.BUCKETS - 1, LogHistogram.indexOf(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, LogHistogram.highestValueAt(LogHistogram.BUCKETS - 1));
+    }
+
+    @Test
+    public void everyBucketContainsItsHighestValue() {
+        for (int index = 0; index < LogHistogram.BUCKETS; index++) {
+            long highest = LogHistogram.highestValueAt(index);
+            assertEquals(index, LogHistogram.indexOf(highest));
+            if (index + 1 < LogHistogram.BUCKETS) {
+                assertEquals(index + 1, LogHistogram.indexOf(highest + 1));
+            }
+        }
+    }
+
+    /**
+     * Stored histograms are written by functions/resolutionTimes.js; its bucketIndex
+     * must give the same indexes
+     */
+    @Test
+    public void bucketIndexesMatchCloudFunction() {
+        long[][] pinned = {
+                {0, 0}, {31, 31}, {32, 32}, {33, 32}, {47, 39}, {48, 40}, {63, 47}, {64, 48},
+                {95, 55}, {96, 56}, {1000, 111}, {3600000, 299}, {86400000, 372},
+                {1L << 52, 784}, {Long.MAX_VALUE, 959},
+        };
+        for (long[] entry : pinned) {
+            assertEquals("indexOf(" + entry[0] + ")", entry[1], LogHistogram.indexOf(entry[0]));
+        }
+        assertEquals(3670015L, LogHistogram.highestValueAt(299));
+        assertEquals(88080383L, LogHistogram.highestValueAt(372));
+        assertEquals(4785074604081151L, LogHistogram.highestValueAt(784));
+    }
+
+    @Test
+    public void percentilesAreWithinOneSixteenth() {
+        Random random = new Random(42);
+        long[] values = new long[100_000];
+        LogHistogram histogram = new LogHistogram();
+        for (int i = 0; i < values.length; i++) {
+            // Durations from a second to about a month, spread over many powers of two
+            values[i] = (long) Math.exp(random.nextDouble() * Math.log(2.6e9)) + 1000;
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[]{1, 10, 25, 50, 75, 90, 95, 99, 99.9, 100}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long reported = histogram.valueAtPercentile(percentile);
+            assertTrue("p" + percentile + " " + reported + " below " + exact, reported >= exact);
+            assertTrue("p" + percentile + " " + reported + " too far above " + exact,
+                    reported - exact <= exact / 16);
+        }
+    }
+
+    @Test
+    public void percentilesOfEvenlySpacedValues() {
+        LogHistogram histogram = new LogHistogram();
+        for (long value = 1000; value <= 1_000_000; value += 1000) {
+            histogram.record(value);
+        }
+        assertEquals(1000, histogram.getTotalCount());
+        assertEquals(507903, histogram.valueAtPercentile(50));
+        assertEquals(917503, histogram.valueAtPercentile(90));
+        // Capped at the largest recorded value rather than the bucket's upper bound
+        assertEquals(1_000_000, histogram.valueAtPercentile(99));
+        assertEquals(1_000_000, histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        LogHistogram histogram = new LogHistogram();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.valueAtPercentile(50));
+        assertTrue(histogram.toSparse().isEmpty());
+    }
+
+    @Test
+    public void negativeValuesCountAsZero() {
+        LogHistogram histogram = new LogHistogram();
+        histogram.record(-5);
+        assertEquals(1, histogram.getTotalCount());
+        assertEquals(0, histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    public void mergeAddsCounts() {
+        LogHistogram a = new LogHistogram();
+        LogHistogram b = new LogHistogram();
+        LogHistogram both = new LogHistogram();
+        for (long value = 1; value <= 500; value++) {
+            a.record(value * 7);
+            both.record(value * 7);
+        }
+        for (long value = 1; value <= 300; value++) {
+            b.record(value * 1000, 2);
+            both.record(value * 1000, 2);
+        }
+
+        a.merge(b);
+        assertEquals(1100, a.getTotalCount());
+        assertEquals(both.toSparse(), a.toSparse());
+        for (double percentile : new double[]{10, 50, 90, 100}) {
+            assertEquals(both.valueAtPercentile(percentile), a.valueAtPercentile(percentile));
+        }
+    }
+
+    @Test
+    public void sparseFormRoundTrips() {
+        LogHistogram histogram = new LogHistogram();
+        histogram.record(5);
+        histogram.record(5);
+        histogram.record(1000);
+        histogram.record(3600000, 3);
+
+        Map<Integer, Long> sparse = histogram.toSparse();
+        Map<Integer, Long> expected = new LinkedHashMap<>();
+        expected.put(5, 2L);
+        expected.put(111, 1L);
+        expected.put(299, 3L);
+        assertEquals(expected, sparse);
+
+        LogHistogram restored = LogHistogram.fromSparse(sparse);
+        assertEquals(6, restored.getTotalCount());
+        assertEquals(sparse, restored.toSparse());
+        assertEquals(5, restored.valueAtPercentile(25));
+        assertEquals(1023, restored.valueAtPercentile(50));
+        // The exact maximum is not stored, so the top bucket reports its upper bound
+        assertEquals(LogHistogram.highestValueAt(299), restored.valueAtPercentile(100));
+    }
+
+    @Test
+    public void fromSparseSkipsInvalidEntries() {
+        Map<Integer, Long> sparse = new LinkedHashMap<>();
+        sparse.put(-1, 4L);
+        sparse.put(LogHistogram.BUCKETS, 4L);
+        sparse.put(10, 0L);
+        sparse.put(20, 2L);
+
+        LogHistogram restored = LogHistogram.fromSparse(sparse);
+        assertEquals(2, restored.getTotalCount());
+        assertEquals(20, restored.valueAtPercentile(100));
+    }
+
+    @Test
+    public void clearResets() {
+        LogHistogram histogram = new LogHistogram();
+        histogram.record(1234);
+        histogram.clear();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.valueAtPercentile(50));
+        assertTrue(histogram.toSparse().isEmpty());
+    }
+}
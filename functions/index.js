@@ -0,0 +1,105 @@
+const {onDocumentWritten} = require("firebase-functions/v2/firestore");
+const {initializeApp} = require("firebase-admin/app");
+const {getAuth} = require("firebase-admin/auth");
+const {getFirestore} = require("firebase-admin/firestore");
+const {toPublicProfile} = require("./publicProfile");
+const {eventsFor, incrementsFor} = require("./rollups");
+const {durationsFor, histogramIncrementsFor} = require("./resolutionTimes");
+
+initializeApp();
+
+// Retried deliveries arrive within minutes; markers older than this can go (TTL policy
+// on rollupEvents.expireAt)
+const MARKER_TTL_MS = 7 * 24 * 60 * 60 * 1000;
+
+// Mirrors users/{uid}.role into the user's ID token as a "role" custom claim, so the
+// app and the security rules can check roles without reading the user document.
+exports.syncRoleClaim = onDocumentWritten("users/{uid}", async (event) => {
+  const uid = event.params.uid;
+  const before = event.data.before.exists ? event.data.before.get("role") : undefined;
+  const after = event.data.after.exists ? event.data.after.get("role") : undefined;
+  if (before === after) {
+    return;
+  }
+
+  let user;
+  try {
+    user = await getAuth().getUser(uid);
+  } catch (error) {
+    if (error.code === "auth/user-not-found") {
+      return;
+    }
+    throw error;
+  }
+
+  const claims = {...(user.customClaims || {})};
+  if (after) {
+    claims.role = after;
+  } else {
+    delete claims.role;
+  }
+  // Clients see the change on their next token refresh (at most an hour, or
+  // sooner when RoleManager's cached role expires)
+  await getAuth().setCustomUserClaims(uid, claims);
+  // A demoted admin's current token still says admin; revoking forces a sign-in with
+  // the new claims. The rules check users/{uid}.role, so access ends immediately anyway.
+  if (before === "admin") {
+    await getAuth().revokeRefreshTokens(uid);
+  }
+});
+
+// Mirrors the shareable part of users/{uid} into publicProfiles/{uid}, which any signed-in
+// user may read (reporter names and photos on feed rows). Run scripts/backfillPublicProfiles.js
+// once for users created before this function was deployed.
+exports.syncPublicProfile = onDocumentWritten("users/{uid}", async (event) => {
+  const target = getFirestore().collection("publicProfiles").doc(event.params.uid);
+  if (!event.data.after.exists) {
+    await target.delete();
+    return;
+  }
+  const before = event.data.before.exists ? toPublicProfile(event.data.before.data()) : null;
+  const after = toPublicProfile(event.data.after.data());
+  if (before && before.userName === after.userName &&
+      before.profileImageUrl === after.profileImageUrl) {
+    return;
+  }
+  await target.set(after);
+});
+
+// Adds each issue's events (created, resolved, rejected) to stats_daily/{date} and
+// stats_weekly/{monday}, so analytics reads one small document per period instead of
+// every issue. Approvals and resolutions also add their time since creation to that
+// period's per-category histograms. A marker per event id makes retried deliveries count
+// only once. Run scripts/backfillRollups.js once for issues created before this function
+// was deployed.
+exports.syncIssueRollups = onDocumentWritten("issues/{issueId}", async (event) => {
+  const before = event.data.before.exists ? event.data.before.data() : null;
+  const after = event.data.after.exists ? event.data.after.data() : null;
+  const now = Date.now();
+  const events = eventsFor(before, after, now);
+  const durations = durationsFor(before, after, now);
+  if (events.length === 0 && durations.length === 0) {
+    return;
+  }
+
+  const db = getFirestore();
+  const marker = db.collection("rollupEvents").doc(event.id);
+  await db.runTransaction(async (tx) => {
+    if ((await tx.get(marker)).exists) {
+      return;
+    }
+    tx.create(marker, {expireAt: new Date(Date.now() + MARKER_TTL_MS)});
+    for (const issueEvent of events) {
+      for (const [collection, granularity] of [["stats_daily", "day"], ["stats_weekly", "week"]]) {
+        const {id, update} = incrementsFor(issueEvent, granularity);
+        tx.set(db.collection(collection).doc(id), update, {merge: true});
+      }
+    }
+    for (const duration of durations) {
+      for (const [collection, granularity] of [["stats_daily", "day"], ["stats_weekly", "week"]]) {
+        const {id, update} = histogramIncrementsFor(duration, granularity);
+        tx.set(db.collection(collection).doc(id), update, {merge: true});
+      }
+    }
+  });
+});
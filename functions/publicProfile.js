@@ -0,0 +1,9 @@
+// Fields of users/{uid} that are safe to show to other users
+function toPublicProfile(user) {
+  return {
+    userName: user.userName || null,
+    profileImageUrl: user.profileImageUrl || null,
+  };
+}
+
+module.exports = {toPublicProfile};
@@ -0,0 +1,49 @@
+// Time-to-approve and time-to-resolve histograms, kept per category in the rollup documents.
+// Buckets must match com.example.fixmyarea.utils.LogHistogram in :core: values below 32 get
+// a bucket each, then every power of two is split into 16 buckets.
+const {FieldValue} = require("firebase-admin/firestore");
+const {periodStart, periodId} = require("./rollups");
+
+const SUB_BUCKET_BITS = 5;
+const HALF = 1 << (SUB_BUCKET_BITS - 1);
+
+function bucketIndex(value) {
+  const v = Math.max(0, Math.floor(value));
+  if (v < 2 * HALF) {
+    return v;
+  }
+  // Millisecond durations stay far below 2^53, so these are exact
+  const shift = v.toString(2).length - SUB_BUCKET_BITS;
+  return shift * HALF + Math.floor(v / 2 ** shift);
+}
+
+// Durations an issue write adds, each counted in the period it ended in
+function durationsFor(before, after, now) {
+  const durations = [];
+  if (!before || !after || !after.timestamp || before.status === after.status) {
+    return durations;
+  }
+  const time = after.lastUpdated || now;
+  const base = {category: after.category || "other", time, millis: time - after.timestamp};
+  if (before.status === "pending" && after.status === "approved") {
+    durations.push({...base, field: "timeToApprove"});
+  }
+  if (after.status === "resolved") {
+    durations.push({...base, field: "timeToResolve"});
+  }
+  return durations;
+}
+
+// Nested bucket increment for one duration, for set(..., {merge: true})
+function histogramIncrementsFor(duration, granularity) {
+  const start = periodStart(duration.time, granularity);
+  return {
+    id: periodId(start),
+    update: {
+      periodStart: start,
+      [duration.field]: {[duration.category]: {[bucketIndex(duration.millis)]: FieldValue.increment(1)}},
+    },
+  };
+}
+
+module.exports = {bucketIndex, durationsFor, histogramIncrementsFor};
@@ -0,0 +1,68 @@
+// Daily and weekly issue rollups read by the admin analytics screen.
+// Periods must match com.example.fixmyarea.utils.RollupPeriods in :core: UTC days and
+// ISO weeks starting Monday, each stored under the date it starts on (yyyy-MM-dd).
+const {FieldValue} = require("firebase-admin/firestore");
+
+const DAY_MS = 24 * 60 * 60 * 1000;
+const MAX_AREA_LENGTH = 60;
+
+function periodStart(time, granularity) {
+  let day = Math.floor(time / DAY_MS);
+  if (granularity === "week") {
+    // 1970-01-01 was a Thursday, 3 days after Monday
+    day -= (((day + 3) % 7) + 7) % 7;
+  }
+  return day * DAY_MS;
+}
+
+function periodId(start) {
+  return new Date(start).toISOString().slice(0, 10);
+}
+
+// Issues carry a free-text location; its last comma-separated part is usually the city
+function areaKey(location) {
+  if (!location) {
+    return "unknown";
+  }
+  const parts = String(location).split(",");
+  const area = parts[parts.length - 1].trim().replace(/\s+/g, " ").toLowerCase();
+  return area ? area.slice(0, MAX_AREA_LENGTH) : "unknown";
+}
+
+// Events an issue write adds to the rollups, each with the time it happened
+function eventsFor(before, after, now) {
+  const events = [];
+  if (!after) {
+    // Deleting an issue does not undo what already happened
+    return events;
+  }
+  const base = {
+    category: after.category || "other",
+    area: areaKey(after.location),
+  };
+  if (!before) {
+    events.push({...base, type: "created", time: after.timestamp || now});
+  }
+  const status = after.status;
+  if ((status === "resolved" || status === "rejected") && (!before || before.status !== status)) {
+    events.push({...base, type: status, time: after.lastUpdated || now});
+  }
+  return events;
+}
+
+// Nested increments for one event, for set(..., {merge: true})
+function incrementsFor(event, granularity) {
+  const start = periodStart(event.time, granularity);
+  const one = FieldValue.increment(1);
+  return {
+    id: periodId(start),
+    update: {
+      periodStart: start,
+      [event.type]: one,
+      [`${event.type}ByCategory`]: {[event.category]: one},
+      [`${event.type}ByArea`]: {[event.area]: one},
+    },
+  };
+}
+
+module.exports = {periodStart, periodId, areaKey, eventsFor, incrementsFor};
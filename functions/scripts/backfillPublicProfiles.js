@@ -0,0 +1,24 @@
+// One-off: create publicProfiles/{uid} for every existing user.
+// Usage (from functions/): GOOGLE_APPLICATION_CREDENTIALS=key.json node scripts/backfillPublicProfiles.js
+// Against the emulator, set FIRESTORE_EMULATOR_HOST=localhost:8080 instead.
+const {initializeApp} = require("firebase-admin/app");
+const {getFirestore} = require("firebase-admin/firestore");
+const {toPublicProfile} = require("../publicProfile");
+
+initializeApp();
+
+async function main() {
+  const db = getFirestore();
+  const users = await db.collection("users").get();
+  const writer = db.bulkWriter();
+  users.forEach((doc) => {
+    writer.set(db.collection("publicProfiles").doc(doc.id), toPublicProfile(doc.data()));
+  });
+  await writer.close();
+  console.log(`Wrote ${users.size} public profiles`);
+}
+
+main().catch((error) => {
+  console.error(error);
+  process.exit(1);
+});
@@ -0,0 +1,70 @@
+// One-off: rebuild stats_daily and stats_weekly from the current issues. Resolved and
+// rejected counts use each issue's lastUpdated, since earlier status history is not kept.
+// For the same reason only issues still approved get a time-to-approve, and times end at
+// lastUpdated.
+// Run before deploying syncIssueRollups, or with no issue writes in between, since
+// this overwrites the rollup documents.
+// Usage (from functions/): GOOGLE_APPLICATION_CREDENTIALS=key.json node scripts/backfillRollups.js
+// Against the emulator, set FIRESTORE_EMULATOR_HOST=localhost:8080 instead.
+const {initializeApp} = require("firebase-admin/app");
+const {getFirestore} = require("firebase-admin/firestore");
+const {eventsFor, periodStart, periodId} = require("../rollups");
+const {bucketIndex, durationsFor} = require("../resolutionTimes");
+
+initializeApp();
+
+function add(counts, key, amount) {
+  counts[key] = (counts[key] || 0) + amount;
+}
+
+async function main() {
+  const db = getFirestore();
+  const issues = await db.collection("issues").get();
+  const rollups = {stats_daily: {}, stats_weekly: {}};
+  const now = Date.now();
+
+  function rollupAt(collection, granularity, time) {
+    const start = periodStart(time, granularity);
+    const id = periodId(start);
+    return rollups[collection][id] || (rollups[collection][id] = {periodStart: start});
+  }
+
+  function child(parent, key) {
+    return parent[key] || (parent[key] = {});
+  }
+
+  issues.forEach((doc) => {
+    const issue = doc.data();
+    for (const event of eventsFor(null, issue, now)) {
+      for (const [collection, granularity] of [["stats_daily", "day"], ["stats_weekly", "week"]]) {
+        const rollup = rollupAt(collection, granularity, event.time);
+        add(rollup, event.type, 1);
+        add(child(rollup, `${event.type}ByCategory`), event.category, 1);
+        add(child(rollup, `${event.type}ByArea`), event.area, 1);
+      }
+    }
+    // As if every issue had just left pending for its current status
+    for (const duration of durationsFor({status: "pending"}, issue, now)) {
+      for (const [collection, granularity] of [["stats_daily", "day"], ["stats_weekly", "week"]]) {
+        const rollup = rollupAt(collection, granularity, duration.time);
+        add(child(child(rollup, duration.field), duration.category), bucketIndex(duration.millis), 1);
+      }
+    }
+  });
+
+  const writer = db.bulkWriter();
+  let written = 0;
+  for (const [collection, byId] of Object.entries(rollups)) {
+    for (const [id, rollup] of Object.entries(byId)) {
+      writer.set(db.collection(collection).doc(id), rollup);
+      written++;
+    }
+  }
+  await writer.close();
+  console.log(`Wrote ${written} rollups from ${issues.size} issues`);
+}
+
+main().catch((error) => {
+  console.error(error);
+  process.exit(1);
+});
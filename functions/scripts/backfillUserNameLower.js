@@ -0,0 +1,30 @@
+// One-off: set users/{uid}.userNameLower for every existing user, so they show up in
+// the admin user list (it orders and searches by that field).
+// Usage (from functions/): GOOGLE_APPLICATION_CREDENTIALS=key.json node scripts/backfillUserNameLower.js
+// Against the emulator, set FIRESTORE_EMULATOR_HOST=localhost:8080 instead.
+const {initializeApp} = require("firebase-admin/app");
+const {getFirestore} = require("firebase-admin/firestore");
+const {normalizeName} = require("../searchKeys");
+
+initializeApp();
+
+async function main() {
+  const db = getFirestore();
+  const users = await db.collection("users").get();
+  const writer = db.bulkWriter();
+  let updated = 0;
+  users.forEach((doc) => {
+    const key = normalizeName(doc.get("userName"));
+    if (doc.get("userNameLower") !== key) {
+      writer.update(doc.ref, {userNameLower: key});
+      updated++;
+    }
+  });
+  await writer.close();
+  console.log(`Updated ${updated} of ${users.size} users`);
+}
+
+main().catch((error) => {
+  console.error(error);
+  process.exit(1);
+});
@@ -0,0 +1,9 @@
+// Same normalization as com.example.fixmyarea.utils.SearchKeys in :core
+function normalizeName(name) {
+  if (name === undefined || name === null) {
+    return "";
+  }
+  return String(name).trim().replace(/\s+/g, " ").toLowerCase();
+}
+
+module.exports = {normalizeName};
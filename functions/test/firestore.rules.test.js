@@ -0,0 +1,143 @@
+// Security rules tests. Run from functions/ with the Firestore emulator:
+//   npm run test:rules
+// authenticatedContext() signs requests with an emulator ID token; its second argument
+// sets custom claims, which is how a stale "role" claim is simulated.
+const {readFileSync} = require("fs");
+const path = require("path");
+const {after, before, beforeEach, describe, it} = require("mocha");
+const {
+  assertFails,
+  assertSucceeds,
+  initializeTestEnvironment,
+} = require("@firebase/rules-unit-testing");
+const {doc, getDoc, setDoc, updateDoc} = require("firebase/firestore");
+
+let testEnv;
+
+before(async () => {
+  testEnv = await initializeTestEnvironment({
+    projectId: "demo-fixmyarea",
+    firestore: {rules: readFileSync(path.join(__dirname, "..", "..", "firestore.rules"), "utf8")},
+  });
+});
+
+after(async () => {
+  await testEnv.cleanup();
+});
+
+beforeEach(async () => {
+  await testEnv.clearFirestore();
+});
+
+async function seed(docs) {
+  await testEnv.withSecurityRulesDisabled(async (context) => {
+    const db = context.firestore();
+    for (const [docPath, data] of Object.entries(docs)) {
+      await setDoc(doc(db, docPath), data);
+    }
+  });
+}
+
+function firestoreAs(uid, claims) {
+  return testEnv.authenticatedContext(uid, claims).firestore();
+}
+
+describe("isAdmin", () => {
+  it("allows an admin by users/{uid}.role", async () => {
+    await seed({"users/alice": {role: "admin"}});
+    const db = firestoreAs("alice", {role: "admin"});
+    await assertSucceeds(setDoc(doc(db, "areas/north"), {name: "North"}));
+    await assertSucceeds(getDoc(doc(db, "stats_daily/2026-01-01")));
+  });
+
+  it("allows a new admin whose token has no role claim yet", async () => {
+    await seed({"users/alice": {role: "admin"}});
+    const db = firestoreAs("alice");
+    await assertSucceeds(setDoc(doc(db, "areas/north"), {name: "North"}));
+  });
+
+  it("denies a demoted admin whose token still has the admin claim", async () => {
+    await seed({
+      "users/alice": {role: "user"},
+      "users/bob": {role: "user", userName: "Bob"},
+      "issues/issue1": {reporterId: "bob", status: "pending"},
+    });
+    const db = firestoreAs("alice", {role: "admin"});
+    await assertFails(setDoc(doc(db, "areas/north"), {name: "North"}));
+    await assertFails(getDoc(doc(db, "stats_daily/2026-01-01")));
+    await assertFails(getDoc(doc(db, "users/bob")));
+    await assertFails(updateDoc(doc(db, "issues/issue1"), {status: "approved"}));
+  });
+
+  it("denies a user without a profile who claims admin", async () => {
+    const db = firestoreAs("mallory", {role: "admin"});
+    await assertFails(setDoc(doc(db, "areas/north"), {name: "North"}));
+  });
+});
+
+describe("users", () => {
+  it("lets users edit their profile but not their role", async () => {
+    await seed({"users/bob": {role: "user", userName: "Bob"}});
+    const db = firestoreAs("bob");
+    await assertSucceeds(updateDoc(doc(db, "users/bob"), {userName: "Robert"}));
+    await assertFails(updateDoc(doc(db, "users/bob"), {role: "admin"}));
+  });
+
+  it("lets admins change roles", async () => {
+    await seed({
+      "users/alice": {role: "admin"},
+      "users/bob": {role: "user"},
+    });
+    const db = firestoreAs("alice");
+    await assertSucceeds(updateDoc(doc(db, "users/bob"), {role: "admin"}));
+  });
+});
+
+describe("notifications", () => {
+  function notification(fields) {
+    return {
+      userId: "bob",
+      message: "Someone liked your post: Pothole",
+      postId: "issue1",
+      timestamp: 1767225600000,
+      isRead: false,
+      type: "reaction",
+      ...fields,
+    };
+  }
+
+  beforeEach(async () => {
+    await seed({
+      "users/alice": {role: "admin"},
+      "users/bob": {role: "user"},
+      "users/carol": {role: "user"},
+      "issues/issue1": {reporterId: "bob", status: "pending"},
+    });
+  });
+
+  it("lets users notify a post's reporter of a reaction", async () => {
+    const db = firestoreAs("carol");
+    await assertSucceeds(setDoc(doc(db, "notifications/n1"), notification()));
+  });
+
+  it("denies reactions sent to anyone but the reporter", async () => {
+    const db = firestoreAs("carol");
+    await assertFails(setDoc(doc(db, "notifications/n1"), notification({userId: "alice"})));
+  });
+
+  it("denies notifications created as already read or with extra fields", async () => {
+    const db = firestoreAs("carol");
+    await assertFails(setDoc(doc(db, "notifications/n1"), notification({isRead: true})));
+    await assertFails(setDoc(doc(db, "notifications/n2"), notification({link: "https://example.com"})));
+    const missingType = notification();
+    delete missingType.type;
+    await assertFails(setDoc(doc(db, "notifications/n3"), missingType));
+  });
+
+  it("only lets admins send status notifications", async () => {
+    const status = notification({type: "status", message: "Your issue \"Pothole\" was marked as approved."});
+    await assertFails(setDoc(doc(firestoreAs("carol"), "notifications/n1"), status));
+    await assertFails(setDoc(doc(firestoreAs("carol", {role: "admin"}), "notifications/n2"), status));
+    await assertSucceeds(setDoc(doc(firestoreAs("alice"), "notifications/n3"), status));
+  });
+});
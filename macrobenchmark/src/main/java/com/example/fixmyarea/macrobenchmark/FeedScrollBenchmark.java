@@ -0,0 +1,71 @@
+package com.example.fixmyarea.macrobenchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import kotlin.Unit;
+
+/**
+ * Frame timing while flinging the dashboard feed and searching in Discover
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class FeedScrollBenchmark {
+
+    private static final int ITERATIONS = 5;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void dashboardFling() {
+        benchmarkRule.measureRepeated(
+                Journeys.PACKAGE_NAME,
+                Collections.singletonList(new FrameTimingMetric()),
+                new CompilationMode.Partial(BaselineProfileMode.Require),
+                null, // Frames only, startup is covered by StartupBenchmark
+                ITERATIONS,
+                scope -> {
+                    Journeys.seed(scope);
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    Journeys.waitForFeed(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    Journeys.flingList(scope, Journeys.waitForFeed(scope));
+                    return Unit.INSTANCE;
+                });
+    }
+
+    @Test
+    public void discoverSearch() {
+        benchmarkRule.measureRepeated(
+                Journeys.PACKAGE_NAME,
+                Collections.singletonList(new FrameTimingMetric()),
+                new CompilationMode.Partial(BaselineProfileMode.Require),
+                null, // Frames only, startup is covered by StartupBenchmark
+                ITERATIONS,
+                scope -> {
+                    Journeys.seed(scope);
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    Journeys.waitForFeed(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    Journeys.searchDiscover(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
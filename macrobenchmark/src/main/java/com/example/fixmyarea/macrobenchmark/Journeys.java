@@ -0,0 +1,98 @@
+package com.example.fixmyarea.macrobenchmark;
+
+import android.content.ComponentName;
+import android.content.Intent;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+/**
+ * User journeys shared by the benchmarks
+ * The app must be the benchmarkRelease variant, talking to a running Firebase
+ * emulator (firebase emulators:start from the repository root).
+ */
+final class Journeys {
+
+    static final String PACKAGE_NAME = "com.example.fixmyarea";
+
+    private static final String SEED_ACTIVITY = PACKAGE_NAME + ".benchmark.SeedDataActivity";
+    private static final String SEED_DONE_TEXT = "Benchmark data ready";
+    private static final long SEED_TIMEOUT_MS = 60_000;
+    private static final long UI_TIMEOUT_MS = 15_000;
+
+    private static boolean seeded;
+
+    private Journeys() {
+    }
+
+    /**
+     * Seed the emulator and sign in the benchmark user, once per test process
+     * Kills the app afterwards so a cold start measurement really starts cold.
+     */
+    static void seed(MacrobenchmarkScope scope) {
+        if (seeded) {
+            return;
+        }
+        Intent intent = new Intent();
+        intent.setComponent(new ComponentName(PACKAGE_NAME, SEED_ACTIVITY));
+        scope.startActivityAndWait(intent);
+        if (!scope.getDevice().wait(Until.hasObject(By.text(SEED_DONE_TEXT)), SEED_TIMEOUT_MS)) {
+            throw new IllegalStateException("Seeding did not finish; is the Firebase emulator running?");
+        }
+        seeded = true;
+        scope.killProcess();
+    }
+
+    /**
+     * Wait until the dashboard feed shows posts
+     */
+    static UiObject2 waitForFeed(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        UiObject2 feed = device.wait(Until.findObject(By.res(PACKAGE_NAME, "postsRecyclerView")), UI_TIMEOUT_MS);
+        if (feed == null) {
+            throw new IllegalStateException("Feed did not appear");
+        }
+        return feed;
+    }
+
+    /**
+     * Fling the given list down and back up
+     */
+    static void flingList(MacrobenchmarkScope scope, UiObject2 list) {
+        UiDevice device = scope.getDevice();
+        // Keep gestures away from the system navigation area
+        list.setGestureMargin(device.getDisplayWidth() / 5);
+        for (int i = 0; i < 3; i++) {
+            list.fling(Direction.DOWN);
+            device.waitForIdle();
+        }
+        list.fling(Direction.UP);
+        device.waitForIdle();
+    }
+
+    /**
+     * Open Discover from the bottom navigation and run a search
+     */
+    static void searchDiscover(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        device.findObject(By.res(PACKAGE_NAME, "nav_discover")).click();
+
+        UiObject2 input = device.wait(Until.findObject(By.res(PACKAGE_NAME, "search_src_text")), UI_TIMEOUT_MS);
+        if (input == null) {
+            throw new IllegalStateException("Discover search did not appear");
+        }
+        input.setText("benchmark issue 1");
+        device.waitForIdle();
+        input.setText("road");
+        device.waitForIdle();
+
+        UiObject2 results = device.findObject(By.res(PACKAGE_NAME, "postsRecyclerView"));
+        if (results != null) {
+            flingList(scope, results);
+        }
+    }
+}
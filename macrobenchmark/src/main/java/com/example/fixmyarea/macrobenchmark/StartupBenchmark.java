@@ -0,0 +1,66 @@
+package com.example.fixmyarea.macrobenchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * Cold start from the launcher to a populated DashboardActivity
+ * Runs without compilation and with the shipped baseline profile, so the
+ * profile's effect shows up as the difference between the two.
+ */
+@LargeTest
+@RunWith(Parameterized.class)
+public class StartupBenchmark {
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    private final CompilationMode compilationMode;
+
+    public StartupBenchmark(CompilationMode compilationMode) {
+        this.compilationMode = compilationMode;
+    }
+
+    @Parameterized.Parameters(name = "compilation={0}")
+    public static List<Object[]> compilationModes() {
+        return Arrays.asList(new Object[][]{
+                {new CompilationMode.None()},
+                {new CompilationMode.Partial(BaselineProfileMode.Require)}
+        });
+    }
+
+    @Test
+    public void coldStartToDashboard() {
+        benchmarkRule.measureRepeated(
+                Journeys.PACKAGE_NAME,
+                Collections.singletonList(new StartupTimingMetric()),
+                compilationMode,
+                StartupMode.COLD,
+                10,
+                scope -> {
+                    Journeys.seed(scope);
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    scope.startActivityAndWait();
+                    Journeys.waitForFeed(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.fixmyarea.microbenchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import com.example.fixmyarea.models.Post;
+import com.example.fixmyarea.utils.PostFilter;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.List;
+
+/**
+ * Discover search and sort, run on every keystroke
+ */
+@RunWith(Parameterized.class)
+public class PostFilterBenchmark {
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int size;
+    private List<Post> posts;
+
+    public PostFilterBenchmark(int size) {
+        this.size = size;
+    }
+
+    @Parameterized.Parameters(name = "size={0}")
+    public static List<Object[]> sizes() {
+        return SyntheticPosts.SIZES;
+    }
+
+    @Before
+    public void setUp() {
+        posts = SyntheticPosts.posts(size, System.currentTimeMillis());
+    }
+
+    @Test
+    public void emptyQueryNewest() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            PostFilter.filterAndSort(posts, "", PostFilter.SORT_NEWEST);
+        }
+    }
+
+    @Test
+    public void queryMostLiked() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            PostFilter.filterAndSort(posts, "pothole", PostFilter.SORT_MOST_LIKED);
+        }
+    }
+
+    @Test
+    public void queryCategory() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            PostFilter.filterAndSort(posts, "water", PostFilter.SORT_CATEGORY);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.fixmyarea.microbenchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import com.example.fixmyarea.firebase.PostMapper;
+import com.example.fixmyarea.models.Post;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Issue document fields to Post, as done for every document of a feed query
+ */
+@RunWith(Parameterized.class)
+public class PostMapperBenchmark {
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int size;
+    private List<Map<String, Object>> documents;
+
+    public PostMapperBenchmark(int size) {
+        this.size = size;
+    }
+
+    @Parameterized.Parameters(name = "size={0}")
+    public static List<Object[]> sizes() {
+        return SyntheticPosts.SIZES;
+    }
+
+    @Before
+    public void setUp() {
+        documents = SyntheticPosts.documents(size, System.currentTimeMillis());
+    }
+
+    @Test
+    public void mapDocuments() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            List<Post> posts = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                posts.add(PostMapper.fromData("issue_" + i, documents.get(i)));
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.fixmyarea.microbenchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import com.example.fixmyarea.adapters.PostAdapter;
+import com.example.fixmyarea.models.Post;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.List;
+
+/**
+ * The view-independent part of binding a feed row
+ */
+@RunWith(Parameterized.class)
+public class PostRowStateBenchmark {
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int size;
+    private List<Post> posts;
+    private long now;
+
+    public PostRowStateBenchmark(int size) {
+        this.size = size;
+    }
+
+    @Parameterized.Parameters(name = "size={0}")
+    public static List<Object[]> sizes() {
+        return SyntheticPosts.SIZES;
+    }
+
+    @Before
+    public void setUp() {
+        now = System.currentTimeMillis();
+        posts = SyntheticPosts.posts(size, now);
+    }
+
+    @Test
+    public void prepareRows() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for (int i = 0; i < size; i++) {
+                PostAdapter.RowState.prepare(posts.get(i), SyntheticPosts.CURRENT_USER_ID, now);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.fixmyarea.microbenchmark;
+
+import com.example.fixmyarea.firebase.FirebaseConstants;
+import com.example.fixmyarea.firebase.PostMapper;
+import com.example.fixmyarea.models.Post;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic issue data shaped like the Firestore documents the app reads
+ * A fixed seed keeps runs comparable across devices and commits.
+ */
+final class SyntheticPosts {
+
+    /** Dataset sizes every benchmark is parameterized over */
+    static final List<Object[]> SIZES = Arrays.asList(new Object[][]{{1_000}, {10_000}, {100_000}});
+
+    static final String CURRENT_USER_ID = "user_7";
+
+    private static final long SEED = 42L;
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    private static final String[] CATEGORIES = {
+            FirebaseConstants.CATEGORY_ROAD,
+            FirebaseConstants.CATEGORY_WATER,
+            FirebaseConstants.CATEGORY_ELECTRICITY,
+            FirebaseConstants.CATEGORY_SANITATION,
+            FirebaseConstants.CATEGORY_OTHER
+    };
+    private static final String[] STATUSES = {
+            FirebaseConstants.STATUS_PENDING,
+            FirebaseConstants.STATUS_IN_PROGRESS,
+            FirebaseConstants.STATUS_RESOLVED,
+            FirebaseConstants.STATUS_REJECTED
+    };
+    private static final String[] WORDS = {
+            "pothole", "broken", "streetlight", "leak", "drain", "blocked", "garbage",
+            "overflowing", "road", "near", "school", "market", "bridge", "pipe", "water"
+    };
+
+    private SyntheticPosts() {
+    }
+
+    /**
+     * Issue documents as field maps, newest first like the feed query
+     */
+    static List<Map<String, Object>> documents(int count, long now) {
+        Random random = new Random(SEED);
+        List<Map<String, Object>> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> data = new HashMap<>();
+            data.put(FirebaseConstants.FIELD_ISSUE_TITLE, sentence(random, 4));
+            data.put(FirebaseConstants.FIELD_ISSUE_DESCRIPTION, sentence(random, 20));
+            data.put(FirebaseConstants.FIELD_ISSUE_CATEGORY, CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            data.put(FirebaseConstants.FIELD_ISSUE_STATUS, STATUSES[random.nextInt(STATUSES.length)]);
+            data.put(FirebaseConstants.FIELD_ISSUE_LOCATION, "Ward " + random.nextInt(50));
+            data.put(FirebaseConstants.FIELD_ISSUE_LATITUDE, 23.7 + random.nextDouble() * 0.2);
+            data.put(FirebaseConstants.FIELD_ISSUE_LONGITUDE, 90.3 + random.nextDouble() * 0.2);
+            data.put(FirebaseConstants.FIELD_ISSUE_IMAGE_URL,
+                    Arrays.asList("https://res.cloudinary.com/demo/image/upload/issue_" + i + ".jpg"));
+            data.put(FirebaseConstants.FIELD_ISSUE_IMAGE_PLACEHOLDERS,
+                    Arrays.asList("LEHV6nWB2yk8pyo0adR*.7kCMdnj"));
+            data.put(FirebaseConstants.FIELD_ISSUE_REPORTER_ID, "user_" + random.nextInt(200));
+            data.put(FirebaseConstants.FIELD_ISSUE_TIMESTAMP, now - (long) (random.nextDouble() * 400 * DAY_MS));
+            data.put(FirebaseConstants.FIELD_ISSUE_UPVOTES, 0L);
+            data.put(FirebaseConstants.FIELD_ISSUE_LIKED_BY, users(random, 30));
+            data.put(FirebaseConstants.FIELD_ISSUE_DISLIKED_BY, users(random, 5));
+            documents.add(data);
+        }
+        return documents;
+    }
+
+    /**
+     * Already-mapped posts for benchmarks that start after mapping
+     */
+    static List<Post> posts(int count, long now) {
+        List<Map<String, Object>> documents = documents(count, now);
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            posts.add(PostMapper.fromData("issue_" + i, documents.get(i)));
+        }
+        return posts;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static List<String> users(Random random, int max) {
+        int count = random.nextInt(max + 1);
+        List<String> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add("user_" + random.nextInt(200));
+        }
+        return users;
+    }
+}
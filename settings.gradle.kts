@@ -22,3 +22,7 @@ dependencyResolutionManagement {
 
 rootProject.name = "FixMyArea"
 include(":app")
+include(":core")
+include(":macrobenchmark")
+include(":microbenchmark")
+include(":baselineprofile")